@@ -0,0 +1,37 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.indexer;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Optional;
+
+/** Persists the progress of an {@link EventIndexer}, so that indexing can resume on restart. */
+public interface CheckpointStore {
+
+    /**
+     * Load the last checkpoint.
+     *
+     * @return the number of the last fully processed block, or empty if none has been saved
+     * @throws IOException if the checkpoint could not be read
+     */
+    Optional<BigInteger> load() throws IOException;
+
+    /**
+     * Save a checkpoint.
+     *
+     * @param blockNumber the number of the last fully processed block
+     * @throws IOException if the checkpoint could not be written
+     */
+    void save(BigInteger blockNumber) throws IOException;
+}
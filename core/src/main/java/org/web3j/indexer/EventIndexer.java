@@ -0,0 +1,297 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.indexer;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Flowable;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.datatypes.Event;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.filters.Callback;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.Log;
+
+/**
+ * Resumable indexer of contract events.
+ *
+ * <p>Logs matching the registered filters are retrieved in ranges of blocks, and passed to their
+ * handlers in block and log order. The last fully processed block is saved to a {@link
+ * CheckpointStore} at regular intervals, and indexing resumes after it when restarted. Once all
+ * existing blocks have been processed, the indexer polls for new blocks.
+ *
+ * <p>Blocks processed after the last checkpoint are processed again following a restart, so
+ * handlers should be idempotent.
+ */
+public class EventIndexer {
+
+    private static final Logger log = LoggerFactory.getLogger(EventIndexer.class);
+
+    public static final int DEFAULT_BLOCKS_PER_REQUEST = 1000;
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 1000;
+
+    private static final Comparator<IndexedLog> LOG_ORDER =
+            Comparator.<IndexedLog, BigInteger>comparing(
+                            indexedLog -> indexedLog.log.getBlockNumber())
+                    .thenComparing(indexedLog -> indexedLog.log.getLogIndex());
+
+    private final Web3j web3j;
+    private final CheckpointStore checkpointStore;
+    private final List<Handler> handlers = new ArrayList<>();
+
+    private BigInteger startBlock = BigInteger.ZERO;
+    private int confirmations = 0;
+    private int blocksPerRequest = DEFAULT_BLOCKS_PER_REQUEST;
+    private int checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+    private long pollingInterval = 15 * 1000;
+
+    /**
+     * Create an indexer saving checkpoints to a file.
+     *
+     * @param web3j web3j instance
+     * @param checkpointFile file holding the checkpoint, created on the first checkpoint
+     */
+    public EventIndexer(Web3j web3j, Path checkpointFile) {
+        this(web3j, new FileCheckpointStore(checkpointFile));
+    }
+
+    public EventIndexer(Web3j web3j, CheckpointStore checkpointStore) {
+        this.web3j = web3j;
+        this.checkpointStore = checkpointStore;
+    }
+
+    /**
+     * Register a handler for the logs matching a filter. Any block range of the filter is ignored.
+     *
+     * @param ethFilter filter to match
+     * @param callback handler for the matching logs
+     * @return this indexer
+     */
+    public EventIndexer addHandler(EthFilter ethFilter, Callback<Log> callback) {
+        handlers.add(new Handler(ethFilter, callback));
+        return this;
+    }
+
+    /**
+     * Register a handler for the events of a contract.
+     *
+     * @param contractAddress contract emitting the event
+     * @param event event definition
+     * @param callback handler for the event logs
+     * @return this indexer
+     */
+    public EventIndexer addHandler(String contractAddress, Event event, Callback<Log> callback) {
+        EthFilter ethFilter =
+                new EthFilter(
+                        DefaultBlockParameterName.EARLIEST,
+                        DefaultBlockParameterName.LATEST,
+                        contractAddress);
+        ethFilter.addSingleTopic(EventEncoder.encode(event));
+        return addHandler(ethFilter, callback);
+    }
+
+    /**
+     * Set the first block to index if no checkpoint has been saved, by default the genesis block.
+     *
+     * @param startBlock block number
+     * @return this indexer
+     */
+    public EventIndexer setStartBlock(BigInteger startBlock) {
+        this.startBlock = startBlock;
+        return this;
+    }
+
+    /**
+     * Set the number of blocks which must be built on a block before it is indexed, so that indexed
+     * blocks are unlikely to be removed by a chain reorganisation.
+     *
+     * @param confirmations number of confirmations
+     * @return this indexer
+     */
+    public EventIndexer setConfirmations(int confirmations) {
+        this.confirmations = confirmations;
+        return this;
+    }
+
+    public EventIndexer setBlocksPerRequest(int blocksPerRequest) {
+        this.blocksPerRequest = blocksPerRequest;
+        return this;
+    }
+
+    /**
+     * Set the minimum number of processed blocks between checkpoints.
+     *
+     * @param checkpointInterval number of blocks
+     * @return this indexer
+     */
+    public EventIndexer setCheckpointInterval(int checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+        return this;
+    }
+
+    /**
+     * Set how often to check for new blocks once all existing blocks have been indexed.
+     *
+     * @param pollingInterval interval in milliseconds
+     * @return this indexer
+     */
+    public EventIndexer setPollingInterval(long pollingInterval) {
+        this.pollingInterval = pollingInterval;
+        return this;
+    }
+
+    /**
+     * Create a {@link Flowable} which indexes events while subscribed. Errors communicating with
+     * the node are logged and retried on the next polling interval, whereas errors thrown by
+     * handlers terminate the flowable.
+     *
+     * @return a {@link Flowable} instance to emit the block number of each saved checkpoint
+     */
+    public Flowable<BigInteger> flowable() {
+        if (handlers.isEmpty()) {
+            throw new IllegalStateException("No handlers have been registered");
+        }
+
+        return Flowable.defer(
+                () -> {
+                    Progress progress = new Progress(checkpointStore.load().orElse(null));
+                    return Flowable.interval(
+                                    0, pollingInterval, TimeUnit.MILLISECONDS, Schedulers.io())
+                            .onBackpressureDrop()
+                            .concatMapIterable(tick -> index(progress));
+                });
+    }
+
+    /**
+     * Start indexing in the background.
+     *
+     * @return a {@link Disposable} to stop indexing
+     */
+    public Disposable start() {
+        return flowable()
+                .subscribe(
+                        checkpoint -> log.debug("Saved checkpoint at block {}", checkpoint),
+                        throwable -> log.error("Indexing stopped", throwable));
+    }
+
+    private List<BigInteger> index(Progress progress) {
+        List<BigInteger> checkpoints = new ArrayList<>();
+        try {
+            BigInteger indexable =
+                    web3j.chainHeadTracker()
+                            .getLatestBlockNumber()
+                            .subtract(BigInteger.valueOf(confirmations));
+
+            while (progress.next().compareTo(indexable) <= 0) {
+                BigInteger from = progress.next();
+                BigInteger to = from.add(BigInteger.valueOf(blocksPerRequest - 1)).min(indexable);
+                process(from, to);
+                progress.processed = to;
+
+                if (progress.processed
+                                .subtract(progress.checkpoint)
+                                .compareTo(BigInteger.valueOf(checkpointInterval))
+                        >= 0) {
+                    checkpointStore.save(progress.processed);
+                    progress.checkpoint = progress.processed;
+                    checkpoints.add(progress.processed);
+                }
+            }
+        } catch (IOException e) {
+            // indexing resumes from the last processed block on the next interval
+            log.error("Error sending request", e);
+        }
+        return checkpoints;
+    }
+
+    private void process(BigInteger from, BigInteger to) throws IOException {
+        List<IndexedLog> indexedLogs = new ArrayList<>();
+        for (Handler handler : handlers) {
+            List<Log> logs;
+            try {
+                logs =
+                        web3j.replayPastLogsFlowable(
+                                        handler.ethFilter.withBlockRange(
+                                                new DefaultBlockParameterNumber(from),
+                                                new DefaultBlockParameterNumber(to)),
+                                        1)
+                                .toList()
+                                .blockingGet();
+            } catch (RuntimeException e) {
+                // JSON-RPC errors are raised as FilterException, without an IOException cause
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException("Unable to retrieve logs from " + from + " to " + to, e);
+            }
+            for (Log log : logs) {
+                indexedLogs.add(new IndexedLog(handler, log));
+            }
+        }
+
+        // the sort is stable, so a log matching several filters is passed to handlers in the
+        // order they were registered
+        Collections.sort(indexedLogs, LOG_ORDER);
+        for (IndexedLog indexedLog : indexedLogs) {
+            indexedLog.handler.callback.onEvent(indexedLog.log);
+        }
+    }
+
+    private class Progress {
+        private BigInteger processed;
+        private BigInteger checkpoint;
+
+        Progress(BigInteger checkpoint) {
+            this.processed = checkpoint == null ? startBlock.subtract(BigInteger.ONE) : checkpoint;
+            this.checkpoint = processed;
+        }
+
+        BigInteger next() {
+            return processed.add(BigInteger.ONE);
+        }
+    }
+
+    private static class Handler {
+        private final EthFilter ethFilter;
+        private final Callback<Log> callback;
+
+        Handler(EthFilter ethFilter, Callback<Log> callback) {
+            this.ethFilter = ethFilter;
+            this.callback = callback;
+        }
+    }
+
+    private static class IndexedLog {
+        private final Handler handler;
+        private final Log log;
+
+        IndexedLog(Handler handler, Log log) {
+            this.handler = handler;
+            this.log = log;
+        }
+    }
+}
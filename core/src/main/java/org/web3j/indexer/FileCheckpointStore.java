@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.indexer;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Stores checkpoints as a decimal block number in a file. The new checkpoint is synced to disk
+ * before it atomically replaces the file, so a crash while saving leaves the previous checkpoint
+ * intact.
+ */
+public class FileCheckpointStore implements CheckpointStore {
+
+    private final Path path;
+
+    public FileCheckpointStore(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public Optional<BigInteger> load() throws IOException {
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        String content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8).trim();
+        try {
+            return Optional.of(new BigInteger(content));
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid checkpoint in " + path + ": " + content, e);
+        }
+    }
+
+    @Override
+    public void save(BigInteger blockNumber) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel =
+                FileChannel.open(
+                        temp,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer =
+                    ByteBuffer.wrap(blockNumber.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+}
@@ -14,11 +14,19 @@ package org.web3j.protocol;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.reactivex.Flowable;
 
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.Response;
 import org.web3j.protocol.websocket.events.Notification;
@@ -54,6 +62,43 @@ public abstract class Service implements Web3jService {
         return Async.run(() -> send(jsonRpc20Request, responseType));
     }
 
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        if (batchRequest.getRequests().isEmpty()) {
+            return new BatchResponse(batchRequest.getRequests(), Collections.emptyList());
+        }
+
+        String payload = objectMapper.writeValueAsString(batchRequest.getRequests());
+
+        try (InputStream result = performIO(payload)) {
+            if (result == null) {
+                return null;
+            }
+
+            JsonNode replies = objectMapper.readTree(result);
+            if (!replies.isArray()) {
+                // clients without batch support reply with a single error object
+                throw new IOException("Batch request failed: " + replies);
+            }
+
+            Map<Long, JsonNode> replyForId = new HashMap<>();
+            for (JsonNode reply : replies) {
+                replyForId.put(reply.path("id").asLong(), reply);
+            }
+
+            List<Response<?>> responses = new ArrayList<>(batchRequest.size());
+            for (Request<?, ? extends Response<?>> request : batchRequest.getRequests()) {
+                JsonNode reply = replyForId.get(request.getId());
+                if (reply == null) {
+                    throw new IOException(
+                            "No response for batched request with id " + request.getId());
+                }
+                responses.add(objectMapper.treeToValue(reply, request.getResponseType()));
+            }
+            return new BatchResponse(batchRequest.getRequests(), responses);
+        }
+    }
+
     @Override
     public <T extends Notification<?>> Flowable<T> subscribe(
             Request request, String unsubscribeMethod, Class<T> responseType) {
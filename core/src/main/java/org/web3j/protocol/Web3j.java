@@ -14,9 +14,12 @@ package org.web3j.protocol;
 
 import java.util.concurrent.ScheduledExecutorService;
 
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.ChainHeadTracker;
 import org.web3j.protocol.core.Ethereum;
 import org.web3j.protocol.core.JsonRpc2_0Web3j;
 import org.web3j.protocol.rx.Web3jRx;
+import org.web3j.utils.AdaptivePollingScheduler;
 
 /** JSON-RPC Request object building factory. */
 public interface Web3j extends Ethereum, Web3jRx {
@@ -47,6 +50,38 @@ public interface Web3j extends Ethereum, Web3jRx {
         return new JsonRpc2_0Web3j(web3jService, pollingInterval, scheduledExecutorService);
     }
 
+    /**
+     * Construct a new Web3j instance which polls around the expected arrival of new blocks.
+     *
+     * @param web3jService web3j service instance - i.e. HTTP or IPC
+     * @param pollingScheduler scheduler deciding when to poll network nodes, which may be shared
+     *     with transaction receipt processors
+     * @param scheduledExecutorService executor service to use for scheduled tasks. <strong>You are
+     *     responsible for terminating this thread pool</strong>
+     * @return new Web3j instance
+     */
+    static Web3j build(
+            Web3jService web3jService,
+            AdaptivePollingScheduler pollingScheduler,
+            ScheduledExecutorService scheduledExecutorService) {
+        return new JsonRpc2_0Web3j(web3jService, pollingScheduler, scheduledExecutorService);
+    }
+
+    /**
+     * Returns the tracker of the chain head shared by all components using this instance.
+     *
+     * @return the chain head tracker
+     */
+    ChainHeadTracker chainHeadTracker();
+
+    /**
+     * Create a new JSON-RPC batch. Requests added to the batch are sent together when the batch is
+     * sent.
+     *
+     * @return a new, empty batch request
+     */
+    BatchRequest newBatch();
+
     /** Shutdowns a Web3j instance and closes opened resources. */
     void shutdown();
 }
@@ -13,13 +13,18 @@
 package org.web3j.protocol;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import io.reactivex.Flowable;
 
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.Response;
 import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.Async;
 
 /** Services API. */
 public interface Web3jService {
@@ -46,6 +51,34 @@ public interface Web3jService {
      */
     <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType);
 
+    /**
+     * Perform a synchronous JSON-RPC batch request.
+     *
+     * <p>The default implementation sends each request of the batch individually.
+     *
+     * @param batchRequest batch of requests to perform
+     * @return deserialized JSON-RPC responses, in the same order as the requests
+     * @throws IOException thrown if failed to perform a request
+     */
+    default BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        List<Response<?>> responses = new ArrayList<>(batchRequest.size());
+        for (Request<?, ? extends Response<?>> request : batchRequest.getRequests()) {
+            responses.add(send(request, request.getResponseType()));
+        }
+        return new BatchResponse(batchRequest.getRequests(), responses);
+    }
+
+    /**
+     * Performs an asynchronous JSON-RPC batch request.
+     *
+     * @param batchRequest batch of requests to perform
+     * @return CompletableFuture that will be completed when all responses are returned or if the
+     *     batch has failed
+     */
+    default CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return Async.run(() -> sendBatch(batchRequest));
+    }
+
     /**
      * Subscribe to a stream of notifications. A stream of notifications is opened by by performing
      * a specified JSON-RPC request and is closed by calling the unsubscribe method. Different
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core;
+
+import java.util.List;
+
+/** Responses to a {@link BatchRequest}, in the same order as the requests in the batch. */
+public class BatchResponse {
+
+    private final List<Request<?, ? extends Response<?>>> requests;
+    private final List<? extends Response<?>> responses;
+
+    public BatchResponse(
+            List<Request<?, ? extends Response<?>>> requests,
+            List<? extends Response<?>> responses) {
+        this.requests = requests;
+        this.responses = responses;
+    }
+
+    public List<Request<?, ? extends Response<?>>> getRequests() {
+        return requests;
+    }
+
+    public List<? extends Response<?>> getResponses() {
+        return responses;
+    }
+
+    /**
+     * Returns the response to the request at a position in the batch.
+     *
+     * @param index position of the request in the batch
+     * @param responseType expected type of the response
+     * @param <T> type of the response
+     * @return the response
+     */
+    public <T extends Response<?>> T getResponse(int index, Class<T> responseType) {
+        return responseType.cast(responses.get(index));
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Optional;
+
+import io.reactivex.Flowable;
+import io.reactivex.disposables.Disposable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.BlockHeader;
+
+/**
+ * Tracks the head of the chain on behalf of all components using a web3j instance, so that they do
+ * not each request the latest block themselves.
+ *
+ * <p>Tracking is started by {@link #start()} or {@link #flowable()}, via a newHeads subscription
+ * where the service supports them and by polling otherwise. From then on the latest header is
+ * available through a volatile read, and is published to subscribers of {@link #flowable()}. Until
+ * then, each request for the latest header is sent to the node, so that one-off requests do not
+ * leave a subscription or poller running. Tracking stops when the web3j instance is shut down.
+ */
+public class ChainHeadTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(ChainHeadTracker.class);
+
+    private final Web3j web3j;
+    private final Flowable<BlockHeader> flowable;
+
+    private volatile BlockHeader latest;
+    private Disposable tracking;
+
+    public ChainHeadTracker(Web3j web3j, Flowable<BlockHeader> blockHeaders) {
+        this.web3j = web3j;
+        this.flowable = blockHeaders.doOnNext(this::onHead).replay(1).refCount();
+    }
+
+    /**
+     * Returns the latest header seen, without making any requests.
+     *
+     * @return the latest header, or empty if the chain head has not been requested yet
+     */
+    public Optional<BlockHeader> getCachedHeader() {
+        return Optional.ofNullable(latest);
+    }
+
+    /**
+     * Returns the latest header. The header is only requested from the node if the chain head is
+     * not being tracked, in which case this does not start tracking it.
+     *
+     * @return the latest header
+     * @throws IOException if the header could not be requested
+     */
+    public BlockHeader getLatestHeader() throws IOException {
+        BlockHeader header = latest;
+        if (header != null && isTracking()) {
+            return header;
+        }
+
+        return refresh();
+    }
+
+    /**
+     * Request the latest header from the node, for callers which cannot tolerate a header up to one
+     * polling interval old. The header is shared with other users of the tracker.
+     *
+     * @return the latest header
+     * @throws IOException if the header could not be requested
+     */
+    public BlockHeader refresh() throws IOException {
+        BlockHeader header =
+                web3j.ethGetBlockHeaderByNumber(DefaultBlockParameterName.LATEST)
+                        .send()
+                        .getBlockHeader();
+        if (header == null) {
+            throw new IOException("Latest block header not returned by node");
+        }
+        onRequestedHead(header);
+        return header;
+    }
+
+    public BigInteger getLatestBlockNumber() throws IOException {
+        return getLatestHeader().getNumber();
+    }
+
+    /**
+     * Emit each new chain head. New subscribers first receive the latest head seen, if any.
+     * Subscribing does not start another subscription or poller on the node.
+     *
+     * @return a {@link Flowable} instance to emit chain heads
+     */
+    public Flowable<BlockHeader> flowable() {
+        start();
+        return flowable;
+    }
+
+    /** Start tracking the chain head, if not already tracking it. */
+    public synchronized void start() {
+        if (!isTracking()) {
+            tracking =
+                    flowable.subscribe(
+                            header -> {}, e -> log.error("Error tracking chain head", e));
+        }
+    }
+
+    /** Stop tracking the chain head. */
+    public synchronized void stop() {
+        if (tracking != null) {
+            tracking.dispose();
+            tracking = null;
+        }
+    }
+
+    public synchronized boolean isTracking() {
+        return tracking != null && !tracking.isDisposed();
+    }
+
+    private synchronized void onHead(BlockHeader header) {
+        latest = header;
+    }
+
+    private synchronized void onRequestedHead(BlockHeader header) {
+        // a requested header must not replace a newer one received in the meantime
+        BlockHeader current = latest;
+        if (current == null || header.getNumber().compareTo(current.getNumber()) >= 0) {
+            latest = header;
+        }
+    }
+}
@@ -21,7 +21,9 @@ import org.web3j.protocol.core.methods.response.DbPutHex;
 import org.web3j.protocol.core.methods.response.DbPutString;
 import org.web3j.protocol.core.methods.response.EthAccounts;
 import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthBlockHeader;
 import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthBlockReceipts;
 import org.web3j.protocol.core.methods.response.EthCoinbase;
 import org.web3j.protocol.core.methods.response.EthCompileLLL;
 import org.web3j.protocol.core.methods.response.EthCompileSerpent;
@@ -134,8 +136,15 @@ public interface Ethereum {
     Request<?, EthBlock> ethGetBlockByNumber(
             DefaultBlockParameter defaultBlockParameter, boolean returnFullTransactionObjects);
 
+    Request<?, EthBlockHeader> ethGetBlockHeaderByHash(String blockHash);
+
+    Request<?, EthBlockHeader> ethGetBlockHeaderByNumber(
+            DefaultBlockParameter defaultBlockParameter);
+
     Request<?, EthTransaction> ethGetTransactionByHash(String transactionHash);
 
+    Request<?, EthBlockReceipts> ethGetBlockReceipts(DefaultBlockParameter defaultBlockParameter);
+
     Request<?, EthTransaction> ethGetTransactionByBlockHashAndIndex(
             String blockHash, BigInteger transactionIndex);
 
@@ -20,21 +20,27 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
 
 import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.Web3jService;
 import org.web3j.protocol.core.methods.request.ShhFilter;
 import org.web3j.protocol.core.methods.request.ShhPost;
 import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.BlockHeader;
 import org.web3j.protocol.core.methods.response.DbGetHex;
 import org.web3j.protocol.core.methods.response.DbGetString;
 import org.web3j.protocol.core.methods.response.DbPutHex;
 import org.web3j.protocol.core.methods.response.DbPutString;
 import org.web3j.protocol.core.methods.response.EthAccounts;
 import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthBlockHeader;
 import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthBlockReceipts;
 import org.web3j.protocol.core.methods.response.EthCoinbase;
 import org.web3j.protocol.core.methods.response.EthCompileLLL;
 import org.web3j.protocol.core.methods.response.EthCompileSerpent;
@@ -78,21 +84,31 @@ import org.web3j.protocol.core.methods.response.ShhUninstallFilter;
 import org.web3j.protocol.core.methods.response.ShhVersion;
 import org.web3j.protocol.core.methods.response.Web3ClientVersion;
 import org.web3j.protocol.core.methods.response.Web3Sha3;
+import org.web3j.protocol.rx.BlockReceipts;
+import org.web3j.protocol.rx.ChainEvent;
 import org.web3j.protocol.rx.JsonRpc2_0Rx;
+import org.web3j.protocol.rx.TransactionColumns;
+import org.web3j.protocol.websocket.WebSocketService;
 import org.web3j.protocol.websocket.events.LogNotification;
+import org.web3j.protocol.websocket.events.NewHead;
 import org.web3j.protocol.websocket.events.NewHeadsNotification;
+import org.web3j.utils.AdaptivePollingScheduler;
 import org.web3j.utils.Async;
 import org.web3j.utils.Numeric;
 
 /** JSON-RPC 2.0 factory implementation. */
 public class JsonRpc2_0Web3j implements Web3j {
 
+    private static final Logger log = LoggerFactory.getLogger(JsonRpc2_0Web3j.class);
+
     public static final int DEFAULT_BLOCK_TIME = 15 * 1000;
+    public static final int DEFAULT_LOG_REPLAY_CONCURRENCY = 4;
 
     protected final Web3jService web3jService;
     private final JsonRpc2_0Rx web3jRx;
     private final long blockTime;
     private final ScheduledExecutorService scheduledExecutorService;
+    private ChainHeadTracker chainHeadTracker;
 
     public JsonRpc2_0Web3j(Web3jService web3jService) {
         this(web3jService, DEFAULT_BLOCK_TIME, Async.defaultExecutorService());
@@ -108,6 +124,16 @@ public class JsonRpc2_0Web3j implements Web3j {
         this.scheduledExecutorService = scheduledExecutorService;
     }
 
+    public JsonRpc2_0Web3j(
+            Web3jService web3jService,
+            AdaptivePollingScheduler pollingScheduler,
+            ScheduledExecutorService scheduledExecutorService) {
+        this.web3jService = web3jService;
+        this.web3jRx = new JsonRpc2_0Rx(this, scheduledExecutorService, pollingScheduler);
+        this.blockTime = pollingScheduler.getBlockTime();
+        this.scheduledExecutorService = scheduledExecutorService;
+    }
+
     @Override
     public Request<?, Web3ClientVersion> web3ClientVersion() {
         return new Request<>(
@@ -341,6 +367,35 @@ public class JsonRpc2_0Web3j implements Web3j {
                 EthBlock.class);
     }
 
+    @Override
+    public Request<?, EthBlockHeader> ethGetBlockHeaderByHash(String blockHash) {
+        return new Request<>(
+                "eth_getBlockByHash",
+                Arrays.asList(blockHash, false),
+                web3jService,
+                EthBlockHeader.class);
+    }
+
+    @Override
+    public Request<?, EthBlockHeader> ethGetBlockHeaderByNumber(
+            DefaultBlockParameter defaultBlockParameter) {
+        return new Request<>(
+                "eth_getBlockByNumber",
+                Arrays.asList(defaultBlockParameter.getValue(), false),
+                web3jService,
+                EthBlockHeader.class);
+    }
+
+    @Override
+    public Request<?, EthBlockReceipts> ethGetBlockReceipts(
+            DefaultBlockParameter defaultBlockParameter) {
+        return new Request<>(
+                "eth_getBlockReceipts",
+                Arrays.asList(defaultBlockParameter.getValue()),
+                web3jService,
+                EthBlockReceipts.class);
+    }
+
     @Override
     public Request<?, EthTransaction> ethGetTransactionByHash(String transactionHash) {
         return new Request<>(
@@ -672,7 +727,12 @@ public class JsonRpc2_0Web3j implements Web3j {
 
     @Override
     public Flowable<String> ethBlockHashFlowable() {
-        return web3jRx.ethBlockHashFlowable(blockTime);
+        return subscribeOrPoll(
+                () ->
+                        newHeadsNotifications()
+                                .map(notification -> notification.getParams().getResult())
+                                .map(NewHead::getHash),
+                () -> web3jRx.ethBlockHashFlowable(blockTime));
     }
 
     @Override
@@ -683,7 +743,81 @@ public class JsonRpc2_0Web3j implements Web3j {
     @Override
     public Flowable<Log> ethLogFlowable(
             org.web3j.protocol.core.methods.request.EthFilter ethFilter) {
-        return web3jRx.ethLogFlowable(ethFilter, blockTime);
+        // subscriptions only provide new logs, so filters over historic blocks are always polled
+        if (ethFilter.getBlockHash() != null
+                || !isLatest(ethFilter.getFromBlock())
+                || !isLatest(ethFilter.getToBlock())) {
+            return web3jRx.ethLogFlowable(ethFilter, blockTime);
+        }
+        return subscribeOrPoll(
+                () ->
+                        logsNotifications(ethFilter)
+                                .map(notification -> notification.getParams().getResult())
+                                .map(JsonRpc2_0Web3j::toLog),
+                () -> web3jRx.ethLogFlowable(ethFilter, blockTime));
+    }
+
+    private Flowable<LogNotification> logsNotifications(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter) {
+        Map<String, Object> params = new HashMap<>();
+        if (ethFilter.getAddress() != null && !ethFilter.getAddress().isEmpty()) {
+            params.put("address", ethFilter.getAddress());
+        }
+        if (!ethFilter.getTopics().isEmpty()) {
+            params.put("topics", ethFilter.getTopics());
+        }
+
+        return web3jService.subscribe(
+                new Request<>(
+                        "eth_subscribe",
+                        Arrays.asList("logs", params),
+                        web3jService,
+                        EthSubscribe.class),
+                "eth_unsubscribe",
+                LogNotification.class);
+    }
+
+    private static boolean isLatest(DefaultBlockParameter blockParameter) {
+        return blockParameter == null
+                || blockParameter == DefaultBlockParameterName.LATEST
+                || blockParameter == DefaultBlockParameterName.PENDING;
+    }
+
+    /**
+     * Use a push subscription if the service supports them, otherwise poll. If the subscription
+     * fails, such as when the node does not support it, polling takes over.
+     */
+    private <T> Flowable<T> subscribeOrPoll(
+            Supplier<Flowable<T>> subscription, Supplier<Flowable<T>> polling) {
+        if (!(web3jService instanceof WebSocketService)) {
+            return polling.get();
+        }
+        return Flowable.defer(subscription::get)
+                .onErrorResumeNext(
+                        e -> {
+                            log.warn("Subscription failed, falling back to polling", e);
+                            return polling.get();
+                        });
+    }
+
+    @Override
+    public Flowable<Log> replayPastLogsFlowable(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter) {
+        return replayPastLogsFlowable(ethFilter, DEFAULT_LOG_REPLAY_CONCURRENCY);
+    }
+
+    @Override
+    public Flowable<Log> replayPastLogsFlowable(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter, int maxConcurrency) {
+        return web3jRx.replayLogsFlowable(ethFilter, maxConcurrency);
+    }
+
+    @Override
+    public Flowable<Log> scanPastLogsFlowable(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter,
+            int maxConcurrency,
+            int batchSize) {
+        return web3jRx.scanLogsFlowable(ethFilter, maxConcurrency, batchSize);
     }
 
     @Override
@@ -697,11 +831,69 @@ public class JsonRpc2_0Web3j implements Web3j {
         return web3jRx.pendingTransactionFlowable(blockTime);
     }
 
+    @Override
+    public Flowable<org.web3j.protocol.core.methods.response.Transaction>
+            pendingTransactionFlowable(int batchSize, long maxBatchDelay) {
+        return web3jRx.pendingTransactionFlowable(blockTime, batchSize, maxBatchDelay);
+    }
+
     @Override
     public Flowable<EthBlock> blockFlowable(boolean fullTransactionObjects) {
+        if (web3jService instanceof WebSocketService) {
+            return ethBlockHashFlowable()
+                    .flatMap(
+                            blockHash ->
+                                    ethGetBlockByHash(blockHash, fullTransactionObjects)
+                                            .flowable());
+        }
         return web3jRx.blockFlowable(fullTransactionObjects, blockTime);
     }
 
+    @Override
+    public Flowable<BlockHeader> blockHeaderFlowable() {
+        return subscribeOrPoll(
+                () -> newHeadsNotifications().map(JsonRpc2_0Web3j::toBlockHeader),
+                () -> web3jRx.blockHeaderFlowable(blockTime));
+    }
+
+    @Override
+    public Flowable<BlockReceipts> blockReceiptsFlowable() {
+        return web3jRx.blockReceiptsFlowable(blockFlowable(true), this::blockReceiptsRequest);
+    }
+
+    @Override
+    public Flowable<BlockReceipts> replayPastBlockReceiptsFlowable(
+            DefaultBlockParameter startBlock, DefaultBlockParameter endBlock) {
+        return web3jRx.blockReceiptsFlowable(
+                replayPastBlocksFlowable(startBlock, endBlock, true), this::blockReceiptsRequest);
+    }
+
+    /**
+     * Create a request for the receipts of all transactions in a block, used by {@link
+     * #blockReceiptsFlowable()}. Clients with their own method for this should override it.
+     *
+     * @param defaultBlockParameter the block
+     * @return the request
+     */
+    protected Request<?, EthBlockReceipts> blockReceiptsRequest(
+            DefaultBlockParameter defaultBlockParameter) {
+        return ethGetBlockReceipts(defaultBlockParameter);
+    }
+
+    @Override
+    public Flowable<ChainEvent> canonicalBlockFlowable(
+            boolean fullTransactionObjects, int confirmations) {
+        return web3jRx.canonicalBlockFlowable(
+                blockHeaderFlowable(), fullTransactionObjects, confirmations);
+    }
+
+    @Override
+    public Flowable<Log> canonicalLogFlowable(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter, int confirmations) {
+        return web3jRx.canonicalLogFlowable(
+                canonicalBlockFlowable(false, confirmations), ethFilter);
+    }
+
     @Override
     public Flowable<EthBlock> replayPastBlocksFlowable(
             DefaultBlockParameter startBlock,
@@ -720,6 +912,18 @@ public class JsonRpc2_0Web3j implements Web3j {
                 startBlock, endBlock, fullTransactionObjects, ascending);
     }
 
+    @Override
+    public Flowable<EthBlock> replayPastBlocksFlowable(
+            DefaultBlockParameter startBlock,
+            DefaultBlockParameter endBlock,
+            boolean fullTransactionObjects,
+            boolean ascending,
+            int maxConcurrency,
+            int batchSize) {
+        return web3jRx.replayBlocksFlowable(
+                startBlock, endBlock, fullTransactionObjects, ascending, maxConcurrency, batchSize);
+    }
+
     @Override
     public Flowable<EthBlock> replayPastBlocksFlowable(
             DefaultBlockParameter startBlock,
@@ -742,6 +946,12 @@ public class JsonRpc2_0Web3j implements Web3j {
         return web3jRx.replayTransactionsFlowable(startBlock, endBlock);
     }
 
+    @Override
+    public Flowable<TransactionColumns> replayPastTransactionColumnsFlowable(
+            DefaultBlockParameter startBlock, DefaultBlockParameter endBlock, int blocksPerBatch) {
+        return web3jRx.replayTransactionColumnsFlowable(startBlock, endBlock, blocksPerBatch);
+    }
+
     @Override
     public Flowable<org.web3j.protocol.core.methods.response.Transaction>
             replayPastTransactionsFlowable(DefaultBlockParameter startBlock) {
@@ -761,8 +971,51 @@ public class JsonRpc2_0Web3j implements Web3j {
         return web3jRx.replayPastAndFutureTransactionsFlowable(startBlock, blockTime);
     }
 
+    private static BlockHeader toBlockHeader(NewHeadsNotification notification) {
+        NewHead newHead = notification.getParams().getResult();
+        return new BlockHeader(
+                newHead.getNumber(),
+                newHead.getHash(),
+                newHead.getParentHash(),
+                newHead.getTimestamp());
+    }
+
+    private static Log toLog(org.web3j.protocol.websocket.events.Log eventLog) {
+        return new Log(
+                eventLog.isRemoved(),
+                eventLog.getLogIndex(),
+                eventLog.getTransactionIndex(),
+                eventLog.getTransactionHash(),
+                eventLog.getBlockHash(),
+                eventLog.getBlockNumber(),
+                eventLog.getAddress(),
+                eventLog.getData(),
+                null,
+                eventLog.getTopics());
+    }
+
+    @Override
+    public synchronized ChainHeadTracker chainHeadTracker() {
+        // created on first use, rather than calling the overridable blockHeaderFlowable() from
+        // the constructor
+        if (chainHeadTracker == null) {
+            chainHeadTracker = new ChainHeadTracker(this, blockHeaderFlowable());
+        }
+        return chainHeadTracker;
+    }
+
+    @Override
+    public BatchRequest newBatch() {
+        return new BatchRequest(web3jService);
+    }
+
     @Override
     public void shutdown() {
+        synchronized (this) {
+            if (chainHeadTracker != null) {
+                chainHeadTracker.stop();
+            }
+        }
         scheduledExecutorService.shutdown();
         try {
             web3jService.close();
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.filters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.request.Filter;
+import org.web3j.utils.Bloom;
+import org.web3j.utils.Numeric;
+
+/**
+ * Tests logs Bloom filters against a set of log filters, to determine which blocks or transaction
+ * receipts may contain matching logs without requesting them.
+ *
+ * <p>The bit positions of every address and topic are computed once on construction, so that each
+ * test only inspects a few bits of the Bloom filter.
+ */
+public class BloomMatcher {
+
+    // filters, each being a list of conditions which must all hold, each condition being
+    // satisfied by any one of its alternatives
+    private final List<List<int[][]>> filters;
+
+    private BloomMatcher(List<List<int[][]>> filters) {
+        this.filters = filters;
+    }
+
+    /**
+     * Create a matcher which matches if any of the provided filters may match.
+     *
+     * @param ethFilters log filters
+     * @return the matcher
+     */
+    public static BloomMatcher forFilters(List<EthFilter> ethFilters) {
+        List<List<int[][]>> filters = new ArrayList<>(ethFilters.size());
+        for (EthFilter ethFilter : ethFilters) {
+            filters.add(compile(ethFilter));
+        }
+        return new BloomMatcher(filters);
+    }
+
+    public static BloomMatcher forFilter(EthFilter ethFilter) {
+        return forFilters(Collections.singletonList(ethFilter));
+    }
+
+    private static List<int[][]> compile(EthFilter ethFilter) {
+        List<int[][]> conditions = new ArrayList<>();
+        if (ethFilter.getAddress() != null && !ethFilter.getAddress().isEmpty()) {
+            conditions.add(bitIndices(ethFilter.getAddress()));
+        }
+
+        for (Filter.FilterTopic<?> filterTopic : ethFilter.getTopics()) {
+            Object value = filterTopic.getValue();
+            if (value instanceof String) {
+                conditions.add(bitIndices(Collections.singletonList((String) value)));
+            } else if (value instanceof List) {
+                List<String> topics = new ArrayList<>();
+                boolean wildcard = false;
+                for (Object topic : (List<?>) value) {
+                    String topicValue = ((Filter.SingleTopic) topic).getValue();
+                    if (topicValue == null) {
+                        wildcard = true;
+                    } else {
+                        topics.add(topicValue);
+                    }
+                }
+                if (!wildcard && !topics.isEmpty()) {
+                    conditions.add(bitIndices(topics));
+                }
+            }
+            // a null topic matches anything
+        }
+        return conditions;
+    }
+
+    private static int[][] bitIndices(List<String> values) {
+        int[][] alternatives = new int[values.size()][];
+        for (int i = 0; i < values.size(); i++) {
+            alternatives[i] = Bloom.bitIndices(Numeric.hexStringToByteArray(values.get(i)));
+        }
+        return alternatives;
+    }
+
+    /**
+     * Test a logs Bloom filter.
+     *
+     * @param bloom Bloom filter of a block or transaction receipt
+     * @return false if no log covered by the Bloom filter matches any of the filters
+     */
+    public boolean mightMatch(Bloom bloom) {
+        for (List<int[][]> conditions : filters) {
+            if (mightMatch(bloom, conditions)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Test a hex encoded logs Bloom filter, as found in blocks and transaction receipts. A missing
+     * Bloom filter may match.
+     *
+     * @param logsBloom hex encoded Bloom filter
+     * @return false if no log covered by the Bloom filter matches any of the filters
+     */
+    public boolean mightMatch(String logsBloom) {
+        return logsBloom == null || mightMatch(Bloom.fromString(logsBloom));
+    }
+
+    private static boolean mightMatch(Bloom bloom, List<int[][]> conditions) {
+        for (int[][] alternatives : conditions) {
+            if (Arrays.stream(alternatives).noneMatch(bloom::test)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
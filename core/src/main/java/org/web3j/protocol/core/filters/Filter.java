@@ -32,6 +32,7 @@ import org.web3j.protocol.core.RpcErrors;
 import org.web3j.protocol.core.methods.response.EthFilter;
 import org.web3j.protocol.core.methods.response.EthLog;
 import org.web3j.protocol.core.methods.response.EthUninstallFilter;
+import org.web3j.utils.AdaptivePollingScheduler;
 
 /** Class for creating managed filter requests with callbacks. */
 public abstract class Filter<T> {
@@ -49,6 +50,8 @@ public abstract class Filter<T> {
 
     private long blockTime;
 
+    private FilterPoller filterPoller;
+
     public Filter(Web3j web3j, Callback<T> callback) {
         this.web3j = web3j;
         this.callback = callback;
@@ -57,16 +60,11 @@ public abstract class Filter<T> {
     public void run(ScheduledExecutorService scheduledExecutorService, long blockTime) {
         try {
             EthFilter ethFilter = sendRequest();
-            if (ethFilter.hasError()) {
-                throwException(ethFilter.getError());
-            }
-
-            filterId = ethFilter.getFilterId();
             this.scheduledExecutorService = scheduledExecutorService;
             this.blockTime = blockTime;
             // this runs in the caller thread as if any exceptions are encountered, we shouldn't
             // proceed with creating the scheduled task below
-            getInitialFilterLogs();
+            install(ethFilter);
 
             /*
             We want the filter to be resilient against client issues. On numerous occasions
@@ -105,6 +103,50 @@ public abstract class Filter<T> {
         }
     }
 
+    /**
+     * Install the filter and poll it for changes around the expected arrival of new blocks, rather
+     * than at a fixed interval.
+     *
+     * @param scheduledExecutorService executor to poll with
+     * @param pollingScheduler scheduler deciding when to poll, which may be shared with other
+     *     pollers
+     */
+    public void run(
+            ScheduledExecutorService scheduledExecutorService,
+            AdaptivePollingScheduler pollingScheduler) {
+        filterPoller = new FilterPoller(web3j, scheduledExecutorService, pollingScheduler);
+        filterPoller.register(this);
+    }
+
+    /**
+     * Install the filter on the node and process any matching historic logs, without scheduling
+     * polling for changes. Used by {@link FilterPoller}, which polls on behalf of many filters.
+     */
+    void install() {
+        try {
+            install(sendRequest());
+        } catch (IOException e) {
+            throwException(e);
+        }
+    }
+
+    void install(EthFilter ethFilter) {
+        if (ethFilter.hasError()) {
+            throwException(ethFilter.getError());
+        }
+
+        filterId = ethFilter.getFilterId();
+        getInitialFilterLogs();
+    }
+
+    BigInteger getFilterId() {
+        return filterId;
+    }
+
+    void setFilterId(BigInteger filterId) {
+        this.filterId = filterId;
+    }
+
     private void getInitialFilterLogs() {
         try {
             Optional<Request<?, EthLog>> maybeRequest = this.getFilterLogs(this.filterId);
@@ -144,7 +186,11 @@ public abstract class Filter<T> {
         }
     }
 
-    abstract EthFilter sendRequest() throws IOException;
+    EthFilter sendRequest() throws IOException {
+        return createFilterRequest().send();
+    }
+
+    abstract Request<?, EthFilter> createFilterRequest();
 
     abstract void process(List<EthLog.LogResult> logResults);
 
@@ -155,8 +201,17 @@ public abstract class Filter<T> {
     }
 
     public void cancel() {
-        schedule.cancel(false);
+        if (filterPoller != null) {
+            filterPoller.unregister(this);
+            return;
+        }
+        if (schedule != null) {
+            schedule.cancel(false);
+        }
+        uninstall();
+    }
 
+    void uninstall() {
         try {
             EthUninstallFilter ethUninstallFilter = web3j.ethUninstallFilter(filterId).send();
             if (ethUninstallFilter.hasError()) {
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.filters;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.RpcErrors;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.utils.AdaptivePollingScheduler;
+
+/**
+ * Polls many filters with a single scheduled task.
+ *
+ * <p>Rather than each {@link Filter} sending its own eth_getFilterChanges request on its own
+ * schedule, the changes for all registered filters are requested in one JSON-RPC batch per polling
+ * interval and dispatched to the individual filters. Filters which the node no longer knows about
+ * are reinstalled together in a single batch.
+ *
+ * <p>Polling happens either at a fixed interval or, given an {@link AdaptivePollingScheduler},
+ * around the expected arrival of new blocks. In the latter case the chain head is requested in the
+ * same batch as the filter changes, so that the scheduler learns when blocks arrive.
+ */
+public class FilterPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(FilterPoller.class);
+
+    private final Web3j web3j;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final long pollingInterval;
+    private final AdaptivePollingScheduler pollingScheduler;
+
+    private final Set<Filter<?>> filters = ConcurrentHashMap.newKeySet();
+
+    private Future<?> schedule;
+
+    public FilterPoller(
+            Web3j web3j, ScheduledExecutorService scheduledExecutorService, long pollingInterval) {
+        this.web3j = web3j;
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.pollingInterval = pollingInterval;
+        this.pollingScheduler = null;
+    }
+
+    public FilterPoller(
+            Web3j web3j,
+            ScheduledExecutorService scheduledExecutorService,
+            AdaptivePollingScheduler pollingScheduler) {
+        this.web3j = web3j;
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.pollingInterval = pollingScheduler.getBlockTime();
+        this.pollingScheduler = pollingScheduler;
+    }
+
+    /**
+     * Install a filter and poll it for changes along with the other registered filters. The filter
+     * is installed in the caller thread, so any errors installing it are thrown to the caller.
+     *
+     * @param filter filter to poll
+     */
+    public void register(Filter<?> filter) {
+        filter.install();
+        start(filter);
+    }
+
+    private synchronized void start(Filter<?> filter) {
+        filters.add(filter);
+
+        if (schedule == null) {
+            // As with individual filters, errors are logged rather than terminating the task, see
+            // Filter#run
+            Runnable task =
+                    () -> {
+                        try {
+                            poll();
+                        } catch (Throwable e) {
+                            log.error("Error sending request", e);
+                        }
+                    };
+            if (pollingScheduler == null) {
+                schedule =
+                        scheduledExecutorService.scheduleAtFixedRate(
+                                task, 0, pollingInterval, TimeUnit.MILLISECONDS);
+            } else {
+                schedule = pollingScheduler.schedule(scheduledExecutorService, task);
+            }
+        }
+    }
+
+    /**
+     * Stop polling a filter and uninstall it. Polling stops altogether once no filters remain.
+     *
+     * @param filter filter to stop polling
+     */
+    public synchronized void unregister(Filter<?> filter) {
+        if (!filters.remove(filter)) {
+            return;
+        }
+
+        if (filters.isEmpty()) {
+            schedule.cancel(false);
+            schedule = null;
+        }
+        filter.uninstall();
+    }
+
+    public int size() {
+        return filters.size();
+    }
+
+    void poll() throws IOException {
+        List<Filter<?>> polled = new ArrayList<>(filters);
+        if (polled.isEmpty()) {
+            return;
+        }
+
+        List<Request<?, EthLog>> requests = new ArrayList<>(polled.size());
+        for (Filter<?> filter : polled) {
+            requests.add(web3j.ethGetFilterChanges(filter.getFilterId()));
+        }
+        List<EthLog> ethLogs =
+                pollingScheduler == null
+                        ? send(requests, EthLog.class)
+                        : sendWithBlockNumber(requests);
+
+        List<Filter<?>> notFound = new ArrayList<>();
+        for (int i = 0; i < polled.size(); i++) {
+            Filter<?> filter = polled.get(i);
+            EthLog ethLog = ethLogs.get(i);
+            if (!filters.contains(filter)) {
+                // unregistered while the request was in flight
+                continue;
+            }
+
+            if (!ethLog.hasError()) {
+                process(filter, ethLog);
+            } else if (ethLog.getError().getCode() == RpcErrors.FILTER_NOT_FOUND) {
+                notFound.add(filter);
+            } else {
+                logError(filter, ethLog.getError());
+            }
+        }
+
+        if (!notFound.isEmpty()) {
+            reinstall(notFound);
+        }
+    }
+
+    private void reinstall(List<Filter<?>> notFound) throws IOException {
+        log.warn("{} filters have not been found, reinstalling", notFound.size());
+
+        List<Request<?, EthFilter>> requests = new ArrayList<>(notFound.size());
+        for (Filter<?> filter : notFound) {
+            requests.add(filter.createFilterRequest());
+        }
+        List<EthFilter> ethFilters = send(requests, EthFilter.class);
+
+        // as with a newly installed filter, historic logs are retrieved for reinstalled filters
+        List<Filter<?>> reinstalled = new ArrayList<>();
+        List<Request<?, EthLog>> logRequests = new ArrayList<>();
+        for (int i = 0; i < notFound.size(); i++) {
+            Filter<?> filter = notFound.get(i);
+            EthFilter ethFilter = ethFilters.get(i);
+            if (ethFilter.hasError()) {
+                logError(filter, ethFilter.getError());
+                continue;
+            }
+
+            filter.setFilterId(ethFilter.getFilterId());
+            Optional<Request<?, EthLog>> logRequest = filter.getFilterLogs(filter.getFilterId());
+            if (logRequest.isPresent()) {
+                reinstalled.add(filter);
+                logRequests.add(logRequest.get());
+            }
+        }
+
+        List<EthLog> ethLogs = send(logRequests, EthLog.class);
+        for (int i = 0; i < reinstalled.size(); i++) {
+            if (ethLogs.get(i).hasError()) {
+                logError(reinstalled.get(i), ethLogs.get(i).getError());
+            } else {
+                process(reinstalled.get(i), ethLogs.get(i));
+            }
+        }
+    }
+
+    /**
+     * Send requests as a batch, avoiding the batch overhead when there is only a single request.
+     */
+    private <T extends Response<?>> List<T> send(List<Request<?, T>> requests, Class<T> type)
+            throws IOException {
+        List<T> responses = new ArrayList<>(requests.size());
+        if (requests.size() == 1) {
+            responses.add(requests.get(0).send());
+        } else if (!requests.isEmpty()) {
+            BatchRequest batchRequest = web3j.newBatch();
+            requests.forEach(batchRequest::add);
+            for (Response<?> response : batchRequest.send().getResponses()) {
+                responses.add(type.cast(response));
+            }
+        }
+        return responses;
+    }
+
+    private List<EthLog> sendWithBlockNumber(List<Request<?, EthLog>> requests) throws IOException {
+        BatchRequest batchRequest = web3j.newBatch().add(web3j.ethBlockNumber());
+        requests.forEach(batchRequest::add);
+        List<? extends Response<?>> responses = batchRequest.send().getResponses();
+
+        EthBlockNumber ethBlockNumber = (EthBlockNumber) responses.get(0);
+        if (!ethBlockNumber.hasError()) {
+            pollingScheduler.onBlock(ethBlockNumber.getBlockNumber());
+        }
+
+        List<EthLog> ethLogs = new ArrayList<>(requests.size());
+        for (Response<?> response : responses.subList(1, responses.size())) {
+            ethLogs.add((EthLog) response);
+        }
+        return ethLogs;
+    }
+
+    private static void process(Filter<?> filter, EthLog ethLog) {
+        try {
+            filter.process(ethLog.getLogs());
+        } catch (Throwable e) {
+            log.error("Error processing changes for filter " + filter.getFilterId(), e);
+        }
+    }
+
+    private static void logError(Filter<?> filter, Response.Error error) {
+        log.error(
+                "Invalid request for filter "
+                        + filter.getFilterId()
+                        + ": "
+                        + (error == null ? "Unknown Error" : error.getMessage()));
+    }
+}
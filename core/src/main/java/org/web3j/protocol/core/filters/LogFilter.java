@@ -12,7 +12,6 @@
  */
 package org.web3j.protocol.core.filters;
 
-import java.io.IOException;
 import java.math.BigInteger;
 import java.util.List;
 import java.util.Optional;
@@ -37,8 +36,8 @@ public class LogFilter extends Filter<Log> {
     }
 
     @Override
-    EthFilter sendRequest() throws IOException {
-        return web3j.ethNewFilter(ethFilter).send();
+    Request<?, EthFilter> createFilterRequest() {
+        return web3j.ethNewFilter(ethFilter);
     }
 
     @Override
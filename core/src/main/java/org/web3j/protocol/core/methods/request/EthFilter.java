@@ -25,6 +25,7 @@ public class EthFilter extends Filter<EthFilter> {
     private DefaultBlockParameter fromBlock; // optional, params - defaults to latest for both
     private DefaultBlockParameter toBlock;
     private List<String> address; // spec. implies this can be single address as string or list
+    private String blockHash; // optional, EIP-234, used instead of fromBlock and toBlock
 
     public EthFilter() {
         super();
@@ -55,6 +56,40 @@ public class EthFilter extends Filter<EthFilter> {
         return address;
     }
 
+    public String getBlockHash() {
+        return blockHash;
+    }
+
+    /**
+     * Create a copy of this filter, matching the same addresses and topics over a different range
+     * of blocks.
+     *
+     * @param fromBlock block to start matching from
+     * @param toBlock block to finish matching with
+     * @return the new filter
+     */
+    public EthFilter withBlockRange(
+            DefaultBlockParameter fromBlock, DefaultBlockParameter toBlock) {
+        EthFilter ethFilter = new EthFilter(fromBlock, toBlock, address);
+        ethFilter.getTopics().addAll(getTopics());
+        return ethFilter;
+    }
+
+    /**
+     * Create a copy of this filter, matching the same addresses and topics within a single block as
+     * per <a href="https://eips.ethereum.org/EIPS/eip-234">EIP-234</a>. Unlike a block range, the
+     * block hash identifies the block unambiguously if the chain is reorganised.
+     *
+     * @param blockHash hash of the block to match
+     * @return the new filter
+     */
+    public EthFilter withBlockHash(String blockHash) {
+        EthFilter ethFilter = new EthFilter(null, null, address);
+        ethFilter.blockHash = blockHash;
+        ethFilter.getTopics().addAll(getTopics());
+        return ethFilter;
+    }
+
     @Override
     EthFilter getThis() {
         return this;
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.methods.response;
+
+import java.math.BigInteger;
+
+import org.web3j.utils.Numeric;
+
+/**
+ * Minimal block header used by {@link EthBlockHeader} and header streams.
+ *
+ * <p>Only the fields required to follow the chain head are mapped. All other block fields, such as
+ * the logs bloom, extra data and transaction list, are skipped by the parser without being
+ * materialised.
+ */
+public class BlockHeader {
+    private String number;
+    private String hash;
+    private String parentHash;
+    private String timestamp;
+
+    public BlockHeader() {}
+
+    public BlockHeader(String number, String hash, String parentHash, String timestamp) {
+        this.number = number;
+        this.hash = hash;
+        this.parentHash = parentHash;
+        this.timestamp = timestamp;
+    }
+
+    public BigInteger getNumber() {
+        return Numeric.decodeQuantity(number);
+    }
+
+    public String getNumberRaw() {
+        return number;
+    }
+
+    public void setNumber(String number) {
+        this.number = number;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public String getParentHash() {
+        return parentHash;
+    }
+
+    public void setParentHash(String parentHash) {
+        this.parentHash = parentHash;
+    }
+
+    public BigInteger getTimestamp() {
+        return Numeric.decodeQuantity(timestamp);
+    }
+
+    public String getTimestampRaw() {
+        return timestamp;
+    }
+
+    public void setTimestamp(String timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BlockHeader)) {
+            return false;
+        }
+
+        BlockHeader that = (BlockHeader) o;
+
+        if (getNumberRaw() != null
+                ? !getNumberRaw().equals(that.getNumberRaw())
+                : that.getNumberRaw() != null) {
+            return false;
+        }
+        if (getHash() != null ? !getHash().equals(that.getHash()) : that.getHash() != null) {
+            return false;
+        }
+        if (getParentHash() != null
+                ? !getParentHash().equals(that.getParentHash())
+                : that.getParentHash() != null) {
+            return false;
+        }
+        return getTimestampRaw() != null
+                ? getTimestampRaw().equals(that.getTimestampRaw())
+                : that.getTimestampRaw() == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = getNumberRaw() != null ? getNumberRaw().hashCode() : 0;
+        result = 31 * result + (getHash() != null ? getHash().hashCode() : 0);
+        result = 31 * result + (getParentHash() != null ? getParentHash().hashCode() : 0);
+        result = 31 * result + (getTimestampRaw() != null ? getTimestampRaw().hashCode() : 0);
+        return result;
+    }
+}
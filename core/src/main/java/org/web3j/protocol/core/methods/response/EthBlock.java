@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
@@ -27,6 +28,7 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 import org.web3j.protocol.ObjectMapperFactory;
 import org.web3j.protocol.core.Response;
+import org.web3j.utils.Hash32;
 import org.web3j.utils.Numeric;
 
 /**
@@ -78,7 +80,11 @@ public class EthBlock extends Response<EthBlock.Block> {
         private String gasUsed;
         private String timestamp;
         private List<TransactionResult> transactions;
+        // uncles are held as interned values, along with the strings received where they differ
+        private List<Hash32> uncleValues;
         private List<String> uncles;
+        // the string form of canonical uncles, built on first read
+        private transient List<String> uncleStrings;
         private List<String> sealFields;
 
         public Block() {}
@@ -126,7 +132,7 @@ public class EthBlock extends Response<EthBlock.Block> {
             this.gasUsed = gasUsed;
             this.timestamp = timestamp;
             this.transactions = transactions;
-            this.uncles = uncles;
+            setUncles(uncles);
             this.sealFields = sealFields;
         }
 
@@ -324,11 +330,31 @@ public class EthBlock extends Response<EthBlock.Block> {
         }
 
         public List<String> getUncles() {
-            return uncles;
+            if (uncles != null || uncleValues == null) {
+                return uncles;
+            }
+            if (uncleStrings == null) {
+                uncleStrings = Hash32.toStrings(uncleValues);
+            }
+            return uncleStrings;
+        }
+
+        @JsonIgnore
+        public List<Hash32> getUncleValues() {
+            if (uncleValues != null || uncles == null) {
+                return uncleValues;
+            }
+            List<Hash32> result = new ArrayList<>(uncles.size());
+            for (String uncle : uncles) {
+                result.add(Hash32.internOrNull(uncle));
+            }
+            return result;
         }
 
         public void setUncles(List<String> uncles) {
-            this.uncles = uncles;
+            this.uncleValues = Hash32.internAllIfValid(uncles);
+            this.uncles = uncleValues != null && Hash32.isCanonical(uncles) ? null : uncles;
+            this.uncleStrings = null;
         }
 
         public List<String> getSealFields() {
@@ -448,9 +474,12 @@ public class EthBlock extends Response<EthBlock.Block> {
                     : block.getTransactions() != null) {
                 return false;
             }
-            if (getUncles() != null
-                    ? !getUncles().equals(block.getUncles())
-                    : block.getUncles() != null) {
+            if (uncleValues != null
+                    ? !uncleValues.equals(block.uncleValues)
+                    : block.uncleValues != null) {
+                return false;
+            }
+            if (uncles != null ? !uncles.equals(block.uncles) : block.uncles != null) {
                 return false;
             }
             return getSealFields() != null
@@ -488,7 +517,8 @@ public class EthBlock extends Response<EthBlock.Block> {
             result = 31 * result + (getGasUsedRaw() != null ? getGasUsedRaw().hashCode() : 0);
             result = 31 * result + (getTimestampRaw() != null ? getTimestampRaw().hashCode() : 0);
             result = 31 * result + (getTransactions() != null ? getTransactions().hashCode() : 0);
-            result = 31 * result + (getUncles() != null ? getUncles().hashCode() : 0);
+            result = 31 * result + (uncleValues != null ? uncleValues.hashCode() : 0);
+            result = 31 * result + (uncles != null ? uncles.hashCode() : 0);
             result = 31 * result + (getSealFields() != null ? getSealFields().hashCode() : 0);
             return result;
         }
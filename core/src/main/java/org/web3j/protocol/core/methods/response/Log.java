@@ -13,8 +13,12 @@
 package org.web3j.protocol.core.methods.response;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import org.web3j.utils.Hash32;
 import org.web3j.utils.Numeric;
 
 /**
@@ -35,7 +39,11 @@ public class Log {
     private String address;
     private String data;
     private String type;
+    // topics are held as interned values, along with the strings received where they differ
+    private List<Hash32> topicValues;
     private List<String> topics;
+    // the string form of canonical topics, built on first read
+    private transient List<String> topicStrings;
 
     public Log() {}
 
@@ -59,7 +67,7 @@ public class Log {
         this.address = address;
         this.data = data;
         this.type = type;
-        this.topics = topics;
+        setTopics(topics);
     }
 
     public boolean isRemoved() {
@@ -147,11 +155,31 @@ public class Log {
     }
 
     public List<String> getTopics() {
-        return topics;
+        if (topics != null || topicValues == null) {
+            return topics;
+        }
+        if (topicStrings == null) {
+            topicStrings = Hash32.toStrings(topicValues);
+        }
+        return topicStrings;
+    }
+
+    @JsonIgnore
+    public List<Hash32> getTopicValues() {
+        if (topicValues != null || topics == null) {
+            return topicValues;
+        }
+        List<Hash32> result = new ArrayList<>(topics.size());
+        for (String topic : topics) {
+            result.add(Hash32.internOrNull(topic));
+        }
+        return result;
     }
 
     public void setTopics(List<String> topics) {
-        this.topics = topics;
+        this.topicValues = Hash32.internAllIfValid(topics);
+        this.topics = topicValues != null && Hash32.isCanonical(topics) ? null : topics;
+        this.topicStrings = null;
     }
 
     private BigInteger convert(String value) {
@@ -212,7 +240,10 @@ public class Log {
         if (getType() != null ? !getType().equals(log.getType()) : log.getType() != null) {
             return false;
         }
-        return getTopics() != null ? getTopics().equals(log.getTopics()) : log.getTopics() == null;
+        if (topicValues != null ? !topicValues.equals(log.topicValues) : log.topicValues != null) {
+            return false;
+        }
+        return topics != null ? topics.equals(log.topics) : log.topics == null;
     }
 
     @Override
@@ -230,7 +261,8 @@ public class Log {
         result = 31 * result + (getAddress() != null ? getAddress().hashCode() : 0);
         result = 31 * result + (getData() != null ? getData().hashCode() : 0);
         result = 31 * result + (getType() != null ? getType().hashCode() : 0);
-        result = 31 * result + (getTopics() != null ? getTopics().hashCode() : 0);
+        result = 31 * result + (topicValues != null ? topicValues.hashCode() : 0);
+        result = 31 * result + (topics != null ? topics.hashCode() : 0);
         return result;
     }
 
@@ -264,7 +296,7 @@ public class Log {
                 + type
                 + '\''
                 + ", topics="
-                + topics
+                + getTopics()
                 + '}';
     }
 }
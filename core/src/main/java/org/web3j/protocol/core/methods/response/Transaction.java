@@ -14,6 +14,9 @@ package org.web3j.protocol.core.methods.response;
 
 import java.math.BigInteger;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import org.web3j.utils.Address20;
 import org.web3j.utils.Numeric;
 
 /** Transaction object used by both {@link EthTransaction} and {@link EthBlock}. */
@@ -26,8 +29,14 @@ public class Transaction {
     private String blockHash;
     private String blockNumber;
     private String transactionIndex;
+    // addresses are held as interned values, along with the string form received where it differs
+    private Address20 fromValue;
     private String from;
+    private Address20 toValue;
     private String to;
+    // the string form of canonical addresses, built on first read
+    private transient String fromHex;
+    private transient String toHex;
     private String value;
     private String gasPrice;
     private String gas;
@@ -64,8 +73,8 @@ public class Transaction {
         this.blockHash = blockHash;
         this.blockNumber = blockNumber;
         this.transactionIndex = transactionIndex;
-        this.from = from;
-        this.to = to;
+        setFrom(from);
+        setTo(to);
         this.value = value;
         this.gasPrice = gasPrice;
         this.gas = gas;
@@ -131,19 +140,50 @@ public class Transaction {
     }
 
     public String getFrom() {
-        return from;
+        if (from != null || fromValue == null) {
+            return from;
+        }
+        if (fromHex == null) {
+            fromHex = fromValue.toString();
+        }
+        return fromHex;
+    }
+
+    @JsonIgnore
+    public Address20 getFromValue() {
+        return fromValue != null ? fromValue : Address20.internOrNull(from);
     }
 
     public void setFrom(String from) {
-        this.from = from;
+        this.fromValue = Address20.internIfValid(from);
+        this.from = Address20.isCanonical(from) ? null : from;
+        this.fromHex = null;
     }
 
     public String getTo() {
-        return to;
+        if (to != null || toValue == null) {
+            return to;
+        }
+        if (toHex == null) {
+            toHex = toValue.toString();
+        }
+        return toHex;
+    }
+
+    /**
+     * Returns the recipient as an interned address.
+     *
+     * @return the recipient, or null for contract creation transactions
+     */
+    @JsonIgnore
+    public Address20 getToValue() {
+        return toValue != null ? toValue : Address20.internOrNull(to);
     }
 
     public void setTo(String to) {
-        this.to = to;
+        this.toValue = Address20.internIfValid(to);
+        this.to = Address20.isCanonical(to) ? null : to;
+        this.toHex = null;
     }
 
     public BigInteger getValue() {
@@ -296,10 +336,16 @@ public class Transaction {
                 : that.getTransactionIndexRaw() != null) {
             return false;
         }
-        if (getFrom() != null ? !getFrom().equals(that.getFrom()) : that.getFrom() != null) {
+        if (fromValue != null ? !fromValue.equals(that.fromValue) : that.fromValue != null) {
+            return false;
+        }
+        if (from != null ? !from.equals(that.from) : that.from != null) {
+            return false;
+        }
+        if (toValue != null ? !toValue.equals(that.toValue) : that.toValue != null) {
             return false;
         }
-        if (getTo() != null ? !getTo().equals(that.getTo()) : that.getTo() != null) {
+        if (to != null ? !to.equals(that.to) : that.to != null) {
             return false;
         }
         if (getValueRaw() != null
@@ -350,8 +396,10 @@ public class Transaction {
                         + (getTransactionIndexRaw() != null
                                 ? getTransactionIndexRaw().hashCode()
                                 : 0);
-        result = 31 * result + (getFrom() != null ? getFrom().hashCode() : 0);
-        result = 31 * result + (getTo() != null ? getTo().hashCode() : 0);
+        result = 31 * result + (fromValue != null ? fromValue.hashCode() : 0);
+        result = 31 * result + (from != null ? from.hashCode() : 0);
+        result = 31 * result + (toValue != null ? toValue.hashCode() : 0);
+        result = 31 * result + (to != null ? to.hashCode() : 0);
         result = 31 * result + (getValueRaw() != null ? getValueRaw().hashCode() : 0);
         result = 31 * result + (getGasPriceRaw() != null ? getGasPriceRaw().hashCode() : 0);
         result = 31 * result + (getGasRaw() != null ? getGasRaw().hashCode() : 0);
@@ -15,6 +15,9 @@ package org.web3j.protocol.core.methods.response;
 import java.math.BigInteger;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import org.web3j.utils.Address20;
 import org.web3j.utils.Numeric;
 
 /** TransactionReceipt object used by {@link EthGetTransactionReceipt}. */
@@ -25,7 +28,11 @@ public class TransactionReceipt {
     private String blockNumber;
     private String cumulativeGasUsed;
     private String gasUsed;
+    // held as an interned value, along with the string form received where it differs
+    private Address20 contractAddressValue;
     private String contractAddress;
+    // the string form of a canonical contract address, built on first read
+    private transient String contractAddressHex;
     private String root;
     // status is only present on Byzantium transactions onwards
     // see EIP 658 https://github.com/ethereum/EIPs/pull/658
@@ -57,7 +64,7 @@ public class TransactionReceipt {
         this.blockNumber = blockNumber;
         this.cumulativeGasUsed = cumulativeGasUsed;
         this.gasUsed = gasUsed;
-        this.contractAddress = contractAddress;
+        setContractAddress(contractAddress);
         this.root = root;
         this.status = status;
         this.from = from;
@@ -131,11 +138,26 @@ public class TransactionReceipt {
     }
 
     public String getContractAddress() {
-        return contractAddress;
+        if (contractAddress != null || contractAddressValue == null) {
+            return contractAddress;
+        }
+        if (contractAddressHex == null) {
+            contractAddressHex = contractAddressValue.toString();
+        }
+        return contractAddressHex;
+    }
+
+    @JsonIgnore
+    public Address20 getContractAddressValue() {
+        return contractAddressValue != null
+                ? contractAddressValue
+                : Address20.internOrNull(contractAddress);
     }
 
     public void setContractAddress(String contractAddress) {
-        this.contractAddress = contractAddress;
+        this.contractAddressValue = Address20.internIfValid(contractAddress);
+        this.contractAddress = Address20.isCanonical(contractAddress) ? null : contractAddress;
+        this.contractAddressHex = null;
     }
 
     public String getRoot() {
@@ -233,9 +255,14 @@ public class TransactionReceipt {
         if (gasUsed != null ? !gasUsed.equals(that.gasUsed) : that.gasUsed != null) {
             return false;
         }
-        if (getContractAddress() != null
-                ? !getContractAddress().equals(that.getContractAddress())
-                : that.getContractAddress() != null) {
+        if (contractAddressValue != null
+                ? !contractAddressValue.equals(that.contractAddressValue)
+                : that.contractAddressValue != null) {
+            return false;
+        }
+        if (contractAddress != null
+                ? !contractAddress.equals(that.contractAddress)
+                : that.contractAddress != null) {
             return false;
         }
         if (getRoot() != null ? !getRoot().equals(that.getRoot()) : that.getRoot() != null) {
@@ -268,7 +295,8 @@ public class TransactionReceipt {
         result = 31 * result + (blockNumber != null ? blockNumber.hashCode() : 0);
         result = 31 * result + (cumulativeGasUsed != null ? cumulativeGasUsed.hashCode() : 0);
         result = 31 * result + (gasUsed != null ? gasUsed.hashCode() : 0);
-        result = 31 * result + (getContractAddress() != null ? getContractAddress().hashCode() : 0);
+        result = 31 * result + (contractAddressValue != null ? contractAddressValue.hashCode() : 0);
+        result = 31 * result + (contractAddress != null ? contractAddress.hashCode() : 0);
         result = 31 * result + (getRoot() != null ? getRoot().hashCode() : 0);
         result = 31 * result + (getStatus() != null ? getStatus().hashCode() : 0);
         result = 31 * result + (getFrom() != null ? getFrom().hashCode() : 0);
@@ -300,7 +328,7 @@ public class TransactionReceipt {
                 + gasUsed
                 + '\''
                 + ", contractAddress='"
-                + contractAddress
+                + getContractAddress()
                 + '\''
                 + ", root='"
                 + root
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.rx;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+/**
+ * A block together with the receipts of all of its transactions. The receipt at each position
+ * belongs to the transaction at the same position.
+ */
+public class BlockReceipts {
+
+    private final EthBlock.Block block;
+    private final List<Transaction> transactions;
+    private final List<TransactionReceipt> receipts;
+
+    public BlockReceipts(
+            EthBlock.Block block,
+            List<Transaction> transactions,
+            List<TransactionReceipt> receipts) {
+        this.block = block;
+        this.transactions = transactions;
+        this.receipts = receipts;
+    }
+
+    public EthBlock.Block getBlock() {
+        return block;
+    }
+
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    public List<TransactionReceipt> getReceipts() {
+        return receipts;
+    }
+
+    public Optional<TransactionReceipt> getReceipt(String transactionHash) {
+        for (TransactionReceipt receipt : receipts) {
+            if (receipt.getTransactionHash().equals(transactionHash)) {
+                return Optional.of(receipt);
+            }
+        }
+        return Optional.empty();
+    }
+}
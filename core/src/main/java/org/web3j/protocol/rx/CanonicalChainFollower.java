@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.rx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.EthBlock;
+
+/**
+ * Tracks the canonical chain from a sequence of chain heads.
+ *
+ * <p>A bounded window of recent blocks is retained. Each new head is connected to the window by
+ * following parent hashes, requesting any blocks not seen before. Blocks in the window above the
+ * common ancestor have been reorganised out of the chain and are removed. Blocks are only reported
+ * as added once they have the requested number of confirmations.
+ *
+ * <p>Instances are not thread safe, heads must be provided sequentially.
+ */
+class CanonicalChainFollower {
+
+    // the deepest reorganisation below the confirmation depth which can be followed
+    static final int MAX_REORG_DEPTH = 64;
+
+    private final Web3j web3j;
+    private final boolean fullTransactionObjects;
+    private final int confirmations;
+    private final int windowSize;
+
+    // oldest block first
+    private final Deque<EthBlock.Block> window = new LinkedList<>();
+    // the number of the newest block reported as added
+    private BigInteger addedHeight;
+
+    CanonicalChainFollower(Web3j web3j, boolean fullTransactionObjects, int confirmations) {
+        if (confirmations < 0) {
+            throw new IllegalArgumentException("Confirmations cannot be negative");
+        }
+        this.web3j = web3j;
+        this.fullTransactionObjects = fullTransactionObjects;
+        this.confirmations = confirmations;
+        this.windowSize = confirmations + MAX_REORG_DEPTH;
+    }
+
+    /**
+     * Update the canonical chain with a new chain head.
+     *
+     * @param blockHash hash of the new head
+     * @return the resulting changes to the canonical chain, in the order they should be applied
+     * @throws IOException if a block could not be retrieved
+     * @throws IllegalStateException if the chain was reorganised deeper than the retained window
+     */
+    List<ChainEvent> onHead(String blockHash) throws IOException {
+        if (find(blockHash) != null) {
+            return Collections.emptyList();
+        }
+
+        List<ChainEvent> chainEvents = new ArrayList<>();
+        EthBlock.Block head = getBlock(blockHash);
+        if (window.isEmpty()) {
+            window.add(head);
+            addedHeight = head.getNumber().subtract(BigInteger.ONE);
+        } else {
+            // follow parent hashes back from the new head until it connects to the window, which
+            // also fills in any blocks created between heads
+            LinkedList<EthBlock.Block> branch = new LinkedList<>();
+            branch.add(head);
+            EthBlock.Block ancestor;
+            while ((ancestor = find(branch.getFirst().getParentHash())) == null) {
+                if (branch.getFirst().getNumber().compareTo(window.getFirst().getNumber()) <= 0) {
+                    throw new IllegalStateException(
+                            "Chain reorganisation deeper than "
+                                    + window.size()
+                                    + " blocks at block "
+                                    + branch.getFirst().getNumber());
+                }
+                branch.addFirst(getBlock(branch.getFirst().getParentHash()));
+            }
+
+            while (!window.getLast().getHash().equals(ancestor.getHash())) {
+                EthBlock.Block removed = window.removeLast();
+                if (removed.getNumber().compareTo(addedHeight) <= 0) {
+                    chainEvents.add(new ChainEvent.BlockRemoved(removed));
+                    addedHeight = removed.getNumber().subtract(BigInteger.ONE);
+                }
+            }
+            window.addAll(branch);
+        }
+
+        BigInteger confirmedHeight =
+                window.getLast().getNumber().subtract(BigInteger.valueOf(confirmations));
+        for (EthBlock.Block block : window) {
+            if (block.getNumber().compareTo(addedHeight) > 0
+                    && block.getNumber().compareTo(confirmedHeight) <= 0) {
+                chainEvents.add(new ChainEvent.BlockAdded(block));
+                addedHeight = block.getNumber();
+            }
+        }
+
+        // the window always extends beyond the confirmation depth, so only blocks which have
+        // already been added are discarded
+        while (window.size() > windowSize) {
+            window.removeFirst();
+        }
+        return chainEvents;
+    }
+
+    private EthBlock.Block find(String blockHash) {
+        Iterator<EthBlock.Block> iterator = window.descendingIterator();
+        while (iterator.hasNext()) {
+            EthBlock.Block block = iterator.next();
+            if (block.getHash().equals(blockHash)) {
+                return block;
+            }
+        }
+        return null;
+    }
+
+    private EthBlock.Block getBlock(String blockHash) throws IOException {
+        EthBlock ethBlock = web3j.ethGetBlockByHash(blockHash, fullTransactionObjects).send();
+        if (ethBlock.hasError() || ethBlock.getBlock() == null) {
+            throw new IOException("Unable to retrieve block " + blockHash);
+        }
+        return ethBlock.getBlock();
+    }
+}
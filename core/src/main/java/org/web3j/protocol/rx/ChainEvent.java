@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.rx;
+
+import org.web3j.protocol.core.methods.response.EthBlock;
+
+/**
+ * A change to the canonical chain, as emitted by {@link Web3jRx#canonicalBlockFlowable(boolean,
+ * int)}.
+ *
+ * <p>A {@link BlockAdded} event is emitted for each block joining the canonical chain. If the chain
+ * is reorganised, a {@link BlockRemoved} event is emitted for each previously added block which is
+ * no longer part of it, newest first, before the blocks of the new chain are added.
+ */
+public abstract class ChainEvent {
+
+    private final EthBlock.Block block;
+
+    ChainEvent(EthBlock.Block block) {
+        this.block = block;
+    }
+
+    public EthBlock.Block getBlock() {
+        return block;
+    }
+
+    public abstract boolean isRemoved();
+
+    /** A block has joined the canonical chain. */
+    public static final class BlockAdded extends ChainEvent {
+
+        public BlockAdded(EthBlock.Block block) {
+            super(block);
+        }
+
+        @Override
+        public boolean isRemoved() {
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "BlockAdded{number="
+                    + getBlock().getNumberRaw()
+                    + ", hash="
+                    + getBlock().getHash()
+                    + "}";
+        }
+    }
+
+    /** A previously added block is no longer part of the canonical chain. */
+    public static final class BlockRemoved extends ChainEvent {
+
+        public BlockRemoved(EthBlock.Block block) {
+            super(block);
+        }
+
+        @Override
+        public boolean isRemoved() {
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "BlockRemoved{number="
+                    + getBlock().getNumberRaw()
+                    + ", hash="
+                    + getBlock().getHash()
+                    + "}";
+        }
+    }
+}
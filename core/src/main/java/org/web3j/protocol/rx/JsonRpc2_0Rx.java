@@ -14,8 +14,23 @@ package org.web3j.protocol.rx;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import io.reactivex.BackpressureStrategy;
@@ -23,30 +38,81 @@ import io.reactivex.Flowable;
 import io.reactivex.FlowableEmitter;
 import io.reactivex.Scheduler;
 import io.reactivex.schedulers.Schedulers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.DefaultBlockParameterName;
 import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.RpcErrors;
 import org.web3j.protocol.core.filters.BlockFilter;
+import org.web3j.protocol.core.filters.BloomMatcher;
+import org.web3j.protocol.core.filters.FilterException;
+import org.web3j.protocol.core.filters.FilterPoller;
 import org.web3j.protocol.core.filters.LogFilter;
 import org.web3j.protocol.core.filters.PendingTransactionFilter;
+import org.web3j.protocol.core.methods.response.BlockHeader;
 import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthBlockReceipts;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.EthTransaction;
 import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.utils.AdaptivePollingScheduler;
 import org.web3j.utils.Flowables;
 
 /** web3j reactive API implementation. */
 public class JsonRpc2_0Rx {
 
+    private static final Logger log = LoggerFactory.getLogger(JsonRpc2_0Rx.class);
+
+    public static final int DEFAULT_PENDING_TRANSACTION_BATCH_SIZE = 100;
+    public static final long DEFAULT_PENDING_TRANSACTION_BATCH_DELAY = 100;
+    // the number of pending transaction hashes remembered to avoid resolving them again
+    private static final int RECENT_PENDING_TRANSACTIONS = 10_000;
+    // the number of blocks whose receipts are requested at once
+    private static final int RECEIPT_CONCURRENCY = 4;
+
     private final Web3j web3j;
     private final ScheduledExecutorService scheduledExecutorService;
     private final Scheduler scheduler;
+    private final AdaptivePollingScheduler pollingScheduler;
+    // filters sharing a polling interval are polled together
+    private final Map<Long, FilterPoller> filterPollers = new ConcurrentHashMap<>();
+    // with adaptive polling, all filters are polled together regardless of interval
+    private final FilterPoller adaptiveFilterPoller;
 
     public JsonRpc2_0Rx(Web3j web3j, ScheduledExecutorService scheduledExecutorService) {
+        this(web3j, scheduledExecutorService, null);
+    }
+
+    /**
+     * Create an instance which polls around the expected arrival of new blocks. The provided
+     * scheduler takes the place of the polling intervals passed to individual flowables.
+     *
+     * @param web3j web3j instance
+     * @param scheduledExecutorService executor to poll with
+     * @param pollingScheduler scheduler deciding when to poll, or null to poll at fixed intervals
+     */
+    public JsonRpc2_0Rx(
+            Web3j web3j,
+            ScheduledExecutorService scheduledExecutorService,
+            AdaptivePollingScheduler pollingScheduler) {
         this.web3j = web3j;
         this.scheduledExecutorService = scheduledExecutorService;
         this.scheduler = Schedulers.from(scheduledExecutorService);
+        this.pollingScheduler = pollingScheduler;
+        this.adaptiveFilterPoller =
+                pollingScheduler == null
+                        ? null
+                        : new FilterPoller(web3j, scheduledExecutorService, pollingScheduler);
     }
 
     public Flowable<String> ethBlockHashFlowable(long pollingInterval) {
@@ -85,8 +151,16 @@ public class JsonRpc2_0Rx {
             FlowableEmitter<? super T> emitter,
             long pollingInterval) {
 
-        filter.run(scheduledExecutorService, pollingInterval);
-        emitter.setCancellable(filter::cancel);
+        FilterPoller filterPoller =
+                adaptiveFilterPoller != null
+                        ? adaptiveFilterPoller
+                        : filterPollers.computeIfAbsent(
+                                pollingInterval,
+                                interval ->
+                                        new FilterPoller(
+                                                web3j, scheduledExecutorService, interval));
+        filterPoller.register(filter);
+        emitter.setCancellable(() -> filterPoller.unregister(filter));
     }
 
     public Flowable<Transaction> transactionFlowable(long pollingInterval) {
@@ -94,12 +168,68 @@ public class JsonRpc2_0Rx {
     }
 
     public Flowable<Transaction> pendingTransactionFlowable(long pollingInterval) {
-        return ethPendingTransactionHashFlowable(pollingInterval)
-                .flatMap(
-                        transactionHash ->
-                                web3j.ethGetTransactionByHash(transactionHash).flowable())
-                .filter(ethTransaction -> ethTransaction.getTransaction().isPresent())
-                .map(ethTransaction -> ethTransaction.getTransaction().get());
+        return pendingTransactionFlowable(
+                pollingInterval,
+                DEFAULT_PENDING_TRANSACTION_BATCH_SIZE,
+                DEFAULT_PENDING_TRANSACTION_BATCH_DELAY);
+    }
+
+    /**
+     * Emit pending transactions, resolving their hashes in batches. Hashes which have been seen
+     * recently are only resolved once, and hashes of a batch which could not be sent are resolved
+     * with the next batch.
+     *
+     * @param pollingInterval polling interval of the pending transaction filter
+     * @param batchSize maximum number of transactions resolved in a single JSON-RPC batch
+     * @param maxBatchDelay maximum time in milliseconds a hash is held awaiting a full batch
+     * @return a {@link Flowable} instance to emit pending transactions
+     */
+    public Flowable<Transaction> pendingTransactionFlowable(
+            long pollingInterval, int batchSize, long maxBatchDelay) {
+        return Flowable.defer(
+                () -> {
+                    Set<String> recentHashes =
+                            Collections.newSetFromMap(
+                                    new EvictingMap<>(RECENT_PENDING_TRANSACTIONS));
+                    Deque<String> unresolvedHashes = new ArrayDeque<>();
+                    return ethPendingTransactionHashFlowable(pollingInterval)
+                            .filter(recentHashes::add)
+                            .buffer(maxBatchDelay, TimeUnit.MILLISECONDS, scheduler, batchSize)
+                            .concatMapIterable(
+                                    transactionHashes ->
+                                            getTransactions(transactionHashes, unresolvedHashes));
+                });
+    }
+
+    private List<Transaction> getTransactions(
+            List<String> transactionHashes, Deque<String> unresolvedHashes) {
+        List<String> requestedHashes = new ArrayList<>(unresolvedHashes);
+        requestedHashes.addAll(transactionHashes);
+        unresolvedHashes.clear();
+        if (requestedHashes.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        BatchRequest batchRequest = web3j.newBatch();
+        for (String transactionHash : requestedHashes) {
+            batchRequest.add(web3j.ethGetTransactionByHash(transactionHash));
+        }
+
+        List<Transaction> transactions = new ArrayList<>(requestedHashes.size());
+        try {
+            for (Response<?> response : batchRequest.send().getResponses()) {
+                // transactions may have been dropped from the pool since their hash was reported
+                ((EthTransaction) response).getTransaction().ifPresent(transactions::add);
+            }
+        } catch (IOException e) {
+            // the filter reports each hash once, so the hashes are requested with the next batch
+            log.error("Error sending request", e);
+            unresolvedHashes.addAll(requestedHashes);
+            while (unresolvedHashes.size() > RECENT_PENDING_TRANSACTIONS) {
+                unresolvedHashes.removeFirst();
+            }
+        }
+        return transactions;
     }
 
     public Flowable<EthBlock> blockFlowable(boolean fullTransactionObjects, long pollingInterval) {
@@ -110,6 +240,302 @@ public class JsonRpc2_0Rx {
                                         .flowable());
     }
 
+    public Flowable<BlockHeader> blockHeaderFlowable(long pollingInterval) {
+        return Flowable.defer(
+                () -> {
+                    AtomicReference<BlockHeader> previous = new AtomicReference<>();
+                    return ticks(pollingInterval)
+                            .onBackpressureDrop()
+                            .concatMapIterable(tick -> pollBlockHeaders(previous));
+                });
+    }
+
+    private Flowable<Long> ticks(long pollingInterval) {
+        if (pollingScheduler == null) {
+            return Flowable.interval(0, pollingInterval, TimeUnit.MILLISECONDS, scheduler);
+        }
+        return Flowable.create(
+                emitter -> {
+                    AtomicLong tick = new AtomicLong();
+                    Future<?> polling =
+                            pollingScheduler.schedule(
+                                    scheduledExecutorService,
+                                    () -> emitter.onNext(tick.getAndIncrement()));
+                    emitter.setCancellable(() -> polling.cancel(false));
+                },
+                BackpressureStrategy.DROP);
+    }
+
+    private List<BlockHeader> pollBlockHeaders(AtomicReference<BlockHeader> previous) {
+        List<BlockHeader> blockHeaders = new ArrayList<>();
+        try {
+            BlockHeader latest =
+                    web3j.ethGetBlockHeaderByNumber(DefaultBlockParameterName.LATEST)
+                            .send()
+                            .getBlockHeader();
+            BlockHeader last = previous.get();
+            if (latest == null
+                    || (last != null
+                            && (latest.getHash().equals(last.getHash())
+                                    || latest.getNumber().compareTo(last.getNumber()) < 0))) {
+                return blockHeaders;
+            }
+
+            if (last != null) {
+                // request any blocks created between polls, so that none are skipped
+                for (BigInteger i = last.getNumber().add(BigInteger.ONE);
+                        i.compareTo(latest.getNumber()) < 0;
+                        i = i.add(BigInteger.ONE)) {
+                    BlockHeader blockHeader =
+                            web3j.ethGetBlockHeaderByNumber(new DefaultBlockParameterNumber(i))
+                                    .send()
+                                    .getBlockHeader();
+                    if (blockHeader != null) {
+                        blockHeaders.add(blockHeader);
+                    }
+                }
+            }
+
+            blockHeaders.add(latest);
+            previous.set(latest);
+            if (pollingScheduler != null) {
+                pollingScheduler.onBlock(latest.getNumber());
+            }
+        } catch (IOException e) {
+            // headers since the previous poll are requested again on the next interval
+            log.error("Error sending request", e);
+            blockHeaders.clear();
+        }
+        return blockHeaders;
+    }
+
+    /**
+     * Follow the canonical chain, emitting blocks as they join it and again as they are removed
+     * from it by chain reorganisations. Errors retrieving blocks are logged, and the blocks are
+     * requested again when following the next head.
+     *
+     * @param blockHeaders the chain heads to follow
+     * @param fullTransactionObjects if true, provides transactions embedded in blocks
+     * @param confirmations the number of blocks which must be built on a block before it is added
+     * @return a {@link Flowable} instance to emit changes to the canonical chain
+     */
+    public Flowable<ChainEvent> canonicalBlockFlowable(
+            Flowable<BlockHeader> blockHeaders, boolean fullTransactionObjects, int confirmations) {
+        return Flowable.defer(
+                () -> {
+                    CanonicalChainFollower follower =
+                            new CanonicalChainFollower(
+                                    web3j, fullTransactionObjects, confirmations);
+                    return blockHeaders.concatMapIterable(
+                            blockHeader -> followHead(follower, blockHeader));
+                });
+    }
+
+    private static List<ChainEvent> followHead(
+            CanonicalChainFollower follower, BlockHeader blockHeader) {
+        try {
+            return follower.onHead(blockHeader.getHash());
+        } catch (IOException e) {
+            // the head is connected to the chain again when following the next head
+            log.error("Error sending request", e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Emit the logs matching a filter within the blocks of the canonical chain. Where a block is
+     * removed from the canonical chain, its logs are emitted again in reverse order, flagged as
+     * removed. Errors retrieving logs are logged, and the logs are requested again with those of
+     * the next block added, as with {@link #canonicalBlockFlowable(Flowable, boolean, int)}.
+     *
+     * @param chainEvents changes to the canonical chain
+     * @param ethFilter the filter to match, with any block range ignored
+     * @return a {@link Flowable} instance to emit matching logs
+     */
+    public Flowable<Log> canonicalLogFlowable(
+            Flowable<ChainEvent> chainEvents,
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter) {
+        return Flowable.defer(
+                () -> {
+                    // logs are retained for blocks which may still be removed
+                    Map<String, List<Log>> logsByBlock =
+                            new EvictingMap<>(CanonicalChainFollower.MAX_REORG_DEPTH);
+                    Deque<EthBlock.Block> unfetchedBlocks = new ArrayDeque<>();
+                    return chainEvents.concatMapIterable(
+                            chainEvent ->
+                                    getLogs(chainEvent, ethFilter, logsByBlock, unfetchedBlocks));
+                });
+    }
+
+    private List<Log> getLogs(
+            ChainEvent chainEvent,
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter,
+            Map<String, List<Log>> logsByBlock,
+            Deque<EthBlock.Block> unfetchedBlocks) {
+        String blockHash = chainEvent.getBlock().getHash();
+        if (chainEvent.isRemoved()) {
+            // the logs of a block removed before they could be retrieved were never emitted
+            if (unfetchedBlocks.removeIf(block -> block.getHash().equals(blockHash))) {
+                return Collections.emptyList();
+            }
+            List<Log> logs = logsByBlock.remove(blockHash);
+            if (logs == null) {
+                return Collections.emptyList();
+            }
+            List<Log> removed = new ArrayList<>(logs.size());
+            for (int i = logs.size() - 1; i >= 0; i--) {
+                removed.add(toRemoved(logs.get(i)));
+            }
+            return removed;
+        }
+
+        unfetchedBlocks.add(chainEvent.getBlock());
+        List<Log> logs = new ArrayList<>();
+        try {
+            while (!unfetchedBlocks.isEmpty()) {
+                String unfetchedHash = unfetchedBlocks.getFirst().getHash();
+                List<Log> blockLogs = getLogs(unfetchedHash, ethFilter);
+                logsByBlock.put(unfetchedHash, blockLogs);
+                logs.addAll(blockLogs);
+                unfetchedBlocks.removeFirst();
+            }
+        } catch (IOException e) {
+            // later blocks wait for the failed block, so that logs are emitted in block order
+            log.error("Error sending request", e);
+        }
+        return logs;
+    }
+
+    private List<Log> getLogs(
+            String blockHash, org.web3j.protocol.core.methods.request.EthFilter ethFilter)
+            throws IOException {
+        EthLog ethLog = web3j.ethGetLogs(ethFilter.withBlockHash(blockHash)).send();
+        if (ethLog.hasError()) {
+            throw new IOException(
+                    "Unable to retrieve logs of block "
+                            + blockHash
+                            + ": "
+                            + ethLog.getError().getMessage());
+        }
+        return ethLog.getLogs().stream()
+                .map(logResult -> ((EthLog.LogObject) logResult).get())
+                .collect(Collectors.toList());
+    }
+
+    private static Log toRemoved(Log log) {
+        return new Log(
+                true,
+                log.getLogIndexRaw(),
+                log.getTransactionIndexRaw(),
+                log.getTransactionHash(),
+                log.getBlockHash(),
+                log.getBlockNumberRaw(),
+                log.getAddress(),
+                log.getData(),
+                log.getType(),
+                log.getTopics());
+    }
+
+    /**
+     * Emit the receipts of all transactions in each of the provided blocks, in block order.
+     *
+     * <p>All receipts of a block are requested at once with the provided bulk request, such as
+     * eth_getBlockReceipts. If the client does not support it, receipts are requested in a JSON-RPC
+     * batch of eth_getTransactionReceipt requests instead. Blocks whose receipts can no longer be
+     * found, having been removed by a chain reorganisation, are skipped.
+     *
+     * @param blocks blocks with full transaction objects
+     * @param blockReceiptsRequest creates a request for all receipts of a block, or null to always
+     *     request receipts individually
+     * @return a {@link Flowable} instance to emit blocks with their receipts
+     */
+    public Flowable<BlockReceipts> blockReceiptsFlowable(
+            Flowable<EthBlock> blocks,
+            Function<DefaultBlockParameter, Request<?, EthBlockReceipts>> blockReceiptsRequest) {
+        return Flowable.defer(
+                () -> {
+                    AtomicBoolean bulkSupported = new AtomicBoolean(blockReceiptsRequest != null);
+                    return blocks.concatMapEager(
+                            ethBlock ->
+                                    Flowable.defer(
+                                                    () ->
+                                                            getBlockReceipts(
+                                                                    ethBlock.getBlock(),
+                                                                    blockReceiptsRequest,
+                                                                    bulkSupported))
+                                            .subscribeOn(Schedulers.io()),
+                            RECEIPT_CONCURRENCY,
+                            1);
+                });
+    }
+
+    private Flowable<BlockReceipts> getBlockReceipts(
+            EthBlock.Block block,
+            Function<DefaultBlockParameter, Request<?, EthBlockReceipts>> blockReceiptsRequest,
+            AtomicBoolean bulkSupported)
+            throws IOException {
+        List<Transaction> transactions =
+                block.getTransactions().stream()
+                        .map(transactionResult -> (Transaction) transactionResult.get())
+                        .collect(Collectors.toList());
+        if (transactions.isEmpty()) {
+            return Flowable.just(new BlockReceipts(block, transactions, Collections.emptyList()));
+        }
+
+        if (bulkSupported.get()) {
+            EthBlockReceipts ethBlockReceipts =
+                    blockReceiptsRequest
+                            .apply(new DefaultBlockParameterNumber(block.getNumber()))
+                            .send();
+            if (!ethBlockReceipts.hasError()) {
+                List<TransactionReceipt> receipts =
+                        ethBlockReceipts.getBlockReceipts().orElse(Collections.emptyList());
+                // the block at this height may have changed since the block was requested
+                if (isReceiptsOf(block, transactions, receipts)) {
+                    return Flowable.just(new BlockReceipts(block, transactions, receipts));
+                }
+            } else if (ethBlockReceipts.getError().getCode() == RpcErrors.INVALID_REQUEST) {
+                log.info(
+                        "Block receipts are not supported by the client, requesting receipts "
+                                + "individually");
+                bulkSupported.set(false);
+            }
+        }
+
+        BatchRequest batchRequest = web3j.newBatch();
+        for (Transaction transaction : transactions) {
+            batchRequest.add(web3j.ethGetTransactionReceipt(transaction.getHash()));
+        }
+        List<TransactionReceipt> receipts = new ArrayList<>(transactions.size());
+        for (Response<?> response : batchRequest.send().getResponses()) {
+            Optional<TransactionReceipt> receipt =
+                    ((EthGetTransactionReceipt) response).getTransactionReceipt();
+            if (!receipt.isPresent()) {
+                log.warn("Receipts not found for block {}, skipping", block.getHash());
+                return Flowable.empty();
+            }
+            receipts.add(receipt.get());
+        }
+        return Flowable.just(new BlockReceipts(block, transactions, receipts));
+    }
+
+    private static boolean isReceiptsOf(
+            EthBlock.Block block,
+            List<Transaction> transactions,
+            List<TransactionReceipt> receipts) {
+        if (receipts.size() != transactions.size()) {
+            return false;
+        }
+        for (int i = 0; i < receipts.size(); i++) {
+            TransactionReceipt receipt = receipts.get(i);
+            if (!block.getHash().equals(receipt.getBlockHash())
+                    || !transactions.get(i).getHash().equals(receipt.getTransactionHash())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public Flowable<EthBlock> replayBlocksFlowable(
             DefaultBlockParameter startBlock,
             DefaultBlockParameter endBlock,
@@ -128,6 +554,150 @@ public class JsonRpc2_0Rx {
                 .subscribeOn(scheduler);
     }
 
+    /**
+     * Replay a range of blocks with several requests in flight at once. Blocks are still emitted
+     * strictly in order, as responses are buffered until all preceding blocks have been emitted.
+     *
+     * @param startBlock block number to commence with
+     * @param endBlock block number to finish with
+     * @param fullTransactionObjects if true, provides transactions embedded in blocks
+     * @param ascending if true, emits blocks in ascending order
+     * @param maxConcurrency maximum number of requests in flight
+     * @param batchSize number of blocks requested in each JSON-RPC batch, or 1 to request blocks
+     *     individually
+     * @return a {@link Flowable} instance to emit these blocks
+     */
+    public Flowable<EthBlock> replayBlocksFlowable(
+            DefaultBlockParameter startBlock,
+            DefaultBlockParameter endBlock,
+            boolean fullTransactionObjects,
+            boolean ascending,
+            int maxConcurrency,
+            int batchSize) {
+        if (maxConcurrency < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Concurrency and batch size must be positive");
+        }
+
+        return Flowable.defer(
+                        () ->
+                                replayBlocksFlowableConcurrent(
+                                        getBlockNumber(startBlock).longValueExact(),
+                                        getBlockNumber(endBlock).longValueExact(),
+                                        fullTransactionObjects,
+                                        ascending,
+                                        maxConcurrency,
+                                        batchSize))
+                .subscribeOn(scheduler);
+    }
+
+    /**
+     * Replay the logs matching a filter over its block range using eth_getLogs, paging through the
+     * range in chunks sized according to the density of matching logs. Several chunks may be
+     * requested at once, but logs are emitted in block order.
+     *
+     * @param ethFilter filter to match, with the block range to replay
+     * @param maxConcurrency maximum number of requests in flight
+     * @return a {@link Flowable} instance to emit the matching logs
+     */
+    public Flowable<Log> replayLogsFlowable(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be positive");
+        }
+
+        return Flowable.defer(
+                        () ->
+                                new LogRangeReplayer(web3j, ethFilter)
+                                        .replay(
+                                                getBlockNumber(ethFilter.getFromBlock())
+                                                        .longValueExact(),
+                                                getBlockNumber(ethFilter.getToBlock())
+                                                        .longValueExact(),
+                                                maxConcurrency))
+                .subscribeOn(scheduler);
+    }
+
+    /**
+     * Emit the logs matching a filter over its block range, by testing the logs Bloom filter of
+     * each block and only requesting logs for the blocks which may contain matching logs. This
+     * avoids range queries of eth_getLogs, which are slow on nodes without log indexes.
+     *
+     * @param ethFilter filter to match, with the block range to scan
+     * @param maxConcurrency maximum number of requests in flight
+     * @param batchSize number of blocks requested in each JSON-RPC batch
+     * @return a {@link Flowable} instance to emit the matching logs in block order
+     */
+    public Flowable<Log> scanLogsFlowable(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter,
+            int maxConcurrency,
+            int batchSize) {
+        BloomMatcher bloomMatcher = BloomMatcher.forFilter(ethFilter);
+        return replayBlocksFlowable(
+                        ethFilter.getFromBlock(),
+                        ethFilter.getToBlock(),
+                        false,
+                        true,
+                        maxConcurrency,
+                        batchSize)
+                .map(EthBlock::getBlock)
+                .filter(block -> bloomMatcher.mightMatch(block.getLogsBloom()))
+                .concatMapEager(
+                        block ->
+                                web3j.ethGetLogs(ethFilter.withBlockHash(block.getHash()))
+                                        .flowable()
+                                        .subscribeOn(Schedulers.io()),
+                        maxConcurrency,
+                        1)
+                .concatMapIterable(
+                        ethLog -> {
+                            if (ethLog.hasError()) {
+                                throw new FilterException(
+                                        "Invalid request: " + ethLog.getError().getMessage());
+                            }
+                            return LogRangeReplayer.toLogs(ethLog);
+                        });
+    }
+
+    private Flowable<EthBlock> replayBlocksFlowableConcurrent(
+            long startBlockNumber,
+            long endBlockNumber,
+            boolean fullTransactionObjects,
+            boolean ascending,
+            int maxConcurrency,
+            int batchSize) {
+        // concatMapEager subscribes to up to maxConcurrency requests at once, but emits their
+        // results in the order the requests were created
+        return Flowable.rangeLong(startBlockNumber, endBlockNumber - startBlockNumber + 1)
+                .map(i -> ascending ? i : endBlockNumber - (i - startBlockNumber))
+                .buffer(batchSize)
+                .concatMapEager(
+                        blockNumbers ->
+                                fetchBlocks(blockNumbers, fullTransactionObjects)
+                                        .subscribeOn(Schedulers.io()),
+                        maxConcurrency,
+                        batchSize);
+    }
+
+    private Flowable<EthBlock> fetchBlocks(
+            List<Long> blockNumbers, boolean fullTransactionObjects) {
+        if (blockNumbers.size() == 1) {
+            return web3j.ethGetBlockByNumber(
+                            new DefaultBlockParameterNumber(blockNumbers.get(0)),
+                            fullTransactionObjects)
+                    .flowable();
+        }
+
+        BatchRequest batchRequest = web3j.newBatch();
+        for (Long blockNumber : blockNumbers) {
+            batchRequest.add(
+                    web3j.ethGetBlockByNumber(
+                            new DefaultBlockParameterNumber(blockNumber), fullTransactionObjects));
+        }
+        return Flowable.fromCallable(batchRequest::send)
+                .flatMapIterable(BatchResponse::getResponses)
+                .cast(EthBlock.class);
+    }
+
     private Flowable<EthBlock> replayBlocksFlowableSync(
             DefaultBlockParameter startBlock,
             DefaultBlockParameter endBlock,
@@ -175,6 +745,13 @@ public class JsonRpc2_0Rx {
                 .flatMapIterable(JsonRpc2_0Rx::toTransactions);
     }
 
+    public Flowable<TransactionColumns> replayTransactionColumnsFlowable(
+            DefaultBlockParameter startBlock, DefaultBlockParameter endBlock, int blocksPerBatch) {
+        return replayBlocksFlowable(startBlock, endBlock, true)
+                .buffer(blocksPerBatch)
+                .map(TransactionColumns::fromBlocks);
+    }
+
     public Flowable<EthBlock> replayPastBlocksFlowable(
             DefaultBlockParameter startBlock,
             boolean fullTransactionObjects,
@@ -199,7 +776,9 @@ public class JsonRpc2_0Rx {
         BigInteger latestBlockNumber;
         try {
             startBlockNumber = getBlockNumber(startBlock);
-            latestBlockNumber = getLatestBlockNumber();
+            // the latest block must be current, otherwise blocks are missed when switching to
+            // the onComplete Flowable
+            latestBlockNumber = web3j.chainHeadTracker().refresh().getNumber();
         } catch (IOException e) {
             return Flowable.error(e);
         }
@@ -245,13 +824,18 @@ public class JsonRpc2_0Rx {
     }
 
     private BigInteger getLatestBlockNumber() throws IOException {
-        return getBlockNumber(DefaultBlockParameterName.LATEST);
+        return web3j.chainHeadTracker().getLatestBlockNumber();
     }
 
     private BigInteger getBlockNumber(DefaultBlockParameter defaultBlockParameter)
             throws IOException {
-        if (defaultBlockParameter instanceof DefaultBlockParameterNumber) {
+        if (defaultBlockParameter == null) {
+            // as per the JSON-RPC specification, an omitted block defaults to the latest block
+            return getLatestBlockNumber();
+        } else if (defaultBlockParameter instanceof DefaultBlockParameterNumber) {
             return ((DefaultBlockParameterNumber) defaultBlockParameter).getBlockNumber();
+        } else if (defaultBlockParameter == DefaultBlockParameterName.LATEST) {
+            return getLatestBlockNumber();
         } else {
             EthBlock latestEthBlock =
                     web3j.ethGetBlockByNumber(defaultBlockParameter, false).send();
@@ -266,4 +850,21 @@ public class JsonRpc2_0Rx {
                 .map(transactionResult -> (Transaction) transactionResult.get())
                 .collect(Collectors.toList());
     }
+
+    /** A map evicting its eldest entry once it holds more than a maximum number of entries. */
+    private static final class EvictingMap<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        private EvictingMap(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maxSize;
+        }
+    }
 }
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.rx;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
+import io.reactivex.FlowableEmitter;
+import io.reactivex.disposables.Disposable;
+
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.datatypes.Event;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.Log;
+
+/**
+ * Shares a single node filter between many log subscribers.
+ *
+ * <p>One filter is installed covering all of the addresses and event signatures (topic0 values)
+ * this demultiplexer was created with. Each log received is routed locally to the subscribers for
+ * its address and event signature, using an index on both, so the cost of routing a log does not
+ * grow with the number of subscribers. Subscribers can be added and removed at any time without
+ * reinstalling the filter. The filter is installed when the first subscriber subscribes, and
+ * uninstalled when the last one is disposed.
+ */
+public class LogDemultiplexer {
+
+    // index key matching any address or event signature
+    private static final String ANY = "*";
+
+    private final Web3j web3j;
+    private final Set<String> addresses;
+    private final Set<String> topics;
+
+    private final Map<String, Map<String, Set<FlowableEmitter<? super Log>>>> subscribers =
+            new ConcurrentHashMap<>();
+
+    private int subscriberCount;
+    private Disposable filter;
+
+    /**
+     * Create a demultiplexer for logs emitted by the provided addresses.
+     *
+     * @param web3j web3j instance
+     * @param addresses the addresses to install the filter for, or an empty list for any address
+     * @param topics the event signatures (topic0 values) to install the filter for, or an empty
+     *     list for any event
+     */
+    public LogDemultiplexer(Web3j web3j, List<String> addresses, List<String> topics) {
+        this.web3j = web3j;
+        this.addresses = normalise(addresses);
+        this.topics = normalise(topics);
+    }
+
+    public LogDemultiplexer(Web3j web3j, List<String> addresses) {
+        this(web3j, addresses, Collections.emptyList());
+    }
+
+    /**
+     * Emit the logs of an event emitted by a contract.
+     *
+     * @param address the contract address
+     * @param event the event
+     * @return a {@link Flowable} instance to emit the event logs
+     */
+    public Flowable<Log> logFlowable(String address, Event event) {
+        return logFlowable(address, EventEncoder.encode(event));
+    }
+
+    /**
+     * Emit the logs with an event signature emitted by an address.
+     *
+     * @param address the address emitting the logs, or null for any address covered by the filter
+     * @param topic the event signature (topic0), or null for any event covered by the filter
+     * @return a {@link Flowable} instance to emit the logs
+     * @throws IllegalArgumentException if the address or event signature is not covered by the
+     *     filter
+     */
+    public Flowable<Log> logFlowable(String address, String topic) {
+        String addressKey = key(address, addresses);
+        String topicKey = key(topic, topics);
+        return Flowable.create(
+                emitter -> {
+                    subscribe(addressKey, topicKey, emitter);
+                    emitter.setCancellable(() -> unsubscribe(addressKey, topicKey, emitter));
+                },
+                BackpressureStrategy.BUFFER);
+    }
+
+    /**
+     * Returns the number of active subscribers.
+     *
+     * @return the number of subscribers
+     */
+    public synchronized int getSubscriberCount() {
+        return subscriberCount;
+    }
+
+    private void subscribe(
+            String addressKey, String topicKey, FlowableEmitter<? super Log> emitter) {
+        synchronized (this) {
+            subscribers
+                    .computeIfAbsent(addressKey, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(topicKey, key -> new CopyOnWriteArraySet<>())
+                    .add(emitter);
+            if (subscriberCount++ > 0) {
+                return;
+            }
+        }
+
+        // installing the filter calls the node, so other subscribers are not held up meanwhile.
+        // The emitter is only cancellable once subscribed, so the filter cannot be uninstalled
+        // before it is assigned.
+        Disposable installed =
+                web3j.ethLogFlowable(createFilter()).subscribe(this::route, this::onError);
+        synchronized (this) {
+            filter = installed;
+        }
+    }
+
+    private synchronized void unsubscribe(
+            String addressKey, String topicKey, FlowableEmitter<? super Log> emitter) {
+        Map<String, Set<FlowableEmitter<? super Log>>> byTopic = subscribers.get(addressKey);
+        if (byTopic == null
+                || !byTopic.containsKey(topicKey)
+                || !byTopic.get(topicKey).remove(emitter)) {
+            return;
+        }
+        if (byTopic.get(topicKey).isEmpty()) {
+            byTopic.remove(topicKey);
+            if (byTopic.isEmpty()) {
+                subscribers.remove(addressKey);
+            }
+        }
+
+        if (--subscriberCount == 0) {
+            filter.dispose();
+            filter = null;
+        }
+    }
+
+    private EthFilter createFilter() {
+        EthFilter ethFilter =
+                new EthFilter(
+                        DefaultBlockParameterName.LATEST,
+                        DefaultBlockParameterName.LATEST,
+                        addresses.isEmpty() ? null : new ArrayList<>(addresses));
+        if (!topics.isEmpty()) {
+            ethFilter.addOptionalTopics(topics.toArray(new String[0]));
+        }
+        return ethFilter;
+    }
+
+    private void route(Log log) {
+        String address = log.getAddress() == null ? null : log.getAddress().toLowerCase();
+        String topic =
+                log.getTopics() == null || log.getTopics().isEmpty()
+                        ? null
+                        : log.getTopics().get(0).toLowerCase();
+
+        emit(subscribers.get(ANY), topic, log);
+        if (address != null) {
+            emit(subscribers.get(address), topic, log);
+        }
+    }
+
+    private static void emit(
+            Map<String, Set<FlowableEmitter<? super Log>>> byTopic, String topic, Log log) {
+        if (byTopic == null) {
+            return;
+        }
+        emit(byTopic.get(ANY), log);
+        if (topic != null) {
+            emit(byTopic.get(topic), log);
+        }
+    }
+
+    private static void emit(Set<FlowableEmitter<? super Log>> emitters, Log log) {
+        if (emitters != null) {
+            for (FlowableEmitter<? super Log> emitter : emitters) {
+                emitter.onNext(log);
+            }
+        }
+    }
+
+    private synchronized void onError(Throwable e) {
+        for (Map<String, Set<FlowableEmitter<? super Log>>> byTopic : subscribers.values()) {
+            for (Set<FlowableEmitter<? super Log>> emitters : byTopic.values()) {
+                emitters.forEach(emitter -> emitter.tryOnError(e));
+            }
+        }
+    }
+
+    private static String key(String value, Set<String> covered) {
+        if (value == null) {
+            return ANY;
+        }
+        String key = value.toLowerCase();
+        if (!covered.isEmpty() && !covered.contains(key)) {
+            throw new IllegalArgumentException(value + " is not covered by the filter");
+        }
+        return key;
+    }
+
+    private static Set<String> normalise(Collection<String> values) {
+        Set<String> normalised = new HashSet<>();
+        for (String value : values) {
+            normalised.add(value.toLowerCase());
+        }
+        return Collections.unmodifiableSet(normalised);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.rx;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.filters.FilterException;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+
+/**
+ * Replays historic logs by paging through a block range with eth_getLogs.
+ *
+ * <p>Nodes cap the number of results a single eth_getLogs request may return, and time out on
+ * requests covering too many blocks. The number of blocks requested at once therefore adapts to the
+ * density of matching logs: a range the node refuses is split in half and retried, and ranges
+ * returning few results cause subsequent ranges to grow.
+ */
+class LogRangeReplayer {
+
+    static final long INITIAL_RANGE = 1000;
+    static final long MAX_RANGE = 100_000;
+    // ranges returning fewer logs than this are considered sparse
+    static final int SPARSE_RESULTS = 1000;
+
+    // error code for a request exceeding a node defined limit, see EIP-1474
+    private static final int LIMIT_EXCEEDED = -32005;
+
+    private final Web3j web3j;
+    private final EthFilter ethFilter;
+    private final AtomicLong rangeSize = new AtomicLong(INITIAL_RANGE);
+
+    LogRangeReplayer(Web3j web3j, EthFilter ethFilter) {
+        this.web3j = web3j;
+        this.ethFilter = ethFilter;
+    }
+
+    Flowable<Log> replay(long startBlockNumber, long endBlockNumber, int maxConcurrency) {
+        // ranges are generated on demand, so each new range reflects the latest range size
+        Flowable<long[]> ranges =
+                Flowable.generate(
+                        () -> startBlockNumber,
+                        (next, emitter) -> {
+                            if (next > endBlockNumber) {
+                                emitter.onComplete();
+                                return next;
+                            }
+                            long to = Math.min(endBlockNumber, next + rangeSize.get() - 1);
+                            emitter.onNext(new long[] {next, to});
+                            return to + 1;
+                        });
+
+        return ranges.concatMapEager(
+                range -> getLogs(range[0], range[1]).subscribeOn(Schedulers.io()),
+                maxConcurrency,
+                1);
+    }
+
+    long getRangeSize() {
+        return rangeSize.get();
+    }
+
+    private Flowable<Log> getLogs(long from, long to) {
+        return Flowable.defer(
+                () -> {
+                    EthLog ethLog;
+                    try {
+                        ethLog =
+                                web3j.ethGetLogs(
+                                                ethFilter.withBlockRange(
+                                                        new DefaultBlockParameterNumber(from),
+                                                        new DefaultBlockParameterNumber(to)))
+                                        .send();
+                    } catch (IOException e) {
+                        // most likely a timeout, which a smaller range may avoid
+                        if (from == to) {
+                            throw e;
+                        }
+                        return split(from, to);
+                    }
+
+                    if (ethLog.hasError()) {
+                        if (from < to && isRangeTooLarge(ethLog.getError())) {
+                            return split(from, to);
+                        }
+                        throw new FilterException(
+                                "Invalid request: " + ethLog.getError().getMessage());
+                    }
+
+                    List<Log> logs = toLogs(ethLog);
+                    if (logs.size() < SPARSE_RESULTS) {
+                        grow(to - from + 1);
+                    }
+                    return Flowable.fromIterable(logs);
+                });
+    }
+
+    private Flowable<Log> split(long from, long to) {
+        long middle = from + (to - from) / 2;
+        rangeSize.accumulateAndGet(middle - from + 1, Math::min);
+        return getLogs(from, middle).concatWith(getLogs(middle + 1, to));
+    }
+
+    private void grow(long size) {
+        // only ranges at least as large as the current size may grow it, so that many
+        // concurrently completing small ranges do not grow the range size repeatedly
+        rangeSize.accumulateAndGet(
+                size,
+                (current, completed) ->
+                        completed >= current ? Math.min(MAX_RANGE, completed * 2) : current);
+    }
+
+    static boolean isRangeTooLarge(Response.Error error) {
+        if (error.getCode() == LIMIT_EXCEEDED) {
+            return true;
+        }
+        String message =
+                error.getMessage() == null ? "" : error.getMessage().toLowerCase(Locale.ROOT);
+        return message.contains("more than")
+                || message.contains("too many")
+                || message.contains("too large")
+                || message.contains("exceed")
+                || message.contains("timeout")
+                || message.contains("timed out");
+    }
+
+    static List<Log> toLogs(EthLog ethLog) {
+        List<Log> logs = new ArrayList<>(ethLog.getLogs().size());
+        for (EthLog.LogResult<?> logResult : ethLog.getLogs()) {
+            if (logResult instanceof EthLog.LogObject) {
+                logs.add(((EthLog.LogObject) logResult).get());
+            } else {
+                throw new FilterException(
+                        "Unexpected result type: " + logResult.get() + " required LogObject");
+            }
+        }
+        return logs;
+    }
+}
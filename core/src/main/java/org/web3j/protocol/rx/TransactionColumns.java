@@ -0,0 +1,278 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.rx;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.utils.Address20;
+import org.web3j.utils.Numeric;
+
+/**
+ * Column oriented view of the transactions contained in a batch of blocks.
+ *
+ * <p>Each column is backed by a primitive array indexed by row, so that scans over a single column,
+ * such as summing gas or matching a function selector, touch contiguous memory and do not allocate.
+ * Fixed width values (addresses and values) are stored in flat byte arrays with a constant stride
+ * per row.
+ *
+ * <p>Gas prices are stored as longs, saturating at {@link Long#MAX_VALUE}.
+ */
+public final class TransactionColumns {
+
+    public static final int VALUE_WIDTH = 32;
+
+    private final int size;
+    private final long[] blockNumber;
+    private final long[] gas;
+    private final long[] gasPrice;
+    private final byte[] value;
+    private final byte[] from;
+    private final byte[] to;
+    private final boolean[] contractCreation;
+    private final int[] selector;
+    private final int[] inputLength;
+
+    private TransactionColumns(int size) {
+        this.size = size;
+        this.blockNumber = new long[size];
+        this.gas = new long[size];
+        this.gasPrice = new long[size];
+        this.value = new byte[size * VALUE_WIDTH];
+        this.from = new byte[size * Address20.LENGTH];
+        this.to = new byte[size * Address20.LENGTH];
+        this.contractCreation = new boolean[size];
+        this.selector = new int[size];
+        this.inputLength = new int[size];
+    }
+
+    /**
+     * Decode the transactions of the provided blocks into columns, preserving block and transaction
+     * order.
+     *
+     * @param ethBlocks blocks requested with full transaction objects
+     * @return the transactions of all blocks in columnar form
+     */
+    public static TransactionColumns fromBlocks(List<EthBlock> ethBlocks) {
+        int size = 0;
+        for (EthBlock ethBlock : ethBlocks) {
+            size += ethBlock.getBlock().getTransactions().size();
+        }
+
+        TransactionColumns columns = new TransactionColumns(size);
+        int row = 0;
+        for (EthBlock ethBlock : ethBlocks) {
+            for (EthBlock.TransactionResult<?> transactionResult :
+                    ethBlock.getBlock().getTransactions()) {
+                if (!(transactionResult.get() instanceof Transaction)) {
+                    throw new IllegalArgumentException(
+                            "Blocks must be requested with full transaction objects");
+                }
+                columns.set(row++, (Transaction) transactionResult.get());
+            }
+        }
+        return columns;
+    }
+
+    private void set(int row, Transaction transaction) {
+        blockNumber[row] = parseLong(transaction.getBlockNumberRaw());
+        gas[row] = parseLong(transaction.getGasRaw());
+        gasPrice[row] = parseLong(transaction.getGasPriceRaw());
+        writeQuantity(transaction.getValueRaw(), value, row * VALUE_WIDTH, VALUE_WIDTH);
+
+        transaction.getFromValue().copyTo(from, row * Address20.LENGTH);
+        Address20 toValue = transaction.getToValue();
+        if (toValue == null) {
+            contractCreation[row] = true;
+        } else {
+            toValue.copyTo(to, row * Address20.LENGTH);
+        }
+
+        String input = transaction.getInput();
+        int digits =
+                input == null ? 0 : input.length() - (Numeric.containsHexPrefix(input) ? 2 : 0);
+        inputLength[row] = digits / 2;
+        if (digits >= 8) {
+            selector[row] = (int) parseHex(input, input.length() - digits, 8);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getBlockNumber(int row) {
+        return blockNumber[row];
+    }
+
+    public long getGas(int row) {
+        return gas[row];
+    }
+
+    public long getGasPrice(int row) {
+        return gasPrice[row];
+    }
+
+    public BigInteger getValue(int row) {
+        return new BigInteger(
+                1, Arrays.copyOfRange(value, row * VALUE_WIDTH, (row + 1) * VALUE_WIDTH));
+    }
+
+    public Address20 getFrom(int row) {
+        return Address20.wrap(
+                Arrays.copyOfRange(from, row * Address20.LENGTH, (row + 1) * Address20.LENGTH));
+    }
+
+    /**
+     * Returns the recipient of a transaction.
+     *
+     * @param row row index
+     * @return the recipient, or null for contract creation transactions
+     */
+    public Address20 getTo(int row) {
+        if (contractCreation[row]) {
+            return null;
+        }
+        return Address20.wrap(
+                Arrays.copyOfRange(to, row * Address20.LENGTH, (row + 1) * Address20.LENGTH));
+    }
+
+    public boolean isContractCreation(int row) {
+        return contractCreation[row];
+    }
+
+    /**
+     * Returns the function selector, being the first four bytes of the transaction input.
+     *
+     * @param row row index
+     * @return the selector, or 0 if the input is shorter than four bytes
+     */
+    public int getSelector(int row) {
+        return selector[row];
+    }
+
+    public int getInputLength(int row) {
+        return inputLength[row];
+    }
+
+    /**
+     * Tests whether a transaction was sent to an address without materialising the address.
+     *
+     * @param row row index
+     * @param address address to compare against
+     * @return true if the transaction recipient is the provided address
+     */
+    public boolean isTo(int row, byte[] address) {
+        return !contractCreation[row] && regionMatches(to, row * Address20.LENGTH, address);
+    }
+
+    /**
+     * Tests whether a transaction was sent from an address without materialising the address.
+     *
+     * @param row row index
+     * @param address address to compare against
+     * @return true if the transaction sender is the provided address
+     */
+    public boolean isFrom(int row, byte[] address) {
+        return regionMatches(from, row * Address20.LENGTH, address);
+    }
+
+    // The column accessors below expose the backing arrays directly to allow tight scans. They
+    // must not be modified.
+
+    public long[] getBlockNumberColumn() {
+        return blockNumber;
+    }
+
+    public long[] getGasColumn() {
+        return gas;
+    }
+
+    public long[] getGasPriceColumn() {
+        return gasPrice;
+    }
+
+    public byte[] getValueColumn() {
+        return value;
+    }
+
+    public byte[] getFromColumn() {
+        return from;
+    }
+
+    public byte[] getToColumn() {
+        return to;
+    }
+
+    public int[] getSelectorColumn() {
+        return selector;
+    }
+
+    private static boolean regionMatches(byte[] column, int offset, byte[] address) {
+        if (address.length != Address20.LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < Address20.LENGTH; i++) {
+            if (column[offset + i] != address[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseLong(String quantity) {
+        if (quantity == null) {
+            return 0;
+        }
+        long result = 0;
+        for (int i = Numeric.containsHexPrefix(quantity) ? 2 : 0; i < quantity.length(); i++) {
+            if ((result >>> 59) != 0) {
+                return Long.MAX_VALUE;
+            }
+            result = (result << 4) | digit(quantity, i);
+        }
+        return result;
+    }
+
+    private static long parseHex(String hex, int offset, int digits) {
+        long result = 0;
+        for (int i = offset; i < offset + digits; i++) {
+            result = (result << 4) | digit(hex, i);
+        }
+        return result;
+    }
+
+    private static void writeQuantity(String quantity, byte[] dest, int offset, int width) {
+        if (quantity == null) {
+            return;
+        }
+        int start = Numeric.containsHexPrefix(quantity) ? 2 : 0;
+        int position = offset + width - 1;
+        for (int i = quantity.length() - 1; i >= start && position >= offset; i -= 2) {
+            int low = digit(quantity, i);
+            int high = i - 1 >= start ? digit(quantity, i - 1) : 0;
+            dest[position--] = (byte) ((high << 4) | low);
+        }
+    }
+
+    private static int digit(String hex, int index) {
+        int digit = Character.digit(hex.charAt(index), 16);
+        if (digit < 0) {
+            throw new IllegalArgumentException("Invalid hex character in " + hex);
+        }
+        return digit;
+    }
+}
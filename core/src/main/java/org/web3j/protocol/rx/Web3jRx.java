@@ -18,6 +18,7 @@ import io.reactivex.Flowable;
 
 import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.BlockHeader;
 import org.web3j.protocol.core.methods.response.EthBlock;
 import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.protocol.core.methods.response.Transaction;
@@ -35,6 +36,41 @@ public interface Web3jRx {
      */
     Flowable<Log> ethLogFlowable(EthFilter ethFilter);
 
+    /**
+     * Create a {@link Flowable} instance that emits the historic logs matching a filter over its
+     * block range. Unlike {@link #ethLogFlowable(EthFilter)}, no filter is installed on the node.
+     * Instead the range is paged through with eth_getLogs requests, sized to avoid exceeding the
+     * result limits and timeouts imposed by nodes.
+     *
+     * @param ethFilter filter to match, with the block range to replay
+     * @return a {@link Flowable} instance to emit the matching logs in block order
+     */
+    Flowable<Log> replayPastLogsFlowable(EthFilter ethFilter);
+
+    /**
+     * As per {@link #replayPastLogsFlowable(EthFilter)}, with a configurable number of requests in
+     * flight at once. Logs are still emitted in block order.
+     *
+     * @param ethFilter filter to match, with the block range to replay
+     * @param maxConcurrency maximum number of requests in flight at once
+     * @return a {@link Flowable} instance to emit the matching logs in block order
+     */
+    Flowable<Log> replayPastLogsFlowable(EthFilter ethFilter, int maxConcurrency);
+
+    /**
+     * Create a {@link Flowable} instance that emits the historic logs matching a filter over its
+     * block range, without range queries of eth_getLogs. Blocks are requested without transactions,
+     * and logs are only requested for those blocks whose logs Bloom filter may match the filter.
+     * This is well suited to nodes without log indexes, for which eth_getLogs over a range of
+     * blocks is slow.
+     *
+     * @param ethFilter filter to match, with the block range to scan
+     * @param maxConcurrency maximum number of requests in flight at once
+     * @param batchSize number of blocks requested in each JSON-RPC batch request
+     * @return a {@link Flowable} instance to emit the matching logs in block order
+     */
+    Flowable<Log> scanPastLogsFlowable(EthFilter ethFilter, int maxConcurrency, int batchSize);
+
     /**
      * Create an Flowable to emit block hashes.
      *
@@ -67,6 +103,18 @@ public interface Web3jRx {
      */
     Flowable<Transaction> pendingTransactionFlowable();
 
+    /**
+     * As per {@link #pendingTransactionFlowable()}, with control over how pending transaction
+     * hashes are resolved. Hashes are resolved together in JSON-RPC batches of up to the given
+     * size, with each hash held for at most the given delay awaiting a full batch. Hashes which
+     * have been seen recently are not resolved again.
+     *
+     * @param batchSize maximum number of transactions resolved in a single batch request
+     * @param maxBatchDelay maximum time in milliseconds to wait for a full batch
+     * @return a {@link Flowable} instance to emit pending transactions
+     */
+    Flowable<Transaction> pendingTransactionFlowable(int batchSize, long maxBatchDelay);
+
     /**
      * Create an {@link Flowable} instance that emits newly created blocks on the blockchain.
      *
@@ -77,6 +125,64 @@ public interface Web3jRx {
      */
     Flowable<EthBlock> blockFlowable(boolean fullTransactionObjects);
 
+    /**
+     * Create an {@link Flowable} instance that emits the headers of newly created blocks. Only the
+     * block number, hash, parent hash and timestamp are decoded, making this considerably cheaper
+     * than {@link #blockFlowable(boolean)} for tracking the head of the chain.
+     *
+     * <p>WebSocket services are backed by a newHeads subscription. Other services poll for the
+     * latest block, requesting any blocks skipped between polls by number.
+     *
+     * @return a {@link Flowable} instance that emits new block headers
+     */
+    Flowable<BlockHeader> blockHeaderFlowable();
+
+    /**
+     * Create a {@link Flowable} instance that emits newly created blocks together with the receipts
+     * of all of their transactions. All receipts of a block are requested together, using a bulk
+     * method such as eth_getBlockReceipts where the client supports one, and otherwise a JSON-RPC
+     * batch.
+     *
+     * @return a {@link Flowable} instance to emit new blocks with their receipts
+     */
+    Flowable<BlockReceipts> blockReceiptsFlowable();
+
+    /**
+     * As per {@link #blockReceiptsFlowable()}, for the blocks contained within the requested range.
+     *
+     * @param startBlock block number to commence with
+     * @param endBlock block number to finish with
+     * @return a {@link Flowable} instance to emit these blocks with their receipts
+     */
+    Flowable<BlockReceipts> replayPastBlockReceiptsFlowable(
+            DefaultBlockParameter startBlock, DefaultBlockParameter endBlock);
+
+    /**
+     * Create a {@link Flowable} instance that follows the canonical chain, detecting chain
+     * reorganisations. A {@link ChainEvent.BlockAdded} event is emitted as each block joins the
+     * canonical chain, and a {@link ChainEvent.BlockRemoved} event for each previously added block
+     * which a reorganisation removes from it.
+     *
+     * @param fullTransactionObjects if true, provides transactions embedded in blocks, otherwise
+     *     transaction hashes
+     * @param confirmations the number of blocks which must be built on a block before it is added,
+     *     or zero to add blocks as soon as they are seen
+     * @return a {@link Flowable} instance to emit changes to the canonical chain
+     */
+    Flowable<ChainEvent> canonicalBlockFlowable(boolean fullTransactionObjects, int confirmations);
+
+    /**
+     * Create a {@link Flowable} instance that emits the logs matching a filter from blocks as they
+     * join the canonical chain. If a reorganisation removes a block, its logs are emitted again
+     * with {@link Log#isRemoved()} set.
+     *
+     * @param ethFilter filter to match, with any block range ignored
+     * @param confirmations the number of blocks which must be built on a block before its logs are
+     *     emitted
+     * @return a {@link Flowable} instance to emit matching logs
+     */
+    Flowable<Log> canonicalLogFlowable(EthFilter ethFilter, int confirmations);
+
     /**
      * Create an {@link Flowable} instance that emits all blocks from the blockchain contained
      * within the requested range.
@@ -110,6 +216,30 @@ public interface Web3jRx {
             boolean fullTransactionObjects,
             boolean ascending);
 
+    /**
+     * As per {@link #replayPastBlocksFlowable(DefaultBlockParameter, DefaultBlockParameter,
+     * boolean, boolean)}, except that blocks are requested concurrently. Blocks are still emitted
+     * in strict block order.
+     *
+     * @param startBlock block number to commence with
+     * @param endBlock block number to finish with
+     * @param fullTransactionObjects if true, provides transactions embedded in blocks, otherwise
+     *     transaction hashes
+     * @param ascending if true, emits blocks in ascending order between range, otherwise in
+     *     descending order
+     * @param maxConcurrency maximum number of requests in flight at once
+     * @param batchSize number of blocks requested in each JSON-RPC batch request, or 1 to request
+     *     each block individually
+     * @return a {@link Flowable} instance to emit these blocks
+     */
+    Flowable<EthBlock> replayPastBlocksFlowable(
+            DefaultBlockParameter startBlock,
+            DefaultBlockParameter endBlock,
+            boolean fullTransactionObjects,
+            boolean ascending,
+            int maxConcurrency,
+            int batchSize);
+
     /**
      * Create a {@link Flowable} instance that emits all transactions from the blockchain starting
      * with a provided block number. Once it has replayed up to the most current block, the provided
@@ -154,6 +284,19 @@ public interface Web3jRx {
     Flowable<Transaction> replayPastTransactionsFlowable(
             DefaultBlockParameter startBlock, DefaultBlockParameter endBlock);
 
+    /**
+     * Create a {@link Flowable} instance that emits the transactions contained within the requested
+     * range of blocks in columnar batches, for analytical workloads which scan only a few fields of
+     * a large number of transactions.
+     *
+     * @param startBlock block number to commence with
+     * @param endBlock block number to finish with
+     * @param blocksPerBatch number of blocks decoded into each batch
+     * @return a {@link Flowable} instance to emit batches of transactions in block order
+     */
+    Flowable<TransactionColumns> replayPastTransactionColumnsFlowable(
+            DefaultBlockParameter startBlock, DefaultBlockParameter endBlock, int blocksPerBatch);
+
     /**
      * Creates a {@link Flowable} instance that emits all transactions from the requested block
      * number to the most current. Once it has emitted the most current block's transactions,
@@ -16,7 +16,9 @@ import java.io.IOException;
 import java.net.ConnectException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -24,6 +26,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -36,6 +39,8 @@ import org.slf4j.LoggerFactory;
 
 import org.web3j.protocol.ObjectMapperFactory;
 import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.Response;
 import org.web3j.protocol.core.methods.response.EthSubscribe;
@@ -166,6 +171,41 @@ public class WebSocketService implements Web3jService {
         return result;
     }
 
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        try {
+            return sendBatchAsync(batchRequest).get();
+        } catch (InterruptedException e) {
+            Thread.interrupted();
+            throw new IOException("Interrupted WebSocket request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            throw new RuntimeException("Unexpected exception", e.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        // Requests are pipelined over the open connection rather than sent as a single batch
+        // message, as replies are already matched to requests by id
+        List<CompletableFuture<? extends Response<?>>> replies = new ArrayList<>();
+        for (Request<?, ? extends Response<?>> request : batchRequest.getRequests()) {
+            replies.add(sendAsync(request, request.getResponseType()));
+        }
+
+        return CompletableFuture.allOf(replies.toArray(new CompletableFuture<?>[0]))
+                .thenApply(
+                        ignored ->
+                                new BatchResponse(
+                                        batchRequest.getRequests(),
+                                        replies.stream()
+                                                .map(CompletableFuture::join)
+                                                .collect(Collectors.toList())));
+    }
+
     private void sendRequest(Request request, long requestId) throws JsonProcessingException {
         String payload = objectMapper.writeValueAsString(request);
         log.debug("Sending request: {}", payload);
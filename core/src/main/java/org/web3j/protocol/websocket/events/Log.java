@@ -15,6 +15,7 @@ package org.web3j.protocol.websocket.events;
 import java.util.List;
 
 public class Log {
+    private boolean removed;
     private String address;
     private String blockHash;
     private String blockNumber;
@@ -24,6 +25,10 @@ public class Log {
     private String transactionHash;
     private String transactionIndex;
 
+    public boolean isRemoved() {
+        return removed;
+    }
+
     public String getAddress() {
         return address;
     }
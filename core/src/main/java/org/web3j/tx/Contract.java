@@ -22,6 +22,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import org.web3j.abi.EventEncoder;
@@ -38,13 +40,16 @@ import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.DefaultBlockParameterName;
 import org.web3j.protocol.core.RemoteCall;
+import org.web3j.protocol.core.methods.request.Transaction;
 import org.web3j.protocol.core.methods.response.EthGetCode;
 import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
 import org.web3j.tx.exceptions.ContractCallException;
 import org.web3j.tx.gas.ContractGasProvider;
+import org.web3j.tx.gas.EstimatingGasProvider;
 import org.web3j.tx.gas.StaticGasProvider;
+import org.web3j.utils.Async;
 import org.web3j.utils.Numeric;
 
 /**
@@ -339,19 +344,71 @@ public abstract class Contract extends ManagedTransaction {
                         data,
                         weiValue,
                         gasProvider.getGasPrice(funcName),
-                        gasProvider.getGasLimit(funcName));
+                        getGasLimit(data, weiValue, funcName));
 
         if (!receipt.isStatusOK()) {
-            throw new TransactionException(
-                    String.format(
-                            "Transaction has failed with status: %s. "
-                                    + "Gas used: %d. (not-enough gas?)",
-                            receipt.getStatus(), receipt.getGasUsed()));
+            throw statusFailure(receipt);
         }
 
         return receipt;
     }
 
+    /**
+     * Execute a transaction without blocking a thread while waiting for its receipt.
+     *
+     * @param data to send in transaction
+     * @param weiValue in Wei to send in transaction
+     * @param funcName the name of the function, to obtain its gas price and limit
+     * @return a future completed with the receipt, or exceptionally with a {@link
+     *     TransactionException} if the transaction failed
+     */
+    CompletableFuture<TransactionReceipt> executeTransactionAsync(
+            String data, BigInteger weiValue, String funcName) {
+
+        // the gas provider may call the node, so it is not called on the calling thread
+        return Async.run(() -> gasProvider.getGasPrice(funcName))
+                .thenCompose(
+                        gasPrice ->
+                                sendAsync(
+                                        contractAddress,
+                                        data,
+                                        weiValue,
+                                        gasPrice,
+                                        getGasLimit(data, weiValue, funcName)))
+                .thenApply(
+                        receipt -> {
+                            if (!receipt.isStatusOK()) {
+                                throw new CompletionException(statusFailure(receipt));
+                            }
+                            return receipt;
+                        });
+    }
+
+    private BigInteger getGasLimit(String data, BigInteger weiValue, String funcName) {
+        if (gasProvider instanceof EstimatingGasProvider) {
+            return ((EstimatingGasProvider) gasProvider)
+                    .getGasLimit(
+                            funcName,
+                            Transaction.createFunctionCallTransaction(
+                                    transactionManager.getFromAddress(),
+                                    null,
+                                    null,
+                                    null,
+                                    contractAddress,
+                                    weiValue,
+                                    data));
+        }
+        return gasProvider.getGasLimit(funcName);
+    }
+
+    private static TransactionException statusFailure(TransactionReceipt receipt) {
+        return new TransactionException(
+                String.format(
+                        "Transaction has failed with status: %s. "
+                                + "Gas used: %d. (not-enough gas?)",
+                        receipt.getStatus(), receipt.getGasUsed()));
+    }
+
     protected <T extends Type> RemoteCall<T> executeRemoteCallSingleValueReturn(Function function) {
         return new RemoteCall<>(() -> executeCallSingleValueReturn(function));
     }
@@ -366,12 +423,16 @@ public abstract class Contract extends ManagedTransaction {
     }
 
     protected RemoteCall<TransactionReceipt> executeRemoteCallTransaction(Function function) {
-        return new RemoteCall<>(() -> executeTransaction(function));
+        return executeRemoteCallTransaction(function, BigInteger.ZERO);
     }
 
     protected RemoteCall<TransactionReceipt> executeRemoteCallTransaction(
             Function function, BigInteger weiValue) {
-        return new RemoteCall<>(() -> executeTransaction(function, weiValue));
+        return new RemoteCall<>(
+                () -> executeTransaction(function, weiValue),
+                () ->
+                        executeTransactionAsync(
+                                FunctionEncoder.encode(function), weiValue, function.getName()));
     }
 
     private static <T extends Contract> T create(
@@ -688,7 +749,7 @@ public abstract class Contract extends ManagedTransaction {
     }
 
     protected EventValuesWithLog extractEventParametersWithLog(Event event, Log log) {
-        return staticExtractEventParametersWithLog(event,log);
+        return staticExtractEventParametersWithLog(event, log);
     }
 
     protected static EventValuesWithLog staticExtractEventParametersWithLog(Event event, Log log) {
@@ -14,32 +14,64 @@ package org.web3j.tx;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.tx.response.EmptyTransactionReceipt;
 import org.web3j.tx.response.TransactionReceiptProcessor;
+import org.web3j.utils.Numeric;
 
 /**
  * Simple RawTransactionManager derivative that manages nonces to facilitate multiple transactions
  * per block.
+ *
+ * <p>Nonces are allocated by a {@link NonceManager}, so transactions may be sent concurrently. The
+ * nonce of a transaction which fails to send is reused by the next transaction.
+ *
+ * <p>Signed transactions may be recorded in a {@link TransactionJournal} before they are sent, so
+ * that transactions still pending when the JVM exits can be {@link #recover() recovered}.
  */
 public class FastRawTransactionManager extends RawTransactionManager {
 
-    private volatile BigInteger nonce = BigInteger.valueOf(-1);
+    private static final Logger log = LoggerFactory.getLogger(FastRawTransactionManager.class);
+
+    private final NonceManager nonceManager;
+    private final TransactionJournal transactionJournal;
 
     public FastRawTransactionManager(Web3j web3j, Credentials credentials, byte chainId) {
         super(web3j, credentials, chainId);
+        this.nonceManager = new NonceManager(web3j, credentials.getAddress());
+        this.transactionJournal = null;
     }
 
     public FastRawTransactionManager(Web3j web3j, Credentials credentials) {
         super(web3j, credentials);
+        this.nonceManager = new NonceManager(web3j, credentials.getAddress());
+        this.transactionJournal = null;
     }
 
     public FastRawTransactionManager(
             Web3j web3j,
             Credentials credentials,
             TransactionReceiptProcessor transactionReceiptProcessor) {
-        super(web3j, credentials, ChainId.NONE, transactionReceiptProcessor);
+        this(web3j, credentials, ChainId.NONE, transactionReceiptProcessor);
     }
 
     public FastRawTransactionManager(
@@ -47,29 +79,235 @@ public class FastRawTransactionManager extends RawTransactionManager {
             Credentials credentials,
             byte chainId,
             TransactionReceiptProcessor transactionReceiptProcessor) {
+        this(
+                web3j,
+                credentials,
+                chainId,
+                transactionReceiptProcessor,
+                new NonceManager(web3j, credentials.getAddress()));
+    }
+
+    /**
+     * Create a transaction manager allocating nonces from a nonce manager shared with other
+     * transaction managers for the same account.
+     *
+     * @param web3j web3j instance
+     * @param credentials the account credentials
+     * @param chainId the chain id
+     * @param transactionReceiptProcessor the receipt processor
+     * @param nonceManager the nonce manager for the account
+     */
+    public FastRawTransactionManager(
+            Web3j web3j,
+            Credentials credentials,
+            long chainId,
+            TransactionReceiptProcessor transactionReceiptProcessor,
+            NonceManager nonceManager) {
+        this(web3j, credentials, chainId, transactionReceiptProcessor, nonceManager, null);
+    }
+
+    /**
+     * Create a transaction manager recording the transactions it sends in a journal.
+     *
+     * @param web3j web3j instance
+     * @param credentials the account credentials
+     * @param chainId the chain id
+     * @param transactionReceiptProcessor the receipt processor
+     * @param nonceManager the nonce manager for the account
+     * @param transactionJournal the journal of the account, or null to not journal transactions
+     */
+    public FastRawTransactionManager(
+            Web3j web3j,
+            Credentials credentials,
+            long chainId,
+            TransactionReceiptProcessor transactionReceiptProcessor,
+            NonceManager nonceManager,
+            TransactionJournal transactionJournal) {
         super(web3j, credentials, chainId, transactionReceiptProcessor);
+        this.nonceManager = nonceManager;
+        this.transactionJournal = transactionJournal;
+
+        if (transactionJournal != null) {
+            // receipts are not available to the journal when using a queuing processor, so entries
+            // are also confirmed from the mined transaction count when nonces are reconciled
+            nonceManager.addReconcileListener(transactionJournal::confirmedBelow);
+        }
+    }
+
+    @Override
+    protected BigInteger getNonce() throws IOException {
+        return nonceManager.reserve();
     }
 
     @Override
-    protected synchronized BigInteger getNonce() throws IOException {
-        if (nonce.signum() == -1) {
-            // obtain lock
-            nonce = super.getNonce();
+    public EthSendTransaction sendTransaction(
+            BigInteger gasPrice, BigInteger gasLimit, String to, String data, BigInteger value)
+            throws IOException {
+
+        BigInteger nonce = getNonce();
+
+        RawTransaction rawTransaction =
+                RawTransaction.createTransaction(nonce, gasPrice, gasLimit, to, value, data);
+
+        EthSendTransaction ethSendTransaction;
+        try {
+            ethSendTransaction = signAndSend(rawTransaction);
+        } catch (IOException | RuntimeException e) {
+            releaseNonce(nonce);
+            throw e;
+        }
+
+        if (ethSendTransaction == null || ethSendTransaction.hasError()) {
+            releaseNonce(nonce);
         } else {
-            nonce = nonce.add(BigInteger.ONE);
+            nonceManager.confirm(nonce);
         }
-        return nonce;
+        return ethSendTransaction;
+    }
+
+    @Override
+    public EthSendTransaction signAndSend(RawTransaction rawTransaction) throws IOException {
+        if (transactionJournal == null) {
+            return super.signAndSend(rawTransaction);
+        }
+
+        byte[] signedMessage = signMessage(rawTransaction);
+        String transactionHash = Numeric.toHexString(Hash.sha3(signedMessage));
+        transactionJournal.sent(
+                rawTransaction.getNonce(), transactionHash, Numeric.toHexString(signedMessage));
+
+        // should sending fail without a response, the node may still have received the
+        // transaction, so it remains pending until recovery checks the transaction count
+        EthSendTransaction ethSendTransaction = send(signedMessage);
+        if (ethSendTransaction == null || ethSendTransaction.hasError()) {
+            transactionJournal.failed(transactionHash);
+        }
+        return ethSendTransaction;
+    }
+
+    @Override
+    protected TransactionReceipt executeTransaction(
+            BigInteger gasPrice, BigInteger gasLimit, String to, String data, BigInteger value)
+            throws IOException, TransactionException {
+        return journalReceipt(super.executeTransaction(gasPrice, gasLimit, to, data, value));
+    }
+
+    @Override
+    protected CompletableFuture<TransactionReceipt> executeTransactionAsync(
+            BigInteger gasPrice, BigInteger gasLimit, String to, String data, BigInteger value) {
+        return super.executeTransactionAsync(gasPrice, gasLimit, to, data, value)
+                .thenApply(this::journalReceipt);
+    }
+
+    /**
+     * Recover the transactions pending in the journal, typically after a restart.
+     *
+     * <p>The transaction count of the account is obtained once. Journaled transactions whose nonces
+     * have since been used are confirmed, and the others are rebroadcast in a single batch and
+     * passed to the receipt processor. Nonces are then allocated following both the transaction
+     * count and the nonces of the pending transactions.
+     *
+     * @return futures of the receipts of the rebroadcast transactions, by transaction hash
+     * @throws IOException if the transaction count could not be obtained or the transactions could
+     *     not be rebroadcast
+     */
+    public Map<String, CompletableFuture<TransactionReceipt>> recover() throws IOException {
+        if (transactionJournal == null) {
+            throw new IllegalStateException("No transaction journal configured");
+        }
+
+        EthGetTransactionCount ethGetTransactionCount =
+                web3j.ethGetTransactionCount(getFromAddress(), DefaultBlockParameterName.LATEST)
+                        .send();
+        if (ethGetTransactionCount.hasError()) {
+            throw new IOException(
+                    "Unable to obtain transaction count: "
+                            + ethGetTransactionCount.getError().getMessage());
+        }
+        BigInteger transactionCount = ethGetTransactionCount.getTransactionCount();
+
+        List<TransactionJournal.Entry> pending = new ArrayList<>();
+        BatchRequest batchRequest = web3j.newBatch();
+        for (TransactionJournal.Entry entry : transactionJournal.getPendingTransactions()) {
+            if (entry.getNonce().compareTo(transactionCount) < 0) {
+                transactionJournal.confirmed(entry.getTransactionHash());
+            } else {
+                pending.add(entry);
+                batchRequest.add(web3j.ethSendRawTransaction(entry.getSignedTransaction()));
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            BatchResponse batchResponse = batchRequest.send();
+            for (int i = 0; i < pending.size(); i++) {
+                EthSendTransaction ethSendTransaction =
+                        batchResponse.getResponse(i, EthSendTransaction.class);
+                // the node may still hold the transaction, so it remains pending regardless
+                if (ethSendTransaction.hasError()) {
+                    log.info(
+                            "Rebroadcast of transaction {} returned: {}",
+                            pending.get(i).getTransactionHash(),
+                            ethSendTransaction.getError().getMessage());
+                }
+            }
+        }
+
+        nonceManager.reset(transactionCount.max(transactionJournal.getNextNonce()));
+
+        Map<String, CompletableFuture<TransactionReceipt>> receipts = new LinkedHashMap<>();
+        for (TransactionJournal.Entry entry : pending) {
+            String transactionHash = entry.getTransactionHash();
+            receipts.put(
+                    transactionHash,
+                    getTransactionReceiptProcessor()
+                            .waitForTransactionReceiptAsync(transactionHash)
+                            .thenApply(this::journalReceipt));
+        }
+        return receipts;
+    }
+
+    private TransactionReceipt journalReceipt(TransactionReceipt transactionReceipt) {
+        // queuing processors return before the receipt is available
+        if (transactionJournal != null
+                && !(transactionReceipt instanceof EmptyTransactionReceipt)) {
+            transactionJournal.confirmed(transactionReceipt.getTransactionHash());
+        }
+        return transactionReceipt;
+    }
+
+    private void releaseNonce(BigInteger nonce) {
+        nonceManager.release(nonce);
+        try {
+            // the node may have rejected the nonce itself, for instance if it was already used
+            nonceManager.reconcile();
+        } catch (IOException e) {
+            // the nonce is reconciled again as further nonces are reserved
+        }
+    }
+
+    public NonceManager getNonceManager() {
+        return nonceManager;
+    }
+
+    public TransactionJournal getTransactionJournal() {
+        return transactionJournal;
     }
 
+    /**
+     * Returns the most recently allocated nonce.
+     *
+     * @return the nonce, or -1 if no nonce has been allocated yet
+     */
     public BigInteger getCurrentNonce() {
-        return nonce;
+        BigInteger next = nonceManager.getNextNonce();
+        return next.signum() == -1 ? next : next.subtract(BigInteger.ONE);
     }
 
-    public synchronized void resetNonce() throws IOException {
-        nonce = super.getNonce();
+    public void resetNonce() throws IOException {
+        nonceManager.reset();
     }
 
-    public synchronized void setNonce(BigInteger value) {
-        nonce = value;
+    public void setNonce(BigInteger value) {
+        nonceManager.reset(value.add(BigInteger.ONE));
     }
 }
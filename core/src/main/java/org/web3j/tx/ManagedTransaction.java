@@ -14,6 +14,7 @@ package org.web3j.tx;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
 
 import org.web3j.ens.EnsResolver;
 import org.web3j.protocol.Web3j;
@@ -97,6 +98,12 @@ public abstract class ManagedTransaction {
         return transactionManager.executeTransaction(gasPrice, gasLimit, to, data, value);
     }
 
+    protected CompletableFuture<TransactionReceipt> sendAsync(
+            String to, String data, BigInteger value, BigInteger gasPrice, BigInteger gasLimit) {
+
+        return transactionManager.executeTransactionAsync(gasPrice, gasLimit, to, data, value);
+    }
+
     protected String call(String to, String data, DefaultBlockParameter defaultBlockParameter)
             throws IOException {
 
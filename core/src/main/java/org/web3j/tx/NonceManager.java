@@ -0,0 +1,312 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+
+/**
+ * Allocates nonces for transactions sent concurrently from a single address.
+ *
+ * <p>Nonces are reserved without contending with each other, and only wait on a lock while the
+ * allocator is being reconciled. Once a transaction has been sent, its nonce should be {@link
+ * #confirm(BigInteger) confirmed}. If sending fails, its nonce should be {@link
+ * #release(BigInteger) released}, and it is then reused by the next reservation, so that the
+ * account is not left with a gap in its nonces.
+ *
+ * <p>The allocator is periodically reconciled against the pending transaction count of the account
+ * on the node. This accounts for transactions sent from elsewhere, and detects confirmed
+ * transactions which the node has dropped, along with nonces which were allocated but are neither
+ * reserved nor confirmed. These nonces are then reused.
+ *
+ * <p>A single instance should be shared by all senders for an address.
+ */
+public class NonceManager {
+
+    private static final Logger log = LoggerFactory.getLogger(NonceManager.class);
+
+    public static final long DEFAULT_RECONCILE_INTERVAL = 15 * 1000;
+
+    private final Web3j web3j;
+    private final String address;
+    private final long reconcileInterval;
+
+    // the next nonce never reserved, or -1 until obtained from the node
+    private final AtomicLong next = new AtomicLong(-1);
+    private final Set<Long> reserved = ConcurrentHashMap.newKeySet();
+    private final ConcurrentSkipListSet<Long> released = new ConcurrentSkipListSet<>();
+    // nonces of sent transactions which the node may not have counted yet
+    private final ConcurrentSkipListSet<Long> confirmed = new ConcurrentSkipListSet<>();
+
+    // held shared while nonces move between the sets above, and exclusively while reconciling
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+    private final List<Consumer<BigInteger>> reconcileListeners = new CopyOnWriteArrayList<>();
+    private volatile long lastReconciled;
+
+    public NonceManager(Web3j web3j, String address) {
+        this(web3j, address, DEFAULT_RECONCILE_INTERVAL);
+    }
+
+    /**
+     * Create a nonce manager.
+     *
+     * @param web3j web3j instance
+     * @param address the account address
+     * @param reconcileInterval the interval in milliseconds at which nonces are reconciled against
+     *     the node, checked as nonces are reserved
+     */
+    public NonceManager(Web3j web3j, String address, long reconcileInterval) {
+        this.web3j = web3j;
+        this.address = address;
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    /**
+     * Reserve a nonce. Released nonces are reused, lowest first, before new nonces are allocated.
+     *
+     * @return the reserved nonce
+     * @throws IOException if the transaction count could not be obtained from the node
+     */
+    public BigInteger reserve() throws IOException {
+        if (next.get() < 0) {
+            initialise();
+        } else if (System.currentTimeMillis() - lastReconciled >= reconcileInterval) {
+            tryReconcile();
+        }
+
+        lock.readLock().lock();
+        try {
+            Long nonce = released.pollFirst();
+            if (nonce == null) {
+                nonce = next.getAndIncrement();
+            }
+            reserved.add(nonce);
+            return BigInteger.valueOf(nonce);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Mark a reserved nonce as used by a transaction accepted by the node.
+     *
+     * @param nonce the nonce of the sent transaction
+     */
+    public void confirm(BigInteger nonce) {
+        long value = nonce.longValueExact();
+        lock.readLock().lock();
+        try {
+            if (reserved.remove(value)) {
+                confirmed.add(value);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Return a reserved nonce whose transaction was not sent, so that it is reused.
+     *
+     * @param nonce the nonce of the transaction which failed to send
+     */
+    public void release(BigInteger nonce) {
+        long value = nonce.longValueExact();
+        lock.readLock().lock();
+        try {
+            if (reserved.remove(value) && !next.compareAndSet(value + 1, value)) {
+                released.add(value);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reconcile against the pending transaction count of the account on the node.
+     *
+     * <p>Nonces used by transactions sent from elsewhere are skipped. If the node is missing a
+     * transaction at a nonce which was confirmed before the transaction count was requested, that
+     * transaction has been dropped and its nonce is reused. Nonces from the transaction count
+     * onwards which are neither reserved, released nor confirmed are also reused, so that the
+     * account is not left with a gap.
+     *
+     * @throws IOException if the transaction count could not be obtained from the node
+     */
+    public synchronized void reconcile() throws IOException {
+        // a nonce confirmed while the count is requested may not have been counted by the node
+        Set<Long> confirmedBefore = new HashSet<>(confirmed);
+        long pending;
+        BigInteger mined = null;
+        if (reconcileListeners.isEmpty()) {
+            pending = getTransactionCount();
+        } else {
+            // the mined count is only required by listeners, and is requested in the same batch
+            BatchResponse batchResponse =
+                    web3j.newBatch()
+                            .add(
+                                    web3j.ethGetTransactionCount(
+                                            address, DefaultBlockParameterName.PENDING))
+                            .add(
+                                    web3j.ethGetTransactionCount(
+                                            address, DefaultBlockParameterName.LATEST))
+                            .send();
+            pending =
+                    toTransactionCount(batchResponse.getResponse(0, EthGetTransactionCount.class))
+                            .longValueExact();
+            mined = toTransactionCount(batchResponse.getResponse(1, EthGetTransactionCount.class));
+        }
+
+        lock.writeLock().lock();
+        try {
+            lastReconciled = System.currentTimeMillis();
+
+            long limit = next.accumulateAndGet(pending, Math::max);
+            released.headSet(pending).clear();
+            confirmed.headSet(pending).clear();
+
+            // the pending count is the first nonce the node has no transaction for
+            if (confirmedBefore.contains(pending) && confirmed.remove(pending)) {
+                log.warn(
+                        "Transaction with nonce {} from {} was dropped, reusing nonce",
+                        pending,
+                        address);
+                released.add(pending);
+            }
+
+            for (long nonce = pending; nonce < limit; nonce++) {
+                if (!reserved.contains(nonce)
+                        && !released.contains(nonce)
+                        && !confirmed.contains(nonce)) {
+                    log.warn("Nonce {} from {} was never used, reusing nonce", nonce, address);
+                    released.add(nonce);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        for (Consumer<BigInteger> listener : reconcileListeners) {
+            listener.accept(mined);
+        }
+    }
+
+    /**
+     * Register a listener notified of the mined transaction count of the account, at the latest
+     * block, whenever nonces are reconciled. Unlike the pending transaction count nonces are
+     * allocated from, it does not include transactions which are still in the transaction pool.
+     * Once a listener is registered, the mined count is requested in the same batch as the pending
+     * count.
+     *
+     * @param listener the listener
+     */
+    public void addReconcileListener(Consumer<BigInteger> listener) {
+        reconcileListeners.add(listener);
+    }
+
+    /**
+     * Discard all reservations and start allocating from the node's pending transaction count.
+     *
+     * @throws IOException if the transaction count could not be obtained from the node
+     */
+    public synchronized void reset() throws IOException {
+        reset(BigInteger.valueOf(getTransactionCount()));
+    }
+
+    /**
+     * Discard all reservations and start allocating from the provided nonce.
+     *
+     * @param nextNonce the next nonce to reserve
+     */
+    public synchronized void reset(BigInteger nextNonce) {
+        lock.writeLock().lock();
+        try {
+            reserved.clear();
+            released.clear();
+            confirmed.clear();
+            next.set(nextNonce.longValueExact());
+            lastReconciled = System.currentTimeMillis();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the next nonce which has not been reserved yet, ignoring released nonces.
+     *
+     * @return the next nonce, or -1 if no nonce has been reserved yet
+     */
+    public BigInteger getNextNonce() {
+        return BigInteger.valueOf(next.get());
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    private synchronized void initialise() throws IOException {
+        if (next.get() < 0) {
+            reset();
+        }
+    }
+
+    private void tryReconcile() {
+        // only one thread reconciles, the others carry on reserving
+        if (reconciling.compareAndSet(false, true)) {
+            try {
+                reconcile();
+            } catch (IOException e) {
+                lastReconciled = System.currentTimeMillis();
+                log.warn("Unable to reconcile nonces for " + address, e);
+            } finally {
+                reconciling.set(false);
+            }
+        }
+    }
+
+    private long getTransactionCount() throws IOException {
+        return toTransactionCount(
+                        web3j.ethGetTransactionCount(address, DefaultBlockParameterName.PENDING)
+                                .send())
+                .longValueExact();
+    }
+
+    private static BigInteger toTransactionCount(EthGetTransactionCount ethGetTransactionCount)
+            throws IOException {
+        if (ethGetTransactionCount.hasError()) {
+            throw new IOException(
+                    "Unable to obtain transaction count: "
+                            + ethGetTransactionCount.getError().getMessage());
+        }
+        return ethGetTransactionCount.getTransactionCount();
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthGetBalance;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.tx.response.EmptyTransactionReceipt;
+import org.web3j.tx.response.PollingTransactionReceiptProcessor;
+import org.web3j.tx.response.TransactionReceiptProcessor;
+import org.web3j.utils.Async;
+
+/**
+ * Transaction manager which spreads transactions across a pool of accounts.
+ *
+ * <p>Transactions from a single account are limited by its strictly ordered nonces. Sending from
+ * several accounts allows transactions to be processed in parallel. Each account allocates its own
+ * nonces via a {@link FastRawTransactionManager}.
+ *
+ * <p>Transactions are assigned to accounts either in turn, or to the account with the fewest
+ * pending transactions. A transaction is pending from when it is sent until its receipt has been
+ * obtained by {@link #executeTransaction}. Callers processing receipts themselves should report
+ * them via {@link #transactionCompleted(String)}.
+ *
+ * <p>Account balances can be checked with {@link #checkBalances()}, which invokes a {@link TopUp}
+ * callback for accounts below a minimum balance. Such accounts are not assigned transactions until
+ * a later check finds them funded, unless all accounts are below the minimum.
+ *
+ * <p>Calls are made from the first account in the pool, which is also reported as the from address
+ * of this transaction manager.
+ */
+public class PooledTransactionManager extends TransactionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(PooledTransactionManager.class);
+
+    /** How transactions are assigned to accounts. */
+    public enum Assignment {
+        ROUND_ROBIN,
+        LEAST_PENDING
+    }
+
+    /** Callback to fund an account whose balance has fallen below the minimum. */
+    public interface TopUp {
+        void topUp(String address, BigInteger balance) throws IOException;
+    }
+
+    private final Web3j web3j;
+    private final List<Account> accounts;
+    private final Assignment assignment;
+    private final TransactionReceiptProcessor transactionReceiptProcessor;
+
+    private final AtomicInteger counter = new AtomicInteger();
+    private final Map<String, Account> pendingTransactions = new ConcurrentHashMap<>();
+
+    private volatile BigInteger minimumBalance = BigInteger.ZERO;
+    private volatile TopUp topUp;
+
+    public PooledTransactionManager(
+            Web3j web3j, List<Credentials> credentials, long chainId, Assignment assignment) {
+        this(
+                web3j,
+                credentials,
+                chainId,
+                assignment,
+                new PollingTransactionReceiptProcessor(
+                        web3j, DEFAULT_POLLING_FREQUENCY, DEFAULT_POLLING_ATTEMPTS_PER_TX_HASH));
+    }
+
+    public PooledTransactionManager(
+            Web3j web3j,
+            List<Credentials> credentials,
+            long chainId,
+            Assignment assignment,
+            TransactionReceiptProcessor transactionReceiptProcessor) {
+        super(transactionReceiptProcessor, firstAddress(credentials));
+        this.web3j = web3j;
+        this.assignment = assignment;
+        this.transactionReceiptProcessor = transactionReceiptProcessor;
+
+        List<Account> accounts = new ArrayList<>(credentials.size());
+        for (Credentials account : credentials) {
+            accounts.add(
+                    new Account(
+                            new FastRawTransactionManager(
+                                    web3j,
+                                    account,
+                                    chainId,
+                                    transactionReceiptProcessor,
+                                    new NonceManager(web3j, account.getAddress()))));
+        }
+        this.accounts = Collections.unmodifiableList(accounts);
+    }
+
+    private static String firstAddress(List<Credentials> credentials) {
+        if (credentials.isEmpty()) {
+            throw new IllegalArgumentException("At least one account must be provided");
+        }
+        return credentials.get(0).getAddress();
+    }
+
+    @Override
+    protected TransactionReceipt executeTransaction(
+            BigInteger gasPrice, BigInteger gasLimit, String to, String data, BigInteger value)
+            throws IOException, TransactionException {
+
+        EthSendTransaction ethSendTransaction =
+                sendTransaction(gasPrice, gasLimit, to, data, value);
+        checkResponse(ethSendTransaction);
+
+        String transactionHash = ethSendTransaction.getTransactionHash();
+        TransactionReceipt transactionReceipt = null;
+        try {
+            transactionReceipt =
+                    transactionReceiptProcessor.waitForTransactionReceipt(transactionHash);
+            return transactionReceipt;
+        } finally {
+            // queuing processors return before the receipt is available
+            if (!(transactionReceipt instanceof EmptyTransactionReceipt)) {
+                transactionCompleted(transactionHash);
+            }
+        }
+    }
+
+    @Override
+    protected CompletableFuture<TransactionReceipt> executeTransactionAsync(
+            BigInteger gasPrice, BigInteger gasLimit, String to, String data, BigInteger value) {
+        return Async.run(() -> sendTransaction(gasPrice, gasLimit, to, data, value))
+                .thenCompose(
+                        ethSendTransaction -> {
+                            checkResponse(ethSendTransaction);
+                            String transactionHash = ethSendTransaction.getTransactionHash();
+                            return transactionReceiptProcessor
+                                    .waitForTransactionReceiptAsync(transactionHash)
+                                    .whenComplete(
+                                            (transactionReceipt, throwable) -> {
+                                                if (!(transactionReceipt
+                                                        instanceof EmptyTransactionReceipt)) {
+                                                    transactionCompleted(transactionHash);
+                                                }
+                                            });
+                        });
+    }
+
+    @Override
+    public EthSendTransaction sendTransaction(
+            BigInteger gasPrice, BigInteger gasLimit, String to, String data, BigInteger value)
+            throws IOException {
+
+        Account account = nextAccount();
+        account.pending.incrementAndGet();
+
+        EthSendTransaction ethSendTransaction;
+        try {
+            ethSendTransaction =
+                    account.transactionManager.sendTransaction(gasPrice, gasLimit, to, data, value);
+        } catch (IOException | RuntimeException e) {
+            account.pending.decrementAndGet();
+            throw e;
+        }
+
+        if (ethSendTransaction.hasError()) {
+            account.pending.decrementAndGet();
+        } else {
+            pendingTransactions.put(ethSendTransaction.getTransactionHash(), account);
+        }
+        return ethSendTransaction;
+    }
+
+    @Override
+    public String sendCall(String to, String data, DefaultBlockParameter defaultBlockParameter)
+            throws IOException {
+        return accounts.get(0).transactionManager.sendCall(to, data, defaultBlockParameter);
+    }
+
+    /**
+     * Report that a transaction sent by this transaction manager is no longer pending.
+     *
+     * @param transactionHash the hash of the transaction
+     */
+    public void transactionCompleted(String transactionHash) {
+        Account account = pendingTransactions.remove(transactionHash);
+        if (account != null) {
+            account.pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * Set the callback invoked by {@link #checkBalances()} for underfunded accounts.
+     *
+     * @param minimumBalance the balance in wei below which an account is topped up
+     * @param topUp the callback to fund an account
+     */
+    public void setTopUp(BigInteger minimumBalance, TopUp topUp) {
+        this.minimumBalance = minimumBalance;
+        this.topUp = topUp;
+    }
+
+    /**
+     * Request the balances of all accounts in a single batch, topping up those below the minimum
+     * balance.
+     *
+     * @throws IOException if the balances could not be obtained, or an account could not be topped
+     *     up
+     */
+    public void checkBalances() throws IOException {
+        BatchRequest batchRequest = web3j.newBatch();
+        for (Account account : accounts) {
+            batchRequest.add(
+                    web3j.ethGetBalance(account.getAddress(), DefaultBlockParameterName.LATEST));
+        }
+        BatchResponse batchResponse = batchRequest.send();
+
+        for (int i = 0; i < accounts.size(); i++) {
+            Account account = accounts.get(i);
+            EthGetBalance ethGetBalance = batchResponse.getResponse(i, EthGetBalance.class);
+            if (ethGetBalance.hasError()) {
+                log.warn(
+                        "Unable to obtain balance of {}: {}",
+                        account.getAddress(),
+                        ethGetBalance.getError().getMessage());
+                continue;
+            }
+
+            BigInteger balance = ethGetBalance.getBalance();
+            account.lowBalance = balance.compareTo(minimumBalance) < 0;
+            TopUp topUp = this.topUp;
+            if (account.lowBalance && topUp != null) {
+                topUp.topUp(account.getAddress(), balance);
+            }
+        }
+    }
+
+    public List<String> getAddresses() {
+        List<String> addresses = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            addresses.add(account.getAddress());
+        }
+        return addresses;
+    }
+
+    /**
+     * Returns the number of pending transactions sent from an account in the pool.
+     *
+     * @param address the account address
+     * @return the number of pending transactions
+     */
+    public int getPendingCount(String address) {
+        for (Account account : accounts) {
+            if (account.getAddress().equalsIgnoreCase(address)) {
+                return account.pending.get();
+            }
+        }
+        throw new IllegalArgumentException(address + " is not in the pool");
+    }
+
+    /**
+     * Returns the transaction manager used for an account in the pool.
+     *
+     * @param address the account address
+     * @return the transaction manager of the account
+     */
+    public FastRawTransactionManager getTransactionManager(String address) {
+        for (Account account : accounts) {
+            if (account.getAddress().equalsIgnoreCase(address)) {
+                return account.transactionManager;
+            }
+        }
+        throw new IllegalArgumentException(address + " is not in the pool");
+    }
+
+    private Account nextAccount() {
+        List<Account> candidates = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            if (!account.lowBalance) {
+                candidates.add(account);
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates = accounts;
+        }
+
+        // rotating the starting point also spreads ties between least pending accounts
+        int start = counter.getAndIncrement();
+        Account selected = candidates.get(Math.floorMod(start, candidates.size()));
+        if (assignment == Assignment.LEAST_PENDING) {
+            for (int i = 1; i < candidates.size(); i++) {
+                Account account = candidates.get(Math.floorMod(start + i, candidates.size()));
+                if (account.pending.get() < selected.pending.get()) {
+                    selected = account;
+                }
+            }
+        }
+        return selected;
+    }
+
+    private static final class Account {
+        private final FastRawTransactionManager transactionManager;
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean lowBalance;
+
+        private Account(FastRawTransactionManager transactionManager) {
+            this.transactionManager = transactionManager;
+        }
+
+        private String getAddress() {
+            return transactionManager.getFromAddress();
+        }
+    }
+}
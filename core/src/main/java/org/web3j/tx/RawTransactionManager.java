@@ -40,7 +40,7 @@ import org.web3j.utils.TxHashVerifier;
  */
 public class RawTransactionManager extends TransactionManager {
 
-    private final Web3j web3j;
+    final Web3j web3j;
     final Credentials credentials;
 
     private final long chainId;
@@ -133,24 +133,33 @@ public class RawTransactionManager extends TransactionManager {
      * @return The transaction signed and encoded without ever broadcasting it
      */
     public String sign(RawTransaction rawTransaction) {
+        return Numeric.toHexString(signMessage(rawTransaction));
+    }
 
-        byte[] signedMessage;
-
+    /**
+     * Sign a transaction.
+     *
+     * @param rawTransaction the transaction to sign
+     * @return the signed and RLP encoded transaction
+     */
+    public byte[] signMessage(RawTransaction rawTransaction) {
         if (chainId > ChainId.NONE) {
-            signedMessage = TransactionEncoder.signMessage(rawTransaction, chainId, credentials);
+            return TransactionEncoder.signMessage(rawTransaction, chainId, credentials);
         } else {
-            signedMessage = TransactionEncoder.signMessage(rawTransaction, credentials);
+            return TransactionEncoder.signMessage(rawTransaction, credentials);
         }
-
-        return Numeric.toHexString(signedMessage);
     }
 
     public EthSendTransaction signAndSend(RawTransaction rawTransaction) throws IOException {
-        String hexValue = sign(rawTransaction);
-        EthSendTransaction ethSendTransaction = web3j.ethSendRawTransaction(hexValue).send();
+        return send(signMessage(rawTransaction));
+    }
+
+    EthSendTransaction send(byte[] signedMessage) throws IOException {
+        EthSendTransaction ethSendTransaction =
+                web3j.ethSendRawTransaction(Numeric.toHexString(signedMessage)).send();
 
         if (ethSendTransaction != null && !ethSendTransaction.hasError()) {
-            String txHashLocal = Hash.sha3(hexValue);
+            String txHashLocal = Numeric.toHexString(Hash.sha3(signedMessage));
             String txHashRemote = ethSendTransaction.getTransactionHash();
             if (!txHashVerifier.verify(txHashLocal, txHashRemote)) {
                 throw new TxHashMismatchException(txHashLocal, txHashRemote);
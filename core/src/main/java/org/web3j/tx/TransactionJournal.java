@@ -0,0 +1,415 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.utils.Numeric;
+
+/**
+ * Append-only journal of signed transactions and their lifecycle, allowing in-flight transactions
+ * to be recovered after a restart.
+ *
+ * <p>Each record is written as a line prefixed with its CRC32 checksum. A transaction is recorded
+ * as sent before it is broadcast, and this record is synced to disk before {@link #sent(BigInteger,
+ * String, String)} returns. Concurrent senders share a single sync, so the cost of syncing is
+ * spread across all transactions written in the meantime. Transactions which are confirmed or fail
+ * are recorded without syncing, as losing these records only results in the transaction being
+ * rebroadcast on recovery.
+ *
+ * <p>When opened, the journal is replayed to obtain the transactions still pending, skipping any
+ * records torn or corrupted by a crash. The journal is then compacted to hold only these
+ * transactions. It is compacted again whenever it has grown beyond the compaction threshold and is
+ * mostly made up of transactions which are no longer pending.
+ *
+ * <p>See {@link FastRawTransactionManager#recover()} for recovery of the pending transactions.
+ */
+public class TransactionJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionJournal.class);
+
+    private static final String SENT = "SENT";
+    private static final String CONFIRMED = "CONFIRMED";
+    private static final String FAILED = "FAILED";
+
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 1024 * 1024;
+
+    private final Path path;
+    private final long compactionThreshold;
+
+    // the channel is replaced on compaction, which holds both locks
+    private final Object syncLock = new Object();
+    private FileChannel channel;
+
+    // pending transactions by hash, in the order they were sent
+    private final Map<String, Entry> pending = new LinkedHashMap<>();
+    // the size of the records of the pending transactions
+    private long pendingSize;
+    private long size;
+    // the total size of all records appended, which unlike the file size is never reduced
+    private long appended;
+    private long synced;
+
+    public TransactionJournal(Path path) throws IOException {
+        this(path, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Open a journal, replaying and compacting it if it exists.
+     *
+     * @param path the journal file
+     * @param compactionThreshold the size in bytes the journal may reach before it is compacted
+     * @throws IOException if the journal could not be read or written
+     */
+    public TransactionJournal(Path path, long compactionThreshold) throws IOException {
+        this.path = path;
+        this.compactionThreshold = compactionThreshold;
+
+        if (Files.exists(path)) {
+            replay(Files.readAllBytes(path));
+        }
+        compact();
+    }
+
+    /**
+     * Record a signed transaction, before it is broadcast. The record has been synced to disk once
+     * this method returns.
+     *
+     * @param nonce the transaction nonce
+     * @param transactionHash the transaction hash
+     * @param signedTransaction the hex encoded signed transaction
+     * @throws IOException if the record could not be written
+     */
+    public void sent(BigInteger nonce, String transactionHash, String signedTransaction)
+            throws IOException {
+        long position;
+        synchronized (this) {
+            Entry entry = new Entry(nonce, transactionHash, signedTransaction);
+            position = append(entry.encode());
+            add(entry);
+        }
+        sync(position);
+    }
+
+    /**
+     * Record that the nonce of a transaction has been used on chain. All transactions sent with the
+     * same nonce are no longer pending.
+     *
+     * @param transactionHash the transaction hash
+     */
+    public void confirmed(String transactionHash) {
+        complete(CONFIRMED, transactionHash);
+    }
+
+    /**
+     * Record that transactions have been mined for all nonces below the mined transaction count, so
+     * that the transactions sent with these nonces are no longer pending. The pending transaction
+     * count must not be used, as it includes transactions which may still be dropped from the
+     * transaction pool.
+     *
+     * @param transactionCount the transaction count of the account at the latest block
+     */
+    public void confirmedBelow(BigInteger transactionCount) {
+        List<String> transactionHashes = new ArrayList<>();
+        synchronized (this) {
+            for (Entry entry : pending.values()) {
+                if (entry.getNonce().compareTo(transactionCount) < 0) {
+                    transactionHashes.add(entry.getTransactionHash());
+                }
+            }
+        }
+        for (String transactionHash : transactionHashes) {
+            complete(CONFIRMED, transactionHash);
+        }
+    }
+
+    /**
+     * Record that a transaction was rejected, so it is not rebroadcast.
+     *
+     * @param transactionHash the transaction hash
+     */
+    public void failed(String transactionHash) {
+        complete(FAILED, transactionHash);
+    }
+
+    /** Returns the number of transactions which have been sent but not confirmed. */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Returns the transactions which have been sent but not confirmed, in nonce order.
+     *
+     * @return the pending transactions
+     */
+    public synchronized List<Entry> getPendingTransactions() {
+        List<Entry> entries = new ArrayList<>(pending.values());
+        entries.sort(Comparator.comparing(Entry::getNonce));
+        return entries;
+    }
+
+    /**
+     * Returns the nonce following the highest nonce of the pending transactions.
+     *
+     * @return the next nonce, or -1 if no transactions are pending
+     */
+    public synchronized BigInteger getNextNonce() {
+        BigInteger next = BigInteger.valueOf(-1);
+        for (Entry entry : pending.values()) {
+            next = next.max(entry.getNonce().add(BigInteger.ONE));
+        }
+        return next;
+    }
+
+    /**
+     * Sync all records to disk and close the journal.
+     *
+     * @throws IOException if the journal could not be synced
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                try {
+                    channel.force(false);
+                } finally {
+                    channel.close();
+                }
+            }
+        }
+    }
+
+    private void complete(String state, String transactionHash) {
+        synchronized (this) {
+            Entry entry = pending.get(transactionHash.toLowerCase());
+            if (entry == null) {
+                return;
+            }
+            try {
+                append(encode(state, transactionHash));
+            } catch (IOException e) {
+                log.warn("Unable to journal transaction " + transactionHash, e);
+            }
+            remove(state, entry);
+        }
+        compactIfRequired();
+    }
+
+    private void add(Entry entry) {
+        Entry previous = pending.put(entry.getTransactionHash().toLowerCase(), entry);
+        if (previous != null) {
+            pendingSize -= previous.size;
+        }
+        pendingSize += entry.size;
+    }
+
+    private void remove(String state, Entry entry) {
+        if (state.equals(CONFIRMED)) {
+            pending.values()
+                    .removeIf(
+                            e -> {
+                                if (e.getNonce().equals(entry.getNonce())) {
+                                    pendingSize -= e.size;
+                                    return true;
+                                }
+                                return false;
+                            });
+        } else if (pending.remove(entry.getTransactionHash().toLowerCase()) != null) {
+            pendingSize -= entry.size;
+        }
+    }
+
+    private long append(byte[] record) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            // remove a partially written record, so that it does not corrupt the next record
+            channel.truncate(size);
+            throw e;
+        }
+        size += record.length;
+        appended += record.length;
+        return appended;
+    }
+
+    private void sync(long position) throws IOException {
+        synchronized (syncLock) {
+            // another thread may already have synced this record
+            if (synced >= position) {
+                return;
+            }
+            long target;
+            synchronized (this) {
+                target = appended;
+            }
+            channel.force(false);
+            synced = target;
+        }
+    }
+
+    private void compactIfRequired() {
+        synchronized (syncLock) {
+            synchronized (this) {
+                if (size < compactionThreshold || size < 2 * pendingSize) {
+                    return;
+                }
+                try {
+                    compact();
+                } catch (IOException e) {
+                    log.warn("Unable to compact transaction journal " + path, e);
+                }
+            }
+        }
+    }
+
+    private void replay(byte[] bytes) {
+        int start = 0;
+        for (int end = 0; end < bytes.length; end++) {
+            if (bytes[end] == '\n') {
+                String line = new String(bytes, start, end - start, StandardCharsets.US_ASCII);
+                if (!replay(line)) {
+                    log.warn("Skipping corrupt transaction journal record in {}", path);
+                }
+                start = end + 1;
+            }
+        }
+        if (start < bytes.length) {
+            log.warn("Skipping incomplete transaction journal record in {}", path);
+        }
+    }
+
+    private boolean replay(String line) {
+        int separator = line.indexOf(' ');
+        if (separator < 0) {
+            return false;
+        }
+        String record = line.substring(separator + 1);
+        if (!line.substring(0, separator).equals(checksum(record))) {
+            return false;
+        }
+
+        String[] fields = record.split(" ");
+        if (fields[0].equals(SENT) && fields.length == 4) {
+            add(new Entry(Numeric.decodeQuantity(fields[1]), fields[2], fields[3]));
+            return true;
+        } else if ((fields[0].equals(CONFIRMED) || fields[0].equals(FAILED))
+                && fields.length == 2) {
+            Entry entry = pending.get(fields[1].toLowerCase());
+            if (entry != null) {
+                remove(fields[0], entry);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private void compact() throws IOException {
+        Path compacted = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel out =
+                FileChannel.open(
+                        compacted,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Entry entry : pending.values()) {
+                ByteBuffer buffer = ByteBuffer.wrap(entry.encode());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            }
+            out.force(true);
+        }
+        Files.move(
+                compacted,
+                path,
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+
+        FileChannel previous = channel;
+        channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        size = channel.size();
+        // the compacted journal has been synced in full
+        synced = appended;
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    private static byte[] encode(String... fields) {
+        String record = String.join(" ", fields);
+        return (checksum(record) + " " + record + "\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String checksum(String record) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(record.getBytes(StandardCharsets.US_ASCII));
+        return Long.toHexString(crc32.getValue());
+    }
+
+    /** A journaled transaction. */
+    public static class Entry {
+        private final BigInteger nonce;
+        private final String transactionHash;
+        private final String signedTransaction;
+        private final int size;
+
+        Entry(BigInteger nonce, String transactionHash, String signedTransaction) {
+            this.nonce = nonce;
+            this.transactionHash = transactionHash;
+            this.signedTransaction = signedTransaction;
+            this.size = encode().length;
+        }
+
+        private byte[] encode() {
+            return TransactionJournal.encode(
+                    SENT, Numeric.encodeQuantity(nonce), transactionHash, signedTransaction);
+        }
+
+        public BigInteger getNonce() {
+            return nonce;
+        }
+
+        public String getTransactionHash() {
+            return transactionHash;
+        }
+
+        public String getSignedTransaction() {
+            return signedTransaction;
+        }
+    }
+}
@@ -14,6 +14,7 @@ package org.web3j.tx;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
 
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameter;
@@ -22,6 +23,7 @@ import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
 import org.web3j.tx.response.PollingTransactionReceiptProcessor;
 import org.web3j.tx.response.TransactionReceiptProcessor;
+import org.web3j.utils.Async;
 
 import static org.web3j.protocol.core.JsonRpc2_0Web3j.DEFAULT_BLOCK_TIME;
 
@@ -64,6 +66,25 @@ public abstract class TransactionManager {
         return processResponse(ethSendTransaction);
     }
 
+    /**
+     * Execute a transaction without blocking a thread while waiting for its receipt.
+     *
+     * <p>The transaction is sent on a thread of {@link Async}, and the receipt obtained via {@link
+     * TransactionReceiptProcessor#waitForTransactionReceiptAsync(String)}.
+     *
+     * @param gasPrice the gas price
+     * @param gasLimit the gas limit
+     * @param to the recipient
+     * @param data the transaction data
+     * @param value the value in wei
+     * @return a future completed with the transaction receipt
+     */
+    protected CompletableFuture<TransactionReceipt> executeTransactionAsync(
+            BigInteger gasPrice, BigInteger gasLimit, String to, String data, BigInteger value) {
+        return Async.run(() -> sendTransaction(gasPrice, gasLimit, to, data, value))
+                .thenCompose(this::processResponseAsync);
+    }
+
     public abstract EthSendTransaction sendTransaction(
             BigInteger gasPrice, BigInteger gasLimit, String to, String data, BigInteger value)
             throws IOException;
@@ -75,16 +96,33 @@ public abstract class TransactionManager {
         return fromAddress;
     }
 
+    protected TransactionReceiptProcessor getTransactionReceiptProcessor() {
+        return transactionReceiptProcessor;
+    }
+
     private TransactionReceipt processResponse(EthSendTransaction transactionResponse)
             throws IOException, TransactionException {
+        checkResponse(transactionResponse);
+
+        String transactionHash = transactionResponse.getTransactionHash();
+
+        return transactionReceiptProcessor.waitForTransactionReceipt(transactionHash);
+    }
+
+    private CompletableFuture<TransactionReceipt> processResponseAsync(
+            EthSendTransaction transactionResponse) {
+        checkResponse(transactionResponse);
+
+        String transactionHash = transactionResponse.getTransactionHash();
+
+        return transactionReceiptProcessor.waitForTransactionReceiptAsync(transactionHash);
+    }
+
+    static void checkResponse(EthSendTransaction transactionResponse) {
         if (transactionResponse.hasError()) {
             throw new RuntimeException(
                     "Error processing transaction request: "
                             + transactionResponse.getError().getMessage());
         }
-
-        String transactionHash = transactionResponse.getTransactionHash();
-
-        return transactionReceiptProcessor.waitForTransactionReceipt(transactionHash);
     }
 }
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.tx.exceptions.TxHashMismatchException;
+import org.web3j.utils.Numeric;
+
+/**
+ * Signs and sends transactions in bulk.
+ *
+ * <p>Transactions are signed in parallel on an executor, and sent in JSON-RPC batches in nonce
+ * order, a batch being sent once the previous batch has been answered. Transactions signed while a
+ * batch is in flight are sent together in the next batch. The transaction hash is computed from the
+ * signed transaction and verified against the hash returned by the node, as with {@link
+ * RawTransactionManager#signAndSend(RawTransaction)}.
+ *
+ * <p>Transactions should be submitted together with all transactions of lower nonce, for instance
+ * via {@link #submitAll(List)}, as a transaction is sent as soon as all queued transactions of
+ * lower nonce have been sent.
+ *
+ * <p>If a transaction cannot be signed or scheduled, or its batch cannot be sent, the queued
+ * transactions of higher nonce are not sent, and their futures are completed exceptionally with a
+ * {@link TransactionException}, as they could not be mined until the nonce gap is filled. A node
+ * rejecting a transaction in a batch does not prevent transactions of higher nonce being sent, as
+ * these have already been sent in the same batch.
+ */
+public class TransactionPipeline {
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final Web3j web3j;
+    private final RawTransactionManager transactionManager;
+    private final Executor executor;
+    private final int batchSize;
+
+    private final PriorityQueue<Item> queue =
+            new PriorityQueue<>(Comparator.comparing(item -> item.rawTransaction.getNonce()));
+    private final AtomicBoolean sending = new AtomicBoolean();
+
+    public TransactionPipeline(
+            Web3j web3j, RawTransactionManager transactionManager, Executor executor) {
+        this(web3j, transactionManager, executor, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Create a pipeline.
+     *
+     * @param web3j web3j instance
+     * @param transactionManager the transaction manager of the sending account, used to sign
+     *     transactions and verify their hashes
+     * @param executor the executor transactions are signed and sent on
+     * @param batchSize the maximum number of transactions per batch
+     */
+    public TransactionPipeline(
+            Web3j web3j,
+            RawTransactionManager transactionManager,
+            Executor executor,
+            int batchSize) {
+        this.web3j = web3j;
+        this.transactionManager = transactionManager;
+        this.executor = executor;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sign and send a transaction.
+     *
+     * @param rawTransaction the transaction
+     * @return a future completed with the response of the node, or exceptionally if the transaction
+     *     could not be signed or sent
+     */
+    public CompletableFuture<EthSendTransaction> submit(RawTransaction rawTransaction) {
+        Item item = new Item(rawTransaction);
+        synchronized (queue) {
+            queue.add(item);
+        }
+        execute(item);
+        return item.result;
+    }
+
+    /**
+     * Sign and send transactions.
+     *
+     * @param rawTransactions the transactions
+     * @return a future per transaction, in the order provided
+     */
+    public List<CompletableFuture<EthSendTransaction>> submitAll(
+            List<RawTransaction> rawTransactions) {
+        List<Item> items = new ArrayList<>(rawTransactions.size());
+        for (RawTransaction rawTransaction : rawTransactions) {
+            items.add(new Item(rawTransaction));
+        }
+        // queue all transactions before any is signed, so that they are sent in nonce order
+        synchronized (queue) {
+            queue.addAll(items);
+        }
+
+        List<CompletableFuture<EthSendTransaction>> results = new ArrayList<>(items.size());
+        for (Item item : items) {
+            if (!item.result.isDone()) {
+                execute(item);
+            }
+            results.add(item.result);
+        }
+        return results;
+    }
+
+    private void execute(Item item) {
+        try {
+            executor.execute(() -> sign(item));
+        } catch (RejectedExecutionException e) {
+            fail(item, e);
+        }
+    }
+
+    private void sign(Item item) {
+        if (item.result.isDone()) {
+            return;
+        }
+        try {
+            byte[] signedMessage = transactionManager.signMessage(item.rawTransaction);
+            item.signedTransaction = Numeric.toHexString(signedMessage);
+            item.transactionHash = Numeric.toHexString(Hash.sha3(signedMessage));
+        } catch (RuntimeException e) {
+            fail(item, e);
+            return;
+        }
+        item.signed = true;
+        send();
+    }
+
+    /** Fail a transaction, and the queued transactions of higher nonce. */
+    private void fail(Item failed, Throwable cause) {
+        List<Item> dependents = new ArrayList<>();
+        synchronized (queue) {
+            queue.remove(failed);
+            BigInteger nonce = failed.rawTransaction.getNonce();
+            Iterator<Item> iterator = queue.iterator();
+            while (iterator.hasNext()) {
+                Item item = iterator.next();
+                if (item.rawTransaction.getNonce().compareTo(nonce) > 0) {
+                    iterator.remove();
+                    dependents.add(item);
+                }
+            }
+        }
+        failed.result.completeExceptionally(cause);
+        for (Item item : dependents) {
+            item.result.completeExceptionally(
+                    new TransactionException(
+                            "Transaction with nonce "
+                                    + item.rawTransaction.getNonce()
+                                    + " not sent, as transaction with nonce "
+                                    + failed.rawTransaction.getNonce()
+                                    + " failed: "
+                                    + cause.getMessage()));
+        }
+    }
+
+    private void send() {
+        // a single thread sends at a time, so that batches are sent in order
+        while (sending.compareAndSet(false, true)) {
+            try {
+                List<Item> batch;
+                while (!(batch = nextBatch()).isEmpty()) {
+                    send(batch);
+                }
+            } finally {
+                sending.set(false);
+            }
+            if (!isHeadSigned()) {
+                return;
+            }
+        }
+    }
+
+    private List<Item> nextBatch() {
+        List<Item> batch = new ArrayList<>();
+        synchronized (queue) {
+            while (batch.size() < batchSize && !queue.isEmpty() && queue.peek().signed) {
+                Item item = queue.poll();
+                if (!item.result.isDone()) {
+                    batch.add(item);
+                }
+            }
+        }
+        return batch;
+    }
+
+    private boolean isHeadSigned() {
+        synchronized (queue) {
+            return !queue.isEmpty() && queue.peek().signed;
+        }
+    }
+
+    private void send(List<Item> batch) {
+        BatchRequest batchRequest = web3j.newBatch();
+        for (Item item : batch) {
+            batchRequest.add(web3j.ethSendRawTransaction(item.signedTransaction));
+        }
+
+        BatchResponse batchResponse;
+        try {
+            batchResponse = batchRequest.send();
+        } catch (IOException | RuntimeException e) {
+            for (Item item : batch) {
+                fail(item, e);
+            }
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            Item item = batch.get(i);
+            EthSendTransaction ethSendTransaction =
+                    batchResponse.getResponse(i, EthSendTransaction.class);
+            if (!ethSendTransaction.hasError()
+                    && !transactionManager
+                            .getTxHashVerifier()
+                            .verify(
+                                    item.transactionHash,
+                                    ethSendTransaction.getTransactionHash())) {
+                item.result.completeExceptionally(
+                        new TxHashMismatchException(
+                                item.transactionHash, ethSendTransaction.getTransactionHash()));
+            } else {
+                item.result.complete(ethSendTransaction);
+            }
+        }
+    }
+
+    private static final class Item {
+        private final RawTransaction rawTransaction;
+        private final CompletableFuture<EthSendTransaction> result = new CompletableFuture<>();
+        private volatile String signedTransaction;
+        private volatile String transactionHash;
+        private volatile boolean signed;
+
+        private Item(RawTransaction rawTransaction) {
+            this.rawTransaction = rawTransaction;
+        }
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.crypto.RawTransaction;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+
+/**
+ * Replaces transactions which are not mined in time with copies paying a higher gas price.
+ *
+ * <p>Sent transactions are tracked by nonce. Should a transaction not be mined within the
+ * replacement delay, it is re-signed with the same nonce and a gas price increased by the bump
+ * percentage, and broadcast again. Nodes only accept a replacement paying at least 10% more than
+ * the transaction it replaces, so a replacement is always raised by at least this much. The gas
+ * price is not raised beyond a maximum, and a transaction is no longer replaced once the maximum
+ * does not allow such an increase.
+ *
+ * <p>The receipts of all versions of the tracked transactions are requested periodically in a
+ * single batch, along with the transaction count of the account. Whichever version is mined
+ * resolves the future of the transaction. Should the nonce be used without any version having been
+ * mined, the future completes exceptionally.
+ */
+public class TransactionReplacer {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionReplacer.class);
+
+    public static final int DEFAULT_BUMP_PERCENTAGE = 15;
+
+    private static final int MIN_REPLACEMENT_PERCENTAGE = 110;
+
+    private final Web3j web3j;
+    private final RawTransactionManager transactionManager;
+    private final long replaceAfter;
+    private final int bumpPercentage;
+    private final BigInteger maxGasPrice;
+
+    private final Map<BigInteger, TrackedTransaction> transactions = new ConcurrentSkipListMap<>();
+    private final ScheduledFuture<?> schedule;
+
+    public TransactionReplacer(
+            Web3j web3j,
+            RawTransactionManager transactionManager,
+            ScheduledExecutorService scheduledExecutorService,
+            long replaceAfter,
+            BigInteger maxGasPrice) {
+        this(
+                web3j,
+                transactionManager,
+                scheduledExecutorService,
+                TransactionManager.DEFAULT_POLLING_FREQUENCY,
+                replaceAfter,
+                DEFAULT_BUMP_PERCENTAGE,
+                maxGasPrice);
+    }
+
+    /**
+     * Create a transaction replacer.
+     *
+     * @param web3j web3j instance
+     * @param transactionManager the transaction manager of the sending account, used to sign and
+     *     send replacements
+     * @param scheduledExecutorService the executor checks are scheduled on
+     * @param checkInterval the interval in milliseconds between checks of tracked transactions
+     * @param replaceAfter the time in milliseconds after which an unmined transaction is replaced
+     * @param bumpPercentage the percentage by which the gas price of a replacement is raised
+     * @param maxGasPrice the highest gas price paid by a replacement
+     */
+    public TransactionReplacer(
+            Web3j web3j,
+            RawTransactionManager transactionManager,
+            ScheduledExecutorService scheduledExecutorService,
+            long checkInterval,
+            long replaceAfter,
+            int bumpPercentage,
+            BigInteger maxGasPrice) {
+        this.web3j = web3j;
+        this.transactionManager = transactionManager;
+        this.replaceAfter = replaceAfter;
+        this.bumpPercentage = bumpPercentage;
+        this.maxGasPrice = maxGasPrice;
+
+        this.schedule =
+                scheduledExecutorService.scheduleWithFixedDelay(
+                        this::check, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sign and send a transaction, tracking it for replacement.
+     *
+     * @param rawTransaction the transaction
+     * @return a future completed with the receipt of whichever version of the transaction is mined
+     * @throws IOException if the transaction could not be sent
+     */
+    public CompletableFuture<TransactionReceipt> send(RawTransaction rawTransaction)
+            throws IOException {
+        EthSendTransaction ethSendTransaction = transactionManager.signAndSend(rawTransaction);
+        if (ethSendTransaction.hasError()) {
+            throw new IOException(
+                    "Error processing transaction request: "
+                            + ethSendTransaction.getError().getMessage());
+        }
+        return track(rawTransaction, ethSendTransaction.getTransactionHash());
+    }
+
+    /**
+     * Track a transaction which has already been sent.
+     *
+     * @param rawTransaction the transaction
+     * @param transactionHash the hash of the sent transaction
+     * @return a future completed with the receipt of whichever version of the transaction is mined
+     */
+    public CompletableFuture<TransactionReceipt> track(
+            RawTransaction rawTransaction, String transactionHash) {
+        TrackedTransaction trackedTransaction =
+                transactions.computeIfAbsent(
+                        rawTransaction.getNonce(), nonce -> new TrackedTransaction());
+        synchronized (trackedTransaction) {
+            trackedTransaction.sent(rawTransaction, transactionHash);
+        }
+        return trackedTransaction.result;
+    }
+
+    public int getTrackedCount() {
+        return transactions.size();
+    }
+
+    /** Stop checking tracked transactions. */
+    public void shutdown() {
+        schedule.cancel(false);
+    }
+
+    void check() {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        try {
+            checkTransactions();
+        } catch (IOException | RuntimeException e) {
+            // an exception escaping the scheduled task would cancel all further checks
+            log.error("Error checking transactions", e);
+        }
+    }
+
+    private void checkTransactions() throws IOException {
+
+        List<BigInteger> nonces = new ArrayList<>();
+        List<String> transactionHashes = new ArrayList<>();
+        BatchRequest batchRequest = web3j.newBatch();
+        for (Map.Entry<BigInteger, TrackedTransaction> entry : transactions.entrySet()) {
+            synchronized (entry.getValue()) {
+                for (String transactionHash : entry.getValue().transactionHashes) {
+                    nonces.add(entry.getKey());
+                    transactionHashes.add(transactionHash);
+                    batchRequest.add(web3j.ethGetTransactionReceipt(transactionHash));
+                }
+            }
+        }
+        batchRequest.add(
+                web3j.ethGetTransactionCount(
+                        transactionManager.getFromAddress(), DefaultBlockParameterName.LATEST));
+
+        BatchResponse batchResponse = batchRequest.send();
+
+        for (int i = 0; i < transactionHashes.size(); i++) {
+            EthGetTransactionReceipt response =
+                    batchResponse.getResponse(i, EthGetTransactionReceipt.class);
+            if (!response.hasError() && response.getTransactionReceipt().isPresent()) {
+                TrackedTransaction trackedTransaction = transactions.remove(nonces.get(i));
+                if (trackedTransaction != null) {
+                    trackedTransaction.result.complete(response.getTransactionReceipt().get());
+                }
+            }
+        }
+
+        EthGetTransactionCount ethGetTransactionCount =
+                batchResponse.getResponse(transactionHashes.size(), EthGetTransactionCount.class);
+        BigInteger minedCount =
+                ethGetTransactionCount.hasError()
+                        ? null
+                        : ethGetTransactionCount.getTransactionCount();
+
+        long now = System.currentTimeMillis();
+        for (Map.Entry<BigInteger, TrackedTransaction> entry : transactions.entrySet()) {
+            BigInteger nonce = entry.getKey();
+            TrackedTransaction trackedTransaction = entry.getValue();
+            if (minedCount != null && nonce.compareTo(minedCount) < 0) {
+                nonceUsed(nonce, trackedTransaction);
+            } else if (now - trackedTransaction.sentAt >= replaceAfter) {
+                replace(trackedTransaction);
+            }
+        }
+    }
+
+    private void nonceUsed(BigInteger nonce, TrackedTransaction trackedTransaction) {
+        // the receipt of the mined version may not have been available yet, so wait a check
+        if (trackedTransaction.nonceUsed) {
+            transactions.remove(nonce);
+            trackedTransaction.result.completeExceptionally(
+                    new TransactionException(
+                            "Nonce " + nonce + " was used by a transaction which is not tracked"));
+        } else {
+            trackedTransaction.nonceUsed = true;
+        }
+    }
+
+    private void replace(TrackedTransaction trackedTransaction) {
+        RawTransaction replacement;
+        synchronized (trackedTransaction) {
+            RawTransaction rawTransaction = trackedTransaction.rawTransaction;
+            BigInteger gasPrice = bump(rawTransaction.getGasPrice());
+            if (gasPrice == null) {
+                return;
+            }
+            replacement =
+                    RawTransaction.createTransaction(
+                            rawTransaction.getNonce(),
+                            gasPrice,
+                            rawTransaction.getGasLimit(),
+                            rawTransaction.getTo(),
+                            rawTransaction.getValue(),
+                            rawTransaction.getData());
+        }
+
+        try {
+            EthSendTransaction ethSendTransaction = transactionManager.signAndSend(replacement);
+            if (ethSendTransaction.hasError()) {
+                log.warn(
+                        "Unable to replace transaction with nonce {}: {}",
+                        replacement.getNonce(),
+                        ethSendTransaction.getError().getMessage());
+                return;
+            }
+            log.info(
+                    "Replaced transaction with nonce {} at gas price {}",
+                    replacement.getNonce(),
+                    replacement.getGasPrice());
+            synchronized (trackedTransaction) {
+                trackedTransaction.sent(replacement, ethSendTransaction.getTransactionHash());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to replace transaction with nonce " + replacement.getNonce(), e);
+        }
+    }
+
+    /**
+     * Returns the bumped gas price, or null if the maximum gas price does not allow the increase
+     * nodes require of a replacement.
+     */
+    private BigInteger bump(BigInteger gasPrice) {
+        BigInteger minimum = percentageOf(gasPrice, MIN_REPLACEMENT_PERCENTAGE);
+        BigInteger bumped =
+                percentageOf(gasPrice, 100 + bumpPercentage)
+                        .max(minimum)
+                        .max(gasPrice.add(BigInteger.ONE))
+                        .min(maxGasPrice);
+        return bumped.compareTo(minimum) < 0 ? null : bumped;
+    }
+
+    private static BigInteger percentageOf(BigInteger value, int percentage) {
+        // rounded up, as nodes compare against the exact percentage
+        return value.multiply(BigInteger.valueOf(percentage))
+                .add(BigInteger.valueOf(99))
+                .divide(BigInteger.valueOf(100));
+    }
+
+    private static final class TrackedTransaction {
+        private final CompletableFuture<TransactionReceipt> result = new CompletableFuture<>();
+        private final List<String> transactionHashes = new ArrayList<>();
+        private RawTransaction rawTransaction;
+        private long sentAt;
+        private boolean nonceUsed;
+
+        private void sent(RawTransaction rawTransaction, String transactionHash) {
+            this.rawTransaction = rawTransaction;
+            this.sentAt = System.currentTimeMillis();
+            if (!transactionHashes.contains(transactionHash)) {
+                transactionHashes.add(transactionHash);
+            }
+        }
+    }
+}
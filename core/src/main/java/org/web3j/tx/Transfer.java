@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 import org.web3j.crypto.Credentials;
@@ -23,6 +24,7 @@ import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.RemoteCall;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.utils.Async;
 import org.web3j.utils.Convert;
 import org.web3j.utils.Numeric;
 
@@ -63,6 +65,35 @@ public class Transfer extends ManagedTransaction {
             BigInteger gasLimit)
             throws IOException, InterruptedException, TransactionException {
 
+        BigInteger weiValue = toWei(value, unit);
+        String resolvedAddress = ensResolver.resolve(toAddress);
+        return send(resolvedAddress, "", weiValue, gasPrice, gasLimit);
+    }
+
+    private CompletableFuture<TransactionReceipt> sendAsync(
+            String toAddress, BigDecimal value, Convert.Unit unit) {
+        return Async.run(this::requestCurrentGasPrice)
+                .thenCompose(gasPrice -> sendAsync(toAddress, value, unit, gasPrice, GAS_LIMIT));
+    }
+
+    private CompletableFuture<TransactionReceipt> sendAsync(
+            String toAddress,
+            BigDecimal value,
+            Convert.Unit unit,
+            BigInteger gasPrice,
+            BigInteger gasLimit) {
+        return Async.run(() -> ensResolver.resolve(toAddress))
+                .thenCompose(
+                        resolvedAddress ->
+                                sendAsync(
+                                        resolvedAddress,
+                                        "",
+                                        toWei(value, unit),
+                                        gasPrice,
+                                        gasLimit));
+    }
+
+    private static BigInteger toWei(BigDecimal value, Convert.Unit unit) {
         BigDecimal weiValue = Convert.toWei(value, unit);
         if (!Numeric.isIntegerValue(weiValue)) {
             throw new UnsupportedOperationException(
@@ -74,9 +105,7 @@ public class Transfer extends ManagedTransaction {
                             + weiValue
                             + " Wei");
         }
-
-        String resolvedAddress = ensResolver.resolve(toAddress);
-        return send(resolvedAddress, "", weiValue.toBigIntegerExact(), gasPrice, gasLimit);
+        return weiValue.toBigIntegerExact();
     }
 
     public static RemoteCall<TransactionReceipt> sendFunds(
@@ -89,8 +118,7 @@ public class Transfer extends ManagedTransaction {
 
         TransactionManager transactionManager = new RawTransactionManager(web3j, credentials);
 
-        return new RemoteCall<>(
-                () -> new Transfer(web3j, transactionManager).send(toAddress, value, unit));
+        return new Transfer(web3j, transactionManager).sendFunds(toAddress, value, unit);
     }
 
     /**
@@ -104,7 +132,8 @@ public class Transfer extends ManagedTransaction {
      */
     public RemoteCall<TransactionReceipt> sendFunds(
             String toAddress, BigDecimal value, Convert.Unit unit) {
-        return new RemoteCall<>(() -> send(toAddress, value, unit));
+        return new RemoteCall<>(
+                () -> send(toAddress, value, unit), () -> sendAsync(toAddress, value, unit));
     }
 
     public RemoteCall<TransactionReceipt> sendFunds(
@@ -113,6 +142,8 @@ public class Transfer extends ManagedTransaction {
             Convert.Unit unit,
             BigInteger gasPrice,
             BigInteger gasLimit) {
-        return new RemoteCall<>(() -> send(toAddress, value, unit, gasPrice, gasLimit));
+        return new RemoteCall<>(
+                () -> send(toAddress, value, unit, gasPrice, gasLimit),
+                () -> sendAsync(toAddress, value, unit, gasPrice, gasLimit));
     }
 }
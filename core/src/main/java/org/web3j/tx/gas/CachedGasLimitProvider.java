@@ -0,0 +1,252 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.gas;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.ChainHeadTracker;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.BlockHeader;
+import org.web3j.protocol.core.methods.response.EthEstimateGas;
+import org.web3j.utils.Numeric;
+import org.web3j.utils.Strings;
+
+/**
+ * Gas provider which estimates gas limits via {@code eth_estimateGas}, caching the estimates.
+ *
+ * <p>Estimates are cached by recipient and function selector, and optionally by the length of the
+ * call data, which distinguishes calls with dynamically sized arguments. A cached estimate expires
+ * after a time to live, or after a number of blocks. The gas limit is the estimate increased by a
+ * safety margin.
+ *
+ * <p>Expiry by blocks relies on the head tracked by {@link Web3j#chainHeadTracker()}, so that no
+ * request is made for the block number. This provider does not start tracking the head itself;
+ * unless the application starts it, estimates only expire after their time to live.
+ *
+ * <p>A live estimate is made on a cache miss, and periodically for cached estimates. Should a live
+ * estimate exceed the cached estimate, it replaces the cached estimate. If an estimate cannot be
+ * made, for instance as the call reverts, the gas limit of the delegate provider is used, as it is
+ * for contract deployments.
+ *
+ * <p>Gas prices are provided by the delegate provider.
+ */
+public class CachedGasLimitProvider implements EstimatingGasProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(CachedGasLimitProvider.class);
+
+    public static final long DEFAULT_TTL = TimeUnit.MINUTES.toMillis(10);
+    public static final int DEFAULT_MAX_BLOCKS = 100;
+    public static final int DEFAULT_SAFETY_MARGIN = 20;
+    public static final int DEFAULT_REVALIDATION_INTERVAL = 100;
+
+    private final Web3j web3j;
+    private final ContractGasProvider delegate;
+    private final long ttl;
+    private final int maxBlocks;
+    private final int safetyMargin;
+    private final int revalidationInterval;
+    private final boolean keyByArgumentShape;
+
+    private final Map<String, Estimate> estimates = new ConcurrentHashMap<>();
+
+    public CachedGasLimitProvider(Web3j web3j, ContractGasProvider delegate) {
+        this(
+                web3j,
+                delegate,
+                DEFAULT_TTL,
+                DEFAULT_MAX_BLOCKS,
+                DEFAULT_SAFETY_MARGIN,
+                DEFAULT_REVALIDATION_INTERVAL,
+                true);
+    }
+
+    /**
+     * Create a gas provider.
+     *
+     * @param web3j web3j instance
+     * @param delegate the provider of gas prices, and of gas limits when no estimate can be made
+     * @param ttl the time in milliseconds for which an estimate is cached
+     * @param maxBlocks the number of blocks for which an estimate is cached while the chain head is
+     *     tracked, or 0 to only expire estimates by time
+     * @param safetyMargin the percentage by which gas limits exceed estimates
+     * @param revalidationInterval the number of uses of a cached estimate after which a live
+     *     estimate is made, or 0 to never revalidate
+     * @param keyByArgumentShape whether estimates are cached by the length of the call data
+     */
+    public CachedGasLimitProvider(
+            Web3j web3j,
+            ContractGasProvider delegate,
+            long ttl,
+            int maxBlocks,
+            int safetyMargin,
+            int revalidationInterval,
+            boolean keyByArgumentShape) {
+        this.web3j = web3j;
+        this.delegate = delegate;
+        this.ttl = ttl;
+        this.maxBlocks = maxBlocks;
+        this.safetyMargin = safetyMargin;
+        this.revalidationInterval = revalidationInterval;
+        this.keyByArgumentShape = keyByArgumentShape;
+    }
+
+    @Override
+    public BigInteger getGasLimit(String contractFunc, Transaction transaction) {
+        if (Strings.isEmpty(transaction.getTo())) {
+            return delegate.getGasLimit(contractFunc);
+        }
+
+        String key = key(transaction);
+        Estimate cached = estimates.get(key);
+        BigInteger blockNumber = getBlockNumber();
+        boolean valid = cached != null && isValid(cached, blockNumber);
+        if (valid
+                && (revalidationInterval <= 0
+                        || cached.uses.incrementAndGet() % revalidationInterval != 0)) {
+            return withMargin(cached.gas);
+        }
+
+        BigInteger gas = estimateGas(transaction);
+        if (gas == null) {
+            return valid ? withMargin(cached.gas) : delegate.getGasLimit(contractFunc);
+        }
+        if (valid && gas.compareTo(cached.gas) <= 0) {
+            // the cached estimate still suffices
+            return withMargin(cached.gas);
+        }
+
+        estimates.put(key, new Estimate(gas, System.currentTimeMillis(), blockNumber));
+        return withMargin(gas);
+    }
+
+    @Override
+    public BigInteger getGasLimit(String contractFunc) {
+        return delegate.getGasLimit(contractFunc);
+    }
+
+    @Override
+    @Deprecated
+    public BigInteger getGasLimit() {
+        return delegate.getGasLimit();
+    }
+
+    @Override
+    public BigInteger getGasPrice(String contractFunc) {
+        return delegate.getGasPrice(contractFunc);
+    }
+
+    @Override
+    @Deprecated
+    public BigInteger getGasPrice() {
+        return delegate.getGasPrice();
+    }
+
+    /** Discard all cached estimates. */
+    public void invalidate() {
+        estimates.clear();
+    }
+
+    /**
+     * Discard the cached estimates for calls to a contract.
+     *
+     * @param contractAddress the contract address
+     */
+    public void invalidate(String contractAddress) {
+        String prefix = contractAddress.toLowerCase() + ":";
+        estimates.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    public int size() {
+        return estimates.size();
+    }
+
+    private String key(Transaction transaction) {
+        String data = transaction.getData() == null ? "" : transaction.getData();
+        String cleanData = Numeric.cleanHexPrefix(data);
+        // the function selector, being the first four bytes of the call data
+        String selector = cleanData.substring(0, Math.min(8, cleanData.length())).toLowerCase();
+        StringBuilder key =
+                new StringBuilder(transaction.getTo().toLowerCase()).append(':').append(selector);
+        if (keyByArgumentShape) {
+            key.append(':').append(cleanData.length());
+        }
+        return key.toString();
+    }
+
+    private boolean isValid(Estimate estimate, BigInteger blockNumber) {
+        if (System.currentTimeMillis() - estimate.createdAt >= ttl) {
+            return false;
+        }
+        return maxBlocks <= 0
+                || blockNumber == null
+                || estimate.blockNumber == null
+                || blockNumber.subtract(estimate.blockNumber).intValue() < maxBlocks;
+    }
+
+    private BigInteger getBlockNumber() {
+        if (maxBlocks <= 0) {
+            return null;
+        }
+        ChainHeadTracker chainHeadTracker = web3j.chainHeadTracker();
+        if (!chainHeadTracker.isTracking()) {
+            // a header which is not being tracked may be arbitrarily old
+            return null;
+        }
+        Optional<BlockHeader> header = chainHeadTracker.getCachedHeader();
+        return header.map(BlockHeader::getNumber).orElse(null);
+    }
+
+    private BigInteger estimateGas(Transaction transaction) {
+        try {
+            EthEstimateGas ethEstimateGas = web3j.ethEstimateGas(transaction).send();
+            if (ethEstimateGas.hasError()) {
+                log.warn(
+                        "Unable to estimate gas for {}: {}",
+                        transaction.getTo(),
+                        ethEstimateGas.getError().getMessage());
+                return null;
+            }
+            return ethEstimateGas.getAmountUsed();
+        } catch (IOException e) {
+            log.warn("Unable to estimate gas for " + transaction.getTo(), e);
+            return null;
+        }
+    }
+
+    private BigInteger withMargin(BigInteger gas) {
+        return gas.multiply(BigInteger.valueOf(100 + safetyMargin)).divide(BigInteger.valueOf(100));
+    }
+
+    private static final class Estimate {
+        private final BigInteger gas;
+        private final long createdAt;
+        private final BigInteger blockNumber;
+        private final AtomicInteger uses = new AtomicInteger();
+
+        private Estimate(BigInteger gas, long createdAt, BigInteger blockNumber) {
+            this.gas = gas;
+            this.createdAt = createdAt;
+            this.blockNumber = blockNumber;
+        }
+    }
+}
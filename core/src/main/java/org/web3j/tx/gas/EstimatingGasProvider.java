@@ -0,0 +1,30 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.gas;
+
+import java.math.BigInteger;
+
+import org.web3j.protocol.core.methods.request.Transaction;
+
+/** Gas provider which determines gas limits from the transaction being sent. */
+public interface EstimatingGasProvider extends ContractGasProvider {
+
+    /**
+     * Returns the gas limit for a transaction.
+     *
+     * @param contractFunc the name of the function called
+     * @param transaction the transaction, without nonce or gas limit
+     * @return the gas limit
+     */
+    BigInteger getGasLimit(String contractFunc, Transaction transaction);
+}
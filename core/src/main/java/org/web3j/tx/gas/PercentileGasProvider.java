@@ -0,0 +1,226 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.gas;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.reactivex.disposables.Disposable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthGasPrice;
+import org.web3j.protocol.core.methods.response.Transaction;
+
+/**
+ * Gas provider pricing transactions from the gas prices paid by transactions in recent blocks.
+ *
+ * <p>New blocks are sampled via {@link Web3j#blockFlowable(boolean)}, and the gas prices of their
+ * transactions kept for a window of recent blocks. The price for each {@link Urgency} is the
+ * corresponding percentile of the window, recomputed as each block arrives, so that {@link
+ * #getGasPrice(String)} is answered from memory.
+ *
+ * <p>The block stream is subscribed to on the first request for a gas price. Until a block with
+ * transactions has been sampled, gas prices are obtained via {@code eth_gasPrice}.
+ */
+public class PercentileGasProvider implements ContractGasProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(PercentileGasProvider.class);
+
+    public static final int DEFAULT_BLOCKS = 20;
+
+    /** How quickly a transaction should be included, by the percentile of recent prices paid. */
+    public enum Urgency {
+        SLOW(25),
+        STANDARD(50),
+        FAST(75),
+        URGENT(95);
+
+        private final int percentile;
+
+        Urgency(int percentile) {
+            this.percentile = percentile;
+        }
+
+        public int getPercentile() {
+            return percentile;
+        }
+    }
+
+    private final Web3j web3j;
+    private final BigInteger gasLimit;
+    private final int blocks;
+    private final Urgency defaultUrgency;
+    private final Map<String, Urgency> urgencies = new ConcurrentHashMap<>();
+
+    // gas prices per sampled block, only accessed by the block stream
+    private final Deque<long[]> samples = new ArrayDeque<>();
+    // gas price per urgency, or null until a block with transactions has been sampled
+    private volatile BigInteger[] gasPrices;
+
+    private Disposable subscription;
+
+    public PercentileGasProvider(Web3j web3j, BigInteger gasLimit) {
+        this(web3j, gasLimit, DEFAULT_BLOCKS, Urgency.STANDARD);
+    }
+
+    /**
+     * Create a gas provider.
+     *
+     * @param web3j web3j instance
+     * @param gasLimit the gas limit for all transactions
+     * @param blocks the number of recent blocks with transactions to sample
+     * @param defaultUrgency the urgency of functions without a configured urgency
+     */
+    public PercentileGasProvider(
+            Web3j web3j, BigInteger gasLimit, int blocks, Urgency defaultUrgency) {
+        this.web3j = web3j;
+        this.gasLimit = gasLimit;
+        this.blocks = blocks;
+        this.defaultUrgency = defaultUrgency;
+    }
+
+    /**
+     * Set the urgency of transactions calling a contract function.
+     *
+     * @param contractFunc the function name
+     * @param urgency the urgency
+     */
+    public void setUrgency(String contractFunc, Urgency urgency) {
+        urgencies.put(contractFunc, urgency);
+    }
+
+    @Override
+    public BigInteger getGasPrice(String contractFunc) {
+        return getGasPrice(urgencies.getOrDefault(contractFunc, defaultUrgency));
+    }
+
+    @Override
+    public BigInteger getGasPrice() {
+        return getGasPrice(defaultUrgency);
+    }
+
+    /**
+     * Returns the gas price for an urgency.
+     *
+     * @param urgency the urgency
+     * @return the gas price in wei
+     */
+    public BigInteger getGasPrice(Urgency urgency) {
+        subscribe();
+        BigInteger[] gasPrices = this.gasPrices;
+        if (gasPrices != null) {
+            return gasPrices[urgency.ordinal()];
+        }
+        return requestGasPrice();
+    }
+
+    @Override
+    public BigInteger getGasLimit(String contractFunc) {
+        return gasLimit;
+    }
+
+    @Override
+    public BigInteger getGasLimit() {
+        return gasLimit;
+    }
+
+    /** Stop sampling new blocks. The last computed prices continue to be used. */
+    public synchronized void shutdown() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+
+    private synchronized void subscribe() {
+        if (subscription == null) {
+            subscription =
+                    web3j.blockFlowable(true)
+                            .subscribe(
+                                    this::onBlock,
+                                    throwable -> {
+                                        log.error("Error receiving blocks", throwable);
+                                        synchronized (this) {
+                                            subscription = null;
+                                        }
+                                    });
+        }
+    }
+
+    void onBlock(EthBlock ethBlock) {
+        long[] blockSamples = sample(ethBlock.getBlock());
+        if (blockSamples.length == 0) {
+            return;
+        }
+
+        samples.addLast(blockSamples);
+        if (samples.size() > blocks) {
+            samples.removeFirst();
+        }
+
+        int size = 0;
+        for (long[] sample : samples) {
+            size += sample.length;
+        }
+        long[] window = new long[size];
+        int offset = 0;
+        for (long[] sample : samples) {
+            System.arraycopy(sample, 0, window, offset, sample.length);
+            offset += sample.length;
+        }
+        Arrays.sort(window);
+
+        Urgency[] values = Urgency.values();
+        BigInteger[] gasPrices = new BigInteger[values.length];
+        for (Urgency urgency : values) {
+            // nearest rank percentile
+            int rank = (int) Math.ceil(urgency.getPercentile() / 100.0 * window.length);
+            gasPrices[urgency.ordinal()] = BigInteger.valueOf(window[Math.max(rank, 1) - 1]);
+        }
+        this.gasPrices = gasPrices;
+    }
+
+    private static long[] sample(EthBlock.Block block) {
+        long[] blockSamples = new long[block.getTransactions().size()];
+        int count = 0;
+        for (EthBlock.TransactionResult<?> transactionResult : block.getTransactions()) {
+            if (transactionResult.get() instanceof Transaction) {
+                BigInteger gasPrice = ((Transaction) transactionResult.get()).getGasPrice();
+                blockSamples[count++] =
+                        gasPrice.bitLength() < 64 ? gasPrice.longValue() : Long.MAX_VALUE;
+            }
+        }
+        return Arrays.copyOf(blockSamples, count);
+    }
+
+    private BigInteger requestGasPrice() {
+        try {
+            EthGasPrice ethGasPrice = web3j.ethGasPrice().send();
+            if (ethGasPrice.hasError()) {
+                throw new RuntimeException(
+                        "Unable to obtain gas price: " + ethGasPrice.getError().getMessage());
+            }
+            return ethGasPrice.getGasPrice();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to obtain gas price", e);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import io.reactivex.disposables.Disposable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+
+/**
+ * Transaction receipt processor driven by new blocks, rather than by polling for each transaction.
+ *
+ * <p>The transaction hashes of each new block are matched against the pending transactions, and
+ * receipts are only requested, in a single batch, for pending transactions included in the block.
+ * The number of requests per block is therefore bounded by the number of our own transactions in
+ * the block, however many transactions are pending. Should the receipt of an included transaction
+ * not be available yet, for instance as the node announced the block before indexing its receipts,
+ * it is requested again with each following block. As a transaction may have been included before
+ * it was registered, the receipts of newly registered transactions are also requested with the next
+ * block, so that registering does not make any request on the caller's thread.
+ *
+ * <p>New blocks are obtained via {@link Web3j#blockFlowable(boolean)}, which uses a subscription
+ * where the service supports one. The stream is subscribed to on the first request, and is held
+ * until {@link #shutdown()}.
+ */
+public class BlockTransactionReceiptProcessor extends TransactionReceiptProcessor {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(BlockTransactionReceiptProcessor.class);
+
+    public static final int DEFAULT_BLOCKS_TO_WAIT = 50;
+
+    private final Web3j web3j;
+    private final int blocksToWait;
+    private final Map<String, PendingReceipt> pendingTransactions = new ConcurrentHashMap<>();
+
+    private Disposable subscription;
+
+    public BlockTransactionReceiptProcessor(Web3j web3j) {
+        this(web3j, DEFAULT_BLOCKS_TO_WAIT);
+    }
+
+    /**
+     * Create a processor.
+     *
+     * @param web3j web3j instance
+     * @param blocksToWait the number of new blocks to wait for a transaction before giving up
+     */
+    public BlockTransactionReceiptProcessor(Web3j web3j, int blocksToWait) {
+        super(web3j);
+        this.web3j = web3j;
+        this.blocksToWait = blocksToWait;
+    }
+
+    @Override
+    public TransactionReceipt waitForTransactionReceipt(String transactionHash)
+            throws IOException, TransactionException {
+        try {
+            return waitForTransactionReceiptAsync(transactionHash).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof TransactionException) {
+                throw (TransactionException) e.getCause();
+            }
+            throw new TransactionException(e.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransactionReceipt> waitForTransactionReceiptAsync(
+            String transactionHash) {
+        PendingReceipt pendingReceipt =
+                pendingTransactions.computeIfAbsent(
+                        transactionHash.toLowerCase(), PendingReceipt::new);
+        subscribe();
+        return pendingReceipt.future;
+    }
+
+    public int getPendingCount() {
+        return pendingTransactions.size();
+    }
+
+    /** Stop watching for new blocks. Pending transactions are no longer resolved. */
+    public synchronized void shutdown() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+
+    private synchronized void subscribe() {
+        if (subscription == null) {
+            subscription = web3j.blockFlowable(false).subscribe(this::onBlock, this::onError);
+        }
+    }
+
+    void onBlock(EthBlock ethBlock) {
+        for (EthBlock.TransactionResult<?> transactionResult :
+                ethBlock.getBlock().getTransactions()) {
+            PendingReceipt pendingReceipt =
+                    pendingTransactions.get(((String) transactionResult.get()).toLowerCase());
+            if (pendingReceipt != null) {
+                // the transaction is given as many blocks again for its receipt to be available
+                pendingReceipt.included = true;
+                pendingReceipt.blocks = 0;
+            }
+        }
+
+        // transactions registered since the previous block may have been included before
+        List<PendingReceipt> included = new ArrayList<>();
+        for (PendingReceipt pendingReceipt : pendingTransactions.values()) {
+            if (pendingReceipt.included || !pendingReceipt.checked) {
+                included.add(pendingReceipt);
+            }
+        }
+        if (!included.isEmpty()) {
+            requestReceipts(included);
+        }
+
+        for (PendingReceipt pendingReceipt : pendingTransactions.values()) {
+            if (++pendingReceipt.blocks > blocksToWait) {
+                fail(
+                        pendingReceipt,
+                        new TransactionException(
+                                "No transaction receipt for txHash: "
+                                        + pendingReceipt.transactionHash
+                                        + " received after "
+                                        + blocksToWait
+                                        + " blocks",
+                                pendingReceipt.transactionHash));
+            }
+        }
+    }
+
+    private void requestReceipts(List<PendingReceipt> included) {
+        List<String> transactionHashes = new ArrayList<>(included.size());
+        for (PendingReceipt pendingReceipt : included) {
+            transactionHashes.add(pendingReceipt.transactionHash);
+        }
+
+        List<EthGetTransactionReceipt> responses;
+        try {
+            responses = sendTransactionReceiptRequests(transactionHashes, null);
+        } catch (IOException e) {
+            // the included transactions are requested again with the next block
+            log.error("Error sending request", e);
+            return;
+        }
+
+        for (int i = 0; i < included.size(); i++) {
+            included.get(i).checked = true;
+            EthGetTransactionReceipt response = responses.get(i);
+            if (response.hasError()) {
+                fail(
+                        included.get(i),
+                        new TransactionException(
+                                "Error processing request: " + response.getError().getMessage()));
+            } else {
+                // a missing receipt is requested again with the next block
+                PendingReceipt pendingReceipt = included.get(i);
+                response.getTransactionReceipt()
+                        .ifPresent(receipt -> complete(pendingReceipt, receipt));
+            }
+        }
+    }
+
+    private void onError(Throwable throwable) {
+        log.error("Error receiving blocks", throwable);
+        synchronized (this) {
+            subscription = null;
+        }
+        for (PendingReceipt pendingReceipt : pendingTransactions.values()) {
+            fail(pendingReceipt, throwable);
+        }
+    }
+
+    private void complete(PendingReceipt pendingReceipt, TransactionReceipt transactionReceipt) {
+        pendingTransactions.remove(pendingReceipt.transactionHash, pendingReceipt);
+        pendingReceipt.future.complete(transactionReceipt);
+    }
+
+    private void fail(PendingReceipt pendingReceipt, Throwable throwable) {
+        pendingTransactions.remove(pendingReceipt.transactionHash, pendingReceipt);
+        pendingReceipt.future.completeExceptionally(throwable);
+    }
+
+    private static final class PendingReceipt {
+        private final String transactionHash;
+        private final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+        private int blocks;
+        private boolean included;
+        private boolean checked;
+
+        private PendingReceipt(String transactionHash) {
+            this.transactionHash = transactionHash;
+        }
+    }
+}
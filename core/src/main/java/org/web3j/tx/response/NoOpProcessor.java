@@ -13,6 +13,7 @@
 package org.web3j.tx.response;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
@@ -33,4 +34,16 @@ public class NoOpProcessor extends TransactionReceiptProcessor {
             throws IOException, TransactionException {
         return new EmptyTransactionReceipt(transactionHash);
     }
+
+    @Override
+    public CompletableFuture<TransactionReceipt> waitForTransactionReceiptAsync(
+            String transactionHash) {
+        try {
+            return CompletableFuture.completedFuture(waitForTransactionReceipt(transactionHash));
+        } catch (IOException | TransactionException e) {
+            CompletableFuture<TransactionReceipt> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+    }
 }
@@ -14,21 +14,62 @@ package org.web3j.tx.response;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.utils.AdaptivePollingScheduler;
+import org.web3j.utils.Async;
 
-/** With each provided transaction hash, poll until we obtain a transaction receipt. */
+/**
+ * With each provided transaction hash, poll until we obtain a transaction receipt.
+ *
+ * <p>When waiting asynchronously, polls are scheduled on a scheduled executor service shared by all
+ * processors, rather than each pending transaction holding a thread between polls.
+ */
 public class PollingTransactionReceiptProcessor extends TransactionReceiptProcessor {
 
     protected final long sleepDuration;
     protected final int attempts;
+    private final AdaptivePollingScheduler pollingScheduler;
+    private ScheduledExecutorService scheduledExecutorService;
 
     public PollingTransactionReceiptProcessor(Web3j web3j, long sleepDuration, int attempts) {
         super(web3j);
         this.sleepDuration = sleepDuration;
         this.attempts = attempts;
+        this.pollingScheduler = null;
+    }
+
+    /**
+     * Create a processor which polls around the expected arrival of new blocks, rather than
+     * sleeping for a fixed duration between attempts.
+     *
+     * @param web3j web3j instance
+     * @param pollingScheduler scheduler deciding when to poll, which may be shared with other
+     *     pollers
+     * @param attempts the number of block times to wait before giving up. As polls are made more
+     *     often while a block is overdue, each block time may take several polls
+     */
+    public PollingTransactionReceiptProcessor(
+            Web3j web3j, AdaptivePollingScheduler pollingScheduler, int attempts) {
+        super(web3j);
+        this.sleepDuration = pollingScheduler.getBlockTime();
+        this.attempts = attempts;
+        this.pollingScheduler = pollingScheduler;
+    }
+
+    /**
+     * Set the scheduled executor service asynchronous polls are scheduled on, in place of the
+     * shared default.
+     *
+     * @param scheduledExecutorService the scheduled executor service
+     */
+    public void setScheduledExecutorService(ScheduledExecutorService scheduledExecutorService) {
+        this.scheduledExecutorService = scheduledExecutorService;
     }
 
     @Override
@@ -38,32 +79,99 @@ public class PollingTransactionReceiptProcessor extends TransactionReceiptProces
         return getTransactionReceipt(transactionHash, sleepDuration, attempts);
     }
 
+    @Override
+    public CompletableFuture<TransactionReceipt> waitForTransactionReceiptAsync(
+            String transactionHash) {
+        CompletableFuture<TransactionReceipt> result = new CompletableFuture<>();
+        getScheduledExecutorService().execute(() -> poll(transactionHash, result, 0, 0));
+        return result;
+    }
+
+    private void poll(
+            String transactionHash,
+            CompletableFuture<TransactionReceipt> result,
+            int attempt,
+            long waited) {
+        if (result.isDone()) {
+            // cancelled by the caller
+            return;
+        }
+        try {
+            Optional<TransactionReceipt> receiptOptional = sendReceiptRequest(transactionHash);
+            if (receiptOptional.isPresent()) {
+                result.complete(receiptOptional.get());
+            } else if (canRetry(attempt, waited)) {
+                long delay =
+                        pollingScheduler == null ? sleepDuration : pollingScheduler.nextDelay();
+                getScheduledExecutorService()
+                        .schedule(
+                                () -> poll(transactionHash, result, attempt + 1, waited + delay),
+                                delay,
+                                TimeUnit.MILLISECONDS);
+            } else {
+                result.completeExceptionally(
+                        new TransactionException(
+                                "Transaction receipt was not generated after "
+                                        + waited / 1000
+                                        + " seconds for transaction: "
+                                        + transactionHash,
+                                transactionHash));
+            }
+        } catch (IOException | TransactionException | RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private ScheduledExecutorService getScheduledExecutorService() {
+        return scheduledExecutorService == null
+                ? SharedScheduler.INSTANCE
+                : scheduledExecutorService;
+    }
+
     private TransactionReceipt getTransactionReceipt(
             String transactionHash, long sleepDuration, int attempts)
             throws IOException, TransactionException {
 
-        Optional<TransactionReceipt> receiptOptional =
-                (Optional<TransactionReceipt>) sendTransactionReceiptRequest(transactionHash);
-        for (int i = 0; i < attempts; i++) {
-            if (!receiptOptional.isPresent()) {
-                try {
-                    Thread.sleep(sleepDuration);
-                } catch (InterruptedException e) {
-                    throw new TransactionException(e);
-                }
-                receiptOptional =
-                        (Optional<TransactionReceipt>)
-                                sendTransactionReceiptRequest(transactionHash);
-            } else {
-                return receiptOptional.get();
+        long waited = 0;
+        Optional<TransactionReceipt> receiptOptional = sendReceiptRequest(transactionHash);
+        for (int i = 0; !receiptOptional.isPresent(); i++) {
+            if (!canRetry(i, waited)) {
+                throw new TransactionException(
+                        "Transaction receipt was not generated after "
+                                + (waited / 1000 + " seconds for transaction: " + transactionHash),
+                        transactionHash);
+            }
+            long delay = pollingScheduler == null ? sleepDuration : pollingScheduler.nextDelay();
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                throw new TransactionException(e);
             }
+            waited += delay;
+            receiptOptional = sendReceiptRequest(transactionHash);
+        }
+        return receiptOptional.get();
+    }
+
+    private boolean canRetry(int attempt, long waited) {
+        if (pollingScheduler == null) {
+            return attempt < attempts;
         }
+        // attempts are block times rather than polls, as several polls are made per block
+        return waited < attempts * pollingScheduler.getBlockTime();
+    }
+
+    private Optional<TransactionReceipt> sendReceiptRequest(String transactionHash)
+            throws IOException, TransactionException {
+        if (pollingScheduler == null) {
+            return (Optional<TransactionReceipt>) sendTransactionReceiptRequest(transactionHash);
+        }
+        return (Optional<TransactionReceipt>)
+                sendTransactionReceiptRequest(transactionHash, pollingScheduler);
+    }
 
-        throw new TransactionException(
-                "Transaction receipt was not generated after "
-                        + ((sleepDuration * attempts) / 1000
-                                + " seconds for transaction: "
-                                + transactionHash),
-                transactionHash);
+    // created on first use, as most processors only wait synchronously
+    private static class SharedScheduler {
+        private static final ScheduledExecutorService INSTANCE = Async.defaultExecutorService();
     }
 }
@@ -13,39 +13,95 @@
 package org.web3j.tx.response;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.utils.AdaptivePollingScheduler;
 import org.web3j.utils.Async;
 
 /**
  * Transaction receipt processor that uses a single thread to query for transaction receipts.
  *
+ * <p>Receipts are requested in JSON-RPC batches. At most a fixed number of transactions are polled
+ * per interval, so that polling keeps pace with the interval however many transactions are pending.
+ * Transactions which were not polled are polled first on the following interval.
+ *
  * <p><em>Note:</em>When initially invoked, this processor returns a transaction receipt containing
  * only the transaction hash of the submitted transaction. This is encapsulated in an {@link
  * EmptyTransactionReceipt}.
  */
 public class QueuingTransactionReceiptProcessor extends TransactionReceiptProcessor {
 
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final int DEFAULT_MAX_REQUESTS_PER_POLL = 1000;
+
     private final int pollingAttemptsPerTxHash;
+    private final int batchSize;
+    private final int maxRequestsPerPoll;
 
     private final ScheduledExecutorService scheduledExecutorService;
     private final Callback callback;
-    private final BlockingQueue<RequestWrapper> pendingTransactions;
+    private final AdaptivePollingScheduler pollingScheduler;
+
+    private final Queue<RequestWrapper> submittedTransactions = new ConcurrentLinkedQueue<>();
+    // pending transactions in polling order, only accessed by the polling thread
+    private final Map<String, RequestWrapper> pendingTransactions = new LinkedHashMap<>();
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong receiptCount = new AtomicLong();
+    private final AtomicLong totalReceiptLatency = new AtomicLong();
+    private final AtomicLong maxReceiptLatency = new AtomicLong();
 
     public QueuingTransactionReceiptProcessor(
             Web3j web3j, Callback callback, int pollingAttemptsPerTxHash, long pollingFrequency) {
+        this(
+                web3j,
+                callback,
+                pollingAttemptsPerTxHash,
+                pollingFrequency,
+                DEFAULT_BATCH_SIZE,
+                DEFAULT_MAX_REQUESTS_PER_POLL);
+    }
+
+    /**
+     * Create a processor polling at a fixed frequency.
+     *
+     * @param web3j web3j instance
+     * @param callback callback to notify of receipts and errors
+     * @param pollingAttemptsPerTxHash the number of attempts per transaction before giving up
+     * @param pollingFrequency the polling interval in milliseconds
+     * @param batchSize the maximum number of receipts requested per batch
+     * @param maxRequestsPerPoll the maximum number of receipts requested per polling interval
+     */
+    public QueuingTransactionReceiptProcessor(
+            Web3j web3j,
+            Callback callback,
+            int pollingAttemptsPerTxHash,
+            long pollingFrequency,
+            int batchSize,
+            int maxRequestsPerPoll) {
         super(web3j);
         this.scheduledExecutorService = Async.defaultExecutorService();
         this.callback = callback;
-        this.pendingTransactions = new LinkedBlockingQueue<>();
         this.pollingAttemptsPerTxHash = pollingAttemptsPerTxHash;
+        this.batchSize = batchSize;
+        this.maxRequestsPerPoll = maxRequestsPerPoll;
+        this.pollingScheduler = null;
 
         scheduledExecutorService.scheduleAtFixedRate(
                 this::sendTransactionReceiptRequests,
@@ -54,58 +110,183 @@ public class QueuingTransactionReceiptProcessor extends TransactionReceiptProces
                 TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * Create a processor which polls around the expected arrival of new blocks, rather than at a
+     * fixed frequency.
+     *
+     * @param web3j web3j instance
+     * @param callback callback to notify of receipts and errors
+     * @param pollingAttemptsPerTxHash the number of attempts per transaction before giving up
+     * @param pollingScheduler scheduler deciding when to poll, which may be shared with other
+     *     pollers
+     */
+    public QueuingTransactionReceiptProcessor(
+            Web3j web3j,
+            Callback callback,
+            int pollingAttemptsPerTxHash,
+            AdaptivePollingScheduler pollingScheduler) {
+        super(web3j);
+        this.scheduledExecutorService = Async.defaultExecutorService();
+        this.callback = callback;
+        this.pollingAttemptsPerTxHash = pollingAttemptsPerTxHash;
+        this.batchSize = DEFAULT_BATCH_SIZE;
+        this.maxRequestsPerPoll = DEFAULT_MAX_REQUESTS_PER_POLL;
+        this.pollingScheduler = pollingScheduler;
+
+        pollingScheduler.schedule(scheduledExecutorService, this::sendTransactionReceiptRequests);
+    }
+
     @Override
     public TransactionReceipt waitForTransactionReceipt(String transactionHash)
             throws IOException, TransactionException {
-        pendingTransactions.add(new RequestWrapper(transactionHash));
+        queueDepth.incrementAndGet();
+        submittedTransactions.add(new RequestWrapper(transactionHash, System.currentTimeMillis()));
 
         return new EmptyTransactionReceipt(transactionHash);
     }
 
-    private void sendTransactionReceiptRequests() {
-        for (RequestWrapper requestWrapper : pendingTransactions) {
-            try {
-                String transactionHash = requestWrapper.getTransactionHash();
-                Optional<TransactionReceipt> transactionReceipt =
-                        (Optional<TransactionReceipt>)
-                                sendTransactionReceiptRequest(transactionHash);
-                if (transactionReceipt.isPresent()) {
-                    callback.accept(transactionReceipt.get());
-                    pendingTransactions.remove(requestWrapper);
-                } else {
-                    if (requestWrapper.getCount() == pollingAttemptsPerTxHash) {
-                        throw new TransactionException(
+    @Override
+    public CompletableFuture<TransactionReceipt> waitForTransactionReceiptAsync(
+            String transactionHash) {
+        try {
+            return CompletableFuture.completedFuture(waitForTransactionReceipt(transactionHash));
+        } catch (IOException | TransactionException e) {
+            CompletableFuture<TransactionReceipt> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+    }
+
+    /**
+     * Returns the number of transactions waiting for a receipt.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public long getReceiptCount() {
+        return receiptCount.get();
+    }
+
+    /**
+     * Returns the mean time from a transaction being queued to its receipt being obtained.
+     *
+     * @return the mean latency in milliseconds, or 0 if no receipt has been obtained
+     */
+    public long getAverageReceiptLatency() {
+        long count = receiptCount.get();
+        return count == 0 ? 0 : totalReceiptLatency.get() / count;
+    }
+
+    public long getMaxReceiptLatency() {
+        return maxReceiptLatency.get();
+    }
+
+    void sendTransactionReceiptRequests() {
+        RequestWrapper submitted;
+        while ((submitted = submittedTransactions.poll()) != null) {
+            if (pendingTransactions.putIfAbsent(submitted.getTransactionHash(), submitted)
+                    != null) {
+                queueDepth.decrementAndGet();
+            }
+        }
+
+        List<RequestWrapper> requests =
+                new ArrayList<>(Math.min(maxRequestsPerPoll, pendingTransactions.size()));
+        Iterator<RequestWrapper> iterator = pendingTransactions.values().iterator();
+        while (iterator.hasNext() && requests.size() < maxRequestsPerPoll) {
+            requests.add(iterator.next());
+        }
+
+        for (int from = 0; from < requests.size(); from += batchSize) {
+            List<RequestWrapper> batch =
+                    requests.subList(from, Math.min(from + batchSize, requests.size()));
+            // the chain head only needs reporting once per interval
+            pollBatch(batch, from == 0 ? pollingScheduler : null);
+        }
+
+        // move the polled transactions behind those which were not polled
+        if (requests.size() < pendingTransactions.size()) {
+            for (RequestWrapper requestWrapper : requests) {
+                if (pendingTransactions.remove(requestWrapper.getTransactionHash()) != null) {
+                    pendingTransactions.put(requestWrapper.getTransactionHash(), requestWrapper);
+                }
+            }
+        }
+    }
+
+    private void pollBatch(List<RequestWrapper> batch, AdaptivePollingScheduler pollingScheduler) {
+        List<String> transactionHashes = new ArrayList<>(batch.size());
+        for (RequestWrapper requestWrapper : batch) {
+            transactionHashes.add(requestWrapper.getTransactionHash());
+        }
+
+        List<EthGetTransactionReceipt> responses;
+        try {
+            responses = sendTransactionReceiptRequests(transactionHashes, pollingScheduler);
+        } catch (IOException e) {
+            for (RequestWrapper requestWrapper : batch) {
+                remove(requestWrapper);
+                callback.exception(e);
+            }
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            RequestWrapper requestWrapper = batch.get(i);
+            String transactionHash = requestWrapper.getTransactionHash();
+            EthGetTransactionReceipt response = responses.get(i);
+            if (response.hasError()) {
+                remove(requestWrapper);
+                callback.exception(
+                        new TransactionException(
+                                "Error processing request: " + response.getError().getMessage()));
+                continue;
+            }
+
+            Optional<TransactionReceipt> transactionReceipt = response.getTransactionReceipt();
+            if (transactionReceipt.isPresent()) {
+                remove(requestWrapper);
+                recordLatency(System.currentTimeMillis() - requestWrapper.getQueuedAt());
+                callback.accept(transactionReceipt.get());
+            } else if (requestWrapper.getCount() == pollingAttemptsPerTxHash) {
+                remove(requestWrapper);
+                callback.exception(
+                        new TransactionException(
                                 "No transaction receipt for txHash: "
                                         + transactionHash
                                         + "received after "
                                         + pollingAttemptsPerTxHash
                                         + " attempts",
-                                transactionHash);
-                    } else {
-                        requestWrapper.incrementCount();
-                    }
-                }
-            } catch (IOException | TransactionException e) {
-                pendingTransactions.remove(requestWrapper);
-                callback.exception(e);
+                                transactionHash));
+            } else {
+                requestWrapper.incrementCount();
             }
         }
     }
 
-    /**
-     * Java doesn't provide a concurrent linked hash set, so we use a simple wrapper to store
-     * details of the number of requests we've made against this specific transaction hash. This is
-     * so we can preserve submission order as we interate over the outstanding transactions.
-     *
-     * <p>Note - the equals/hashcode methods only operate on the transactionHash field. This is
-     * intentional.
-     */
+    private void remove(RequestWrapper requestWrapper) {
+        pendingTransactions.remove(requestWrapper.getTransactionHash());
+        queueDepth.decrementAndGet();
+    }
+
+    private void recordLatency(long latency) {
+        receiptCount.incrementAndGet();
+        totalReceiptLatency.addAndGet(latency);
+        maxReceiptLatency.accumulateAndGet(latency, Math::max);
+    }
+
+    /** Details of the requests we've made against a specific transaction hash. */
     private static class RequestWrapper {
         private final String transactionHash;
+        private final long queuedAt;
         private int count;
 
-        RequestWrapper(String transactionHash) {
+        RequestWrapper(String transactionHash, long queuedAt) {
             this.transactionHash = transactionHash;
+            this.queuedAt = queuedAt;
             this.count = 0;
         }
 
@@ -113,6 +294,10 @@ public class QueuingTransactionReceiptProcessor extends TransactionReceiptProces
             return transactionHash;
         }
 
+        long getQueuedAt() {
+            return queuedAt;
+        }
+
         int getCount() {
             return count;
         }
@@ -120,24 +305,5 @@ public class QueuingTransactionReceiptProcessor extends TransactionReceiptProces
         void incrementCount() {
             this.count += 1;
         }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
-            }
-
-            RequestWrapper that = (RequestWrapper) o;
-
-            return transactionHash.equals(that.transactionHash);
-        }
-
-        @Override
-        public int hashCode() {
-            return transactionHash.hashCode();
-        }
     }
 }
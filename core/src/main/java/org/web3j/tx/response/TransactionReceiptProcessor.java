@@ -13,12 +13,20 @@
 package org.web3j.tx.response;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
 import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.utils.AdaptivePollingScheduler;
+import org.web3j.utils.Async;
 
 /** Abstraction for managing how we wait for transaction receipts to be generated on the network. */
 public abstract class TransactionReceiptProcessor {
@@ -32,6 +40,20 @@ public abstract class TransactionReceiptProcessor {
     public abstract TransactionReceipt waitForTransactionReceipt(String transactionHash)
             throws IOException, TransactionException;
 
+    /**
+     * Wait for a transaction receipt without blocking the caller.
+     *
+     * <p>By default this waits on a thread of {@link Async}. Processors which can wait without
+     * holding a thread for the duration override this.
+     *
+     * @param transactionHash the transaction hash
+     * @return a future completed with the receipt, or exceptionally if no receipt was obtained
+     */
+    public CompletableFuture<TransactionReceipt> waitForTransactionReceiptAsync(
+            String transactionHash) {
+        return Async.run(() -> waitForTransactionReceipt(transactionHash));
+    }
+
     Optional<? extends TransactionReceipt> sendTransactionReceiptRequest(String transactionHash)
             throws IOException, TransactionException {
         EthGetTransactionReceipt transactionReceipt =
@@ -43,4 +65,62 @@ public abstract class TransactionReceiptProcessor {
 
         return transactionReceipt.getTransactionReceipt();
     }
+
+    /**
+     * Request a transaction receipt along with the chain head in one batch, reporting the chain
+     * head to the polling scheduler.
+     */
+    Optional<? extends TransactionReceipt> sendTransactionReceiptRequest(
+            String transactionHash, AdaptivePollingScheduler pollingScheduler)
+            throws IOException, TransactionException {
+        BatchResponse batchResponse =
+                web3j.newBatch()
+                        .add(web3j.ethGetTransactionReceipt(transactionHash))
+                        .add(web3j.ethBlockNumber())
+                        .send();
+        EthGetTransactionReceipt transactionReceipt =
+                (EthGetTransactionReceipt) batchResponse.getResponses().get(0);
+        EthBlockNumber ethBlockNumber = (EthBlockNumber) batchResponse.getResponses().get(1);
+        if (!ethBlockNumber.hasError()) {
+            pollingScheduler.onBlock(ethBlockNumber.getBlockNumber());
+        }
+        if (transactionReceipt.hasError()) {
+            throw new TransactionException(
+                    "Error processing request: " + transactionReceipt.getError().getMessage());
+        }
+
+        return transactionReceipt.getTransactionReceipt();
+    }
+
+    /**
+     * Request transaction receipts in one batch, along with the chain head if a polling scheduler
+     * is provided.
+     */
+    List<EthGetTransactionReceipt> sendTransactionReceiptRequests(
+            List<String> transactionHashes, AdaptivePollingScheduler pollingScheduler)
+            throws IOException {
+        BatchRequest batchRequest = web3j.newBatch();
+        for (String transactionHash : transactionHashes) {
+            batchRequest.add(web3j.ethGetTransactionReceipt(transactionHash));
+        }
+        if (pollingScheduler != null) {
+            batchRequest.add(web3j.ethBlockNumber());
+        }
+        BatchResponse batchResponse = batchRequest.send();
+
+        if (pollingScheduler != null) {
+            EthBlockNumber ethBlockNumber =
+                    batchResponse.getResponse(transactionHashes.size(), EthBlockNumber.class);
+            if (!ethBlockNumber.hasError()) {
+                pollingScheduler.onBlock(ethBlockNumber.getBlockNumber());
+            }
+        }
+
+        List<EthGetTransactionReceipt> transactionReceipts =
+                new ArrayList<>(transactionHashes.size());
+        for (int i = 0; i < transactionHashes.size(); i++) {
+            transactionReceipts.add(batchResponse.getResponse(i, EthGetTransactionReceipt.class));
+        }
+        return transactionReceipts;
+    }
 }
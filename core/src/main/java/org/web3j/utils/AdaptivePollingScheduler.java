@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.utils;
+
+import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Schedules polling around the expected arrival of new blocks, rather than at a fixed interval.
+ *
+ * <p>The time between blocks is learnt from the chain heads reported via {@link
+ * #onBlock(BigInteger)}. After each poll, the next poll is scheduled for when the next block is
+ * expected. Once a block is overdue, polls are sent at the minimum interval, with the interval
+ * doubling the longer the block is overdue, up to the maximum interval. Hence new blocks are picked
+ * up soon after they arrive on fast chains, while idle chains are polled infrequently.
+ *
+ * <p>A single instance may be shared by all pollers connected to the same chain, such as filters
+ * and transaction receipt processors, so that they all benefit from what has been learnt about the
+ * chain.
+ */
+public class AdaptivePollingScheduler {
+
+    public static final long DEFAULT_MIN_INTERVAL = 250;
+    // the maximum interval, as a multiple of the initial block time
+    private static final int DEFAULT_MAX_BLOCK_TIMES = 4;
+    // the weight given to each new sample of the time between blocks
+    private static final double SMOOTHING = 0.25;
+
+    private final long minInterval;
+    private final long maxInterval;
+    private final LongSupplier clock;
+
+    private double blockTime;
+    private BigInteger lastBlockNumber;
+    private long lastBlockTime;
+
+    /**
+     * Create a scheduler polling no more often than every {@link #DEFAULT_MIN_INTERVAL}
+     * milliseconds, and no less often than every four initial block times.
+     *
+     * @param initialBlockTime the expected time between blocks in milliseconds, until it is learnt
+     */
+    public AdaptivePollingScheduler(long initialBlockTime) {
+        this(
+                initialBlockTime,
+                Math.min(DEFAULT_MIN_INTERVAL, initialBlockTime),
+                initialBlockTime * DEFAULT_MAX_BLOCK_TIMES);
+    }
+
+    public AdaptivePollingScheduler(long initialBlockTime, long minInterval, long maxInterval) {
+        this(initialBlockTime, minInterval, maxInterval, System::currentTimeMillis);
+    }
+
+    AdaptivePollingScheduler(
+            long initialBlockTime, long minInterval, long maxInterval, LongSupplier clock) {
+        if (minInterval <= 0 || maxInterval < minInterval) {
+            throw new IllegalArgumentException(
+                    "Invalid polling intervals: " + minInterval + ", " + maxInterval);
+        }
+        this.minInterval = minInterval;
+        this.maxInterval = maxInterval;
+        this.clock = clock;
+        this.blockTime = clamp(initialBlockTime);
+        // until a block is seen, treat one as due now so that the chain head is learnt quickly
+        this.lastBlockTime = clock.getAsLong() - getBlockTime();
+    }
+
+    /**
+     * Report the current chain head. Reporting the same or an earlier block again has no effect, so
+     * pollers may report the head after every poll.
+     *
+     * @param blockNumber the latest block number
+     */
+    public synchronized void onBlock(BigInteger blockNumber) {
+        long now = clock.getAsLong();
+        if (lastBlockNumber != null) {
+            if (blockNumber.compareTo(lastBlockNumber) <= 0) {
+                return;
+            }
+            long blocks =
+                    blockNumber
+                            .subtract(lastBlockNumber)
+                            .min(BigInteger.valueOf(Integer.MAX_VALUE))
+                            .longValue();
+            long sample = clamp((now - lastBlockTime) / blocks);
+            blockTime += SMOOTHING * (sample - blockTime);
+        }
+        lastBlockNumber = blockNumber;
+        lastBlockTime = now;
+    }
+
+    /**
+     * Returns the learnt time between blocks.
+     *
+     * @return the time between blocks in milliseconds
+     */
+    public synchronized long getBlockTime() {
+        return Math.round(blockTime);
+    }
+
+    /**
+     * Returns how long to wait before the next poll.
+     *
+     * @return delay in milliseconds
+     */
+    public synchronized long nextDelay() {
+        long overdue = clock.getAsLong() - (lastBlockTime + getBlockTime());
+        if (overdue < 0) {
+            return Math.min(-overdue, maxInterval);
+        }
+        return clamp(overdue);
+    }
+
+    /**
+     * Run a polling task repeatedly, each time after {@link #nextDelay()}. The first run is
+     * immediate. As with {@link ScheduledExecutorService#scheduleAtFixedRate}, runs do not overlap.
+     *
+     * @param scheduledExecutorService executor to run the task with
+     * @param task polling task, which should report the chain head via {@link #onBlock}
+     * @return a future to cancel the polling with
+     */
+    public Future<?> schedule(ScheduledExecutorService scheduledExecutorService, Runnable task) {
+        CompletableFuture<Void> polling = new CompletableFuture<>();
+        AtomicReference<ScheduledFuture<?>> next = new AtomicReference<>();
+        Runnable poll =
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        if (polling.isDone()) {
+                            return;
+                        }
+                        try {
+                            task.run();
+                        } finally {
+                            if (!polling.isDone()) {
+                                next.set(
+                                        scheduledExecutorService.schedule(
+                                                this, nextDelay(), TimeUnit.MILLISECONDS));
+                            }
+                        }
+                    }
+                };
+        next.set(scheduledExecutorService.schedule(poll, 0, TimeUnit.MILLISECONDS));
+        polling.whenComplete((result, e) -> next.get().cancel(false));
+        return polling;
+    }
+
+    private long clamp(long interval) {
+        return Math.max(minInterval, Math.min(maxInterval, interval));
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.utils;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Immutable 20 byte Ethereum account address.
+ *
+ * <p>The address is packed into primitive fields with a precomputed hash code, making it cheaper to
+ * hold and to use as a map key than the equivalent hex string. Instances obtained via {@link
+ * #intern()} are shared, so addresses which recur across many responses are only held once.
+ */
+@JsonSerialize(using = Address20.Serializer.class)
+@JsonDeserialize(using = Address20.Deserializer.class)
+public final class Address20 implements Comparable<Address20> {
+
+    public static final int LENGTH = 20;
+
+    private static final WeakInterner<Address20> INTERNER = new WeakInterner<>();
+
+    private final long high;
+    private final long middle;
+    private final int low;
+    private final int hashCode;
+
+    private Address20(long high, long middle, int low) {
+        this.high = high;
+        this.middle = middle;
+        this.low = low;
+        this.hashCode = 31 * (31 * HexWords.mix(high) + HexWords.mix(middle)) + low;
+    }
+
+    public static Address20 fromString(String hex) {
+        int offset = HexWords.checkedOffset(hex, LENGTH * 2);
+        return new Address20(
+                HexWords.parse(hex, offset, 16),
+                HexWords.parse(hex, offset + 16, 16),
+                (int) HexWords.parse(hex, offset + 32, 8));
+    }
+
+    public static Address20 wrap(byte[] bytes) {
+        if (bytes.length != LENGTH) {
+            throw new IllegalArgumentException(
+                    "Address must be " + LENGTH + " bytes, was " + bytes.length);
+        }
+        return new Address20(
+                HexWords.read(bytes, 0, 8),
+                HexWords.read(bytes, 8, 8),
+                (int) HexWords.read(bytes, 16, 4));
+    }
+
+    /**
+     * Parse and intern an address, returning null for a null or empty value as found in responses
+     * for contract creation transactions.
+     *
+     * @param hex hex encoded address, with or without a 0x prefix
+     * @return the interned address or null
+     */
+    public static Address20 internOrNull(String hex) {
+        if (Strings.isEmpty(hex)) {
+            return null;
+        }
+        return fromString(hex).intern();
+    }
+
+    /**
+     * Parse and intern an address, returning null if the value is not a valid address.
+     *
+     * @param hex hex encoded address, with or without a 0x prefix
+     * @return the interned address or null
+     */
+    public static Address20 internIfValid(String hex) {
+        return HexWords.isValid(hex, LENGTH * 2) ? fromString(hex).intern() : null;
+    }
+
+    /**
+     * Tests whether a value is identical to the string form of the address it represents, so that
+     * it need not be held in addition to the address.
+     *
+     * @param hex hex string to check
+     * @return true if the value is 0x prefixed lower case hex of the expected length
+     */
+    public static boolean isCanonical(String hex) {
+        return HexWords.isCanonical(hex, LENGTH * 2);
+    }
+
+    /**
+     * Returns the canonical instance of this address from a shared pool. The pool only holds weak
+     * references, so unused addresses do not accumulate.
+     *
+     * @return an address equal to this one, shared with other callers
+     */
+    public Address20 intern() {
+        return INTERNER.intern(this);
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[LENGTH];
+        copyTo(bytes, 0);
+        return bytes;
+    }
+
+    /**
+     * Write this address into a byte array without allocating.
+     *
+     * @param dest destination array
+     * @param offset position of the first address byte in the destination
+     */
+    public void copyTo(byte[] dest, int offset) {
+        HexWords.write(dest, offset, 8, high);
+        HexWords.write(dest, offset + 8, 8, middle);
+        HexWords.write(dest, offset + 16, 4, low);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(2 + LENGTH * 2).append("0x");
+        HexWords.append(sb, high, 16);
+        HexWords.append(sb, middle, 16);
+        HexWords.append(sb, low, 8);
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Address20)) {
+            return false;
+        }
+        Address20 that = (Address20) o;
+        return hashCode == that.hashCode
+                && high == that.high
+                && middle == that.middle
+                && low == that.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public int compareTo(Address20 other) {
+        int result = Long.compareUnsigned(high, other.high);
+        if (result == 0) {
+            result = Long.compareUnsigned(middle, other.middle);
+        }
+        if (result == 0) {
+            result = Integer.compareUnsigned(low, other.low);
+        }
+        return result;
+    }
+
+    public static class Serializer extends JsonSerializer<Address20> {
+        @Override
+        public void serialize(Address20 value, JsonGenerator gen, SerializerProvider serializers)
+                throws IOException {
+            gen.writeString(value.toString());
+        }
+    }
+
+    /** Deserializes addresses into interned instances. */
+    public static class Deserializer extends JsonDeserializer<Address20> {
+        @Override
+        public Address20 deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.getCurrentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            try {
+                return internOrNull(p.getText());
+            } catch (IllegalArgumentException e) {
+                throw ctxt.weirdStringException(p.getText(), Address20.class, e.getMessage());
+            }
+        }
+    }
+}
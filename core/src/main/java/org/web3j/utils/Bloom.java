@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.utils;
+
+import java.util.Arrays;
+
+import org.web3j.crypto.Hash;
+
+/**
+ * The 2048 bit Bloom filter of the addresses and topics of logs, as carried by the logsBloom field
+ * of blocks and transaction receipts.
+ *
+ * <p>Each item sets three bits, taken from the first six bytes of its Keccak-256 hash. A test which
+ * fails shows the item is definitely absent, whereas a test which succeeds only shows the item may
+ * be present.
+ */
+public final class Bloom {
+
+    public static final int LENGTH = 256;
+
+    private final byte[] bits;
+
+    public Bloom() {
+        this(new byte[LENGTH]);
+    }
+
+    private Bloom(byte[] bits) {
+        this.bits = bits;
+    }
+
+    public static Bloom fromString(String hex) {
+        HexWords.checkedOffset(hex, LENGTH * 2);
+        return new Bloom(Numeric.hexStringToByteArray(hex));
+    }
+
+    /**
+     * Compute the positions of the three bits an item sets, as indices into the bit array where
+     * index 0 is the most significant bit of the first byte.
+     *
+     * @param item item bytes, such as an address or topic
+     * @return the three bit indices
+     */
+    public static int[] bitIndices(byte[] item) {
+        byte[] hash = Hash.sha3(item);
+        int[] indices = new int[3];
+        for (int i = 0; i < 3; i++) {
+            int value = (((hash[2 * i] & 0xff) << 8) | (hash[2 * i + 1] & 0xff)) & 0x7ff;
+            indices[i] = LENGTH * 8 - 1 - value;
+        }
+        return indices;
+    }
+
+    public Bloom add(byte[] item) {
+        for (int index : bitIndices(item)) {
+            bits[index >>> 3] |= (byte) (0x80 >>> (index & 7));
+        }
+        return this;
+    }
+
+    public Bloom addHex(String hex) {
+        return add(Numeric.hexStringToByteArray(hex));
+    }
+
+    /**
+     * Test whether all of the provided bits are set.
+     *
+     * @param bitIndices bit indices, as returned by {@link #bitIndices(byte[])}
+     * @return true if all bits are set
+     */
+    public boolean test(int[] bitIndices) {
+        for (int index : bitIndices) {
+            if ((bits[index >>> 3] & (0x80 >>> (index & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean mightContain(byte[] item) {
+        return test(bitIndices(item));
+    }
+
+    /**
+     * Test whether an address or topic may be present.
+     *
+     * @param hex hex encoded address or topic
+     * @return false if the value is definitely absent
+     */
+    public boolean mightContainHex(String hex) {
+        return mightContain(Numeric.hexStringToByteArray(hex));
+    }
+
+    public byte[] toBytes() {
+        return Arrays.copyOf(bits, LENGTH);
+    }
+
+    @Override
+    public String toString() {
+        return Numeric.toHexString(bits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Bloom)) {
+            return false;
+        }
+        return Arrays.equals(bits, ((Bloom) o).bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bits);
+    }
+}
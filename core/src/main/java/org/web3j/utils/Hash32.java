@@ -0,0 +1,243 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Immutable 32 byte hash, such as a block or transaction hash or a log topic.
+ *
+ * <p>See {@link Address20} for the rationale behind the packed representation and interning.
+ */
+@JsonSerialize(using = Hash32.Serializer.class)
+@JsonDeserialize(using = Hash32.Deserializer.class)
+public final class Hash32 implements Comparable<Hash32> {
+
+    public static final int LENGTH = 32;
+
+    private static final WeakInterner<Hash32> INTERNER = new WeakInterner<>();
+
+    private final long word0;
+    private final long word1;
+    private final long word2;
+    private final long word3;
+    private final int hashCode;
+
+    private Hash32(long word0, long word1, long word2, long word3) {
+        this.word0 = word0;
+        this.word1 = word1;
+        this.word2 = word2;
+        this.word3 = word3;
+        this.hashCode =
+                31 * (31 * (31 * HexWords.mix(word0) + HexWords.mix(word1)) + HexWords.mix(word2))
+                        + HexWords.mix(word3);
+    }
+
+    public static Hash32 fromString(String hex) {
+        int offset = HexWords.checkedOffset(hex, LENGTH * 2);
+        return new Hash32(
+                HexWords.parse(hex, offset, 16),
+                HexWords.parse(hex, offset + 16, 16),
+                HexWords.parse(hex, offset + 32, 16),
+                HexWords.parse(hex, offset + 48, 16));
+    }
+
+    public static Hash32 wrap(byte[] bytes) {
+        if (bytes.length != LENGTH) {
+            throw new IllegalArgumentException(
+                    "Hash must be " + LENGTH + " bytes, was " + bytes.length);
+        }
+        return new Hash32(
+                HexWords.read(bytes, 0, 8),
+                HexWords.read(bytes, 8, 8),
+                HexWords.read(bytes, 16, 8),
+                HexWords.read(bytes, 24, 8));
+    }
+
+    /**
+     * Parse and intern a hash, returning null for a null or empty value.
+     *
+     * @param hex hex encoded hash, with or without a 0x prefix
+     * @return the interned hash or null
+     */
+    public static Hash32 internOrNull(String hex) {
+        if (Strings.isEmpty(hex)) {
+            return null;
+        }
+        return fromString(hex).intern();
+    }
+
+    /**
+     * Parse and intern a hash, returning null if the value is not a valid hash.
+     *
+     * @param hex hex encoded hash, with or without a 0x prefix
+     * @return the interned hash or null
+     */
+    public static Hash32 internIfValid(String hex) {
+        return HexWords.isValid(hex, LENGTH * 2) ? fromString(hex).intern() : null;
+    }
+
+    /**
+     * Tests whether a value is identical to the string form of the hash it represents, so that it
+     * need not be held in addition to the hash.
+     *
+     * @param hex hex string to check
+     * @return true if the value is 0x prefixed lower case hex of the expected length
+     */
+    public static boolean isCanonical(String hex) {
+        return HexWords.isCanonical(hex, LENGTH * 2);
+    }
+
+    /**
+     * Parse and intern a list of hashes, such as the topics of a log.
+     *
+     * @param hexValues hex encoded hashes
+     * @return the interned hashes, or null if the list is null or holds an invalid hash
+     */
+    public static List<Hash32> internAllIfValid(List<String> hexValues) {
+        if (hexValues == null) {
+            return null;
+        }
+        List<Hash32> hashes = new ArrayList<>(hexValues.size());
+        for (String hex : hexValues) {
+            Hash32 hash = internIfValid(hex);
+            if (hash == null) {
+                return null;
+            }
+            hashes.add(hash);
+        }
+        return hashes;
+    }
+
+    /**
+     * Tests whether all values of a list are canonical, as per {@link #isCanonical(String)}.
+     *
+     * @param hexValues hex strings to check
+     * @return true if every value is canonical
+     */
+    public static boolean isCanonical(List<String> hexValues) {
+        for (String hex : hexValues) {
+            if (!isCanonical(hex)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static List<String> toStrings(List<Hash32> hashes) {
+        List<String> hexValues = new ArrayList<>(hashes.size());
+        for (Hash32 hash : hashes) {
+            hexValues.add(hash.toString());
+        }
+        return hexValues;
+    }
+
+    /**
+     * Returns the canonical instance of this hash from a shared, weakly referenced pool.
+     *
+     * @return a hash equal to this one, shared with other callers
+     */
+    public Hash32 intern() {
+        return INTERNER.intern(this);
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[LENGTH];
+        HexWords.write(bytes, 0, 8, word0);
+        HexWords.write(bytes, 8, 8, word1);
+        HexWords.write(bytes, 16, 8, word2);
+        HexWords.write(bytes, 24, 8, word3);
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(2 + LENGTH * 2).append("0x");
+        HexWords.append(sb, word0, 16);
+        HexWords.append(sb, word1, 16);
+        HexWords.append(sb, word2, 16);
+        HexWords.append(sb, word3, 16);
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Hash32)) {
+            return false;
+        }
+        Hash32 that = (Hash32) o;
+        return hashCode == that.hashCode
+                && word0 == that.word0
+                && word1 == that.word1
+                && word2 == that.word2
+                && word3 == that.word3;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public int compareTo(Hash32 other) {
+        int result = Long.compareUnsigned(word0, other.word0);
+        if (result == 0) {
+            result = Long.compareUnsigned(word1, other.word1);
+        }
+        if (result == 0) {
+            result = Long.compareUnsigned(word2, other.word2);
+        }
+        if (result == 0) {
+            result = Long.compareUnsigned(word3, other.word3);
+        }
+        return result;
+    }
+
+    public static class Serializer extends JsonSerializer<Hash32> {
+        @Override
+        public void serialize(Hash32 value, JsonGenerator gen, SerializerProvider serializers)
+                throws IOException {
+            gen.writeString(value.toString());
+        }
+    }
+
+    /** Deserializes hashes into interned instances. */
+    public static class Deserializer extends JsonDeserializer<Hash32> {
+        @Override
+        public Hash32 deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.getCurrentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            try {
+                return internOrNull(p.getText());
+            } catch (IllegalArgumentException e) {
+                throw ctxt.weirdStringException(p.getText(), Hash32.class, e.getMessage());
+            }
+        }
+    }
+}
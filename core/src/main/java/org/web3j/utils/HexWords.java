@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.utils;
+
+/**
+ * Conversions between hex strings, byte arrays and the packed {@code long} words backing the
+ * fixed-width value types.
+ */
+final class HexWords {
+
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
+    private HexWords() {}
+
+    /**
+     * Strips an optional 0x prefix and checks the remaining number of hex digits.
+     *
+     * @param hex hex string to check
+     * @param digits required number of hex digits
+     * @return offset of the first hex digit in the string
+     */
+    static int checkedOffset(String hex, int digits) {
+        if (hex == null) {
+            throw new IllegalArgumentException("Hex value cannot be null");
+        }
+        int offset = Numeric.containsHexPrefix(hex) ? 2 : 0;
+        if (hex.length() - offset != digits) {
+            throw new IllegalArgumentException(
+                    hex + " is not a " + (digits / 2) + " byte hex value");
+        }
+        return offset;
+    }
+
+    /**
+     * Tests whether a value is a valid hex value with the required number of digits.
+     *
+     * @param hex hex string to check, with or without a 0x prefix
+     * @param digits required number of hex digits
+     * @return true if the value can be parsed
+     */
+    static boolean isValid(String hex, int digits) {
+        if (hex == null) {
+            return false;
+        }
+        int offset = Numeric.containsHexPrefix(hex) ? 2 : 0;
+        if (hex.length() - offset != digits) {
+            return false;
+        }
+        for (int i = offset; i < hex.length(); i++) {
+            if (Character.digit(hex.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tests whether a value is in the form produced by {@link #append(StringBuilder, long, int)},
+     * being 0x prefixed lower case hex.
+     *
+     * @param hex hex string to check
+     * @param digits required number of hex digits
+     * @return true if the value is canonical
+     */
+    static boolean isCanonical(String hex, int digits) {
+        if (hex == null || hex.length() != digits + 2 || !hex.startsWith("0x")) {
+            return false;
+        }
+        for (int i = 2; i < hex.length(); i++) {
+            char c = hex.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static long parse(String hex, int offset, int digits) {
+        long result = 0;
+        for (int i = offset; i < offset + digits; i++) {
+            int nibble = Character.digit(hex.charAt(i), 16);
+            if (nibble < 0) {
+                throw new IllegalArgumentException("Invalid hex character in " + hex);
+            }
+            result = (result << 4) | nibble;
+        }
+        return result;
+    }
+
+    static void append(StringBuilder sb, long value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            sb.append(HEX_CHARS[(int) (value >>> shift) & 0xf]);
+        }
+    }
+
+    static long read(byte[] bytes, int offset, int length) {
+        long result = 0;
+        for (int i = offset; i < offset + length; i++) {
+            result = (result << 8) | (bytes[i] & 0xff);
+        }
+        return result;
+    }
+
+    static void write(byte[] bytes, int offset, int length, long value) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            bytes[i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    static int mix(long value) {
+        return (int) (value ^ (value >>> 32));
+    }
+}
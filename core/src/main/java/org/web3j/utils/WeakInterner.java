@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.utils;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Canonicalising pool for immutable values. Entries are only weakly referenced, so values which are
+ * no longer in use elsewhere are reclaimed by the garbage collector.
+ *
+ * <p>The pool is split into stripes by hash code, each with its own lock, so that concurrent
+ * callers rarely contend.
+ *
+ * @param <T> value type, which must implement equals and hashCode
+ */
+public class WeakInterner<T> {
+
+    private static final int STRIPES = 64;
+
+    private final List<Map<T, WeakReference<T>>> stripes = new ArrayList<>(STRIPES);
+
+    public WeakInterner() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes.add(new WeakHashMap<>());
+        }
+    }
+
+    /**
+     * Returns the canonical instance equal to the provided value, adding the value to the pool if
+     * no such instance exists.
+     *
+     * @param value value to intern
+     * @return the pooled instance
+     */
+    public T intern(T value) {
+        Map<T, WeakReference<T>> pool = stripe(value);
+        synchronized (pool) {
+            WeakReference<T> reference = pool.get(value);
+            if (reference != null) {
+                T existing = reference.get();
+                if (existing != null) {
+                    return existing;
+                }
+            }
+            pool.put(value, new WeakReference<>(value));
+            return value;
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<T, WeakReference<T>> pool : stripes) {
+            synchronized (pool) {
+                size += pool.size();
+            }
+        }
+        return size;
+    }
+
+    private Map<T, WeakReference<T>> stripe(T value) {
+        int hash = value.hashCode();
+        return stripes.get((hash ^ (hash >>> 16)) & (STRIPES - 1));
+    }
+}
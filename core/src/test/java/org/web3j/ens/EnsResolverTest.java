@@ -23,7 +23,8 @@ import org.web3j.abi.datatypes.Utf8String;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.Web3jService;
 import org.web3j.protocol.core.Request;
-import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.BlockHeader;
+import org.web3j.protocol.core.methods.response.EthBlockHeader;
 import org.web3j.protocol.core.methods.response.EthCall;
 import org.web3j.protocol.core.methods.response.EthSyncing;
 import org.web3j.protocol.core.methods.response.NetVersion;
@@ -148,12 +149,16 @@ public class EnsResolverTest {
     }
 
     private void configureLatestBlock(long timestamp) throws IOException {
-        EthBlock.Block block = new EthBlock.Block();
-        block.setTimestamp(Numeric.encodeQuantity(BigInteger.valueOf(timestamp)));
-        EthBlock ethBlock = new EthBlock();
-        ethBlock.setResult(block);
-
-        when(web3jService.send(any(Request.class), eq(EthBlock.class))).thenReturn(ethBlock);
+        EthBlockHeader ethBlockHeader = new EthBlockHeader();
+        ethBlockHeader.setResult(
+                new BlockHeader(
+                        "0x1",
+                        "0x1",
+                        "0x0",
+                        Numeric.encodeQuantity(BigInteger.valueOf(timestamp))));
+
+        when(web3jService.send(any(Request.class), eq(EthBlockHeader.class)))
+                .thenReturn(ethBlockHeader);
     }
 
     @Test
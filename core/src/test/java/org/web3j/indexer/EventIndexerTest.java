@@ -0,0 +1,188 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.indexer;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.web3j.TempFileProvider;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.BlockHeader;
+import org.web3j.protocol.core.methods.response.EthBlockHeader;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.utils.Numeric;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EventIndexerTest extends TempFileProvider {
+
+    private static final String FIRST = "0x407d73d8a49eeb85d32cf465507dd71d507100c1";
+    private static final String SECOND = "0x8504d3d8a49eeb85d32cf465507dd71d507100c1";
+
+    private Web3j web3j;
+    private FileCheckpointStore checkpointStore;
+    private final List<String> handled = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger logErrors = new AtomicInteger();
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        checkpointStore = new FileCheckpointStore(Paths.get(tempDirPath, "checkpoint"));
+
+        Web3jService web3jService = mock(Web3jService.class);
+        web3j = Web3j.build(web3jService, 1000, Executors.newSingleThreadScheduledExecutor());
+
+        EthBlockHeader ethBlockHeader = new EthBlockHeader();
+        ethBlockHeader.setResult(new BlockHeader("0x19", "0x19", "0x18", "0x0"));
+        when(web3jService.send(any(Request.class), eq(EthBlockHeader.class)))
+                .thenReturn(ethBlockHeader);
+
+        // the first contract logs events in blocks 5, 12 and 20, the second in block 12 only
+        when(web3jService.send(any(Request.class), eq(EthLog.class)))
+                .thenAnswer(
+                        invocation -> {
+                            if (logErrors.getAndDecrement() > 0) {
+                                EthLog ethLog = new EthLog();
+                                ethLog.setError(new Response.Error(-32000, "query timeout"));
+                                return ethLog;
+                            }
+                            EthFilter ethFilter =
+                                    (EthFilter)
+                                            invocation
+                                                    .getArgumentAt(0, Request.class)
+                                                    .getParams()
+                                                    .get(0);
+                            String address = ethFilter.getAddress().get(0);
+                            List<int[]> events =
+                                    address.equals(FIRST)
+                                            ? Arrays.asList(
+                                                    new int[] {5, 0},
+                                                    new int[] {12, 1},
+                                                    new int[] {20, 0})
+                                            : Arrays.asList(new int[] {12, 0});
+
+                            List<EthLog.LogResult> logs = new ArrayList<>();
+                            for (int[] event : events) {
+                                if (inRange(ethFilter, event[0])) {
+                                    EthLog.LogObject log = new EthLog.LogObject();
+                                    log.setAddress(address);
+                                    log.setBlockNumber(
+                                            Numeric.encodeQuantity(BigInteger.valueOf(event[0])));
+                                    log.setLogIndex(
+                                            Numeric.encodeQuantity(BigInteger.valueOf(event[1])));
+                                    logs.add(log);
+                                }
+                            }
+                            EthLog ethLog = new EthLog();
+                            ethLog.setResult(logs);
+                            return ethLog;
+                        });
+    }
+
+    @Test
+    public void testIndexesInOrderWithCheckpoints() throws Exception {
+        List<BigInteger> checkpoints = createIndexer(10).flowable().take(2).toList().blockingGet();
+
+        assertThat(
+                checkpoints, equalTo(Arrays.asList(BigInteger.valueOf(9), BigInteger.valueOf(19))));
+        assertThat(checkpointStore.load().get(), equalTo(BigInteger.valueOf(19)));
+        assertThat(handled, equalTo(Arrays.asList("first@5", "second@12", "first@12", "first@20")));
+    }
+
+    @Test
+    public void testResumesFromCheckpoint() throws Exception {
+        checkpointStore.save(BigInteger.valueOf(19));
+
+        List<BigInteger> checkpoints = createIndexer(5).flowable().take(1).toList().blockingGet();
+
+        assertThat(checkpoints, equalTo(Arrays.asList(BigInteger.valueOf(25))));
+        assertThat(handled, equalTo(Arrays.asList("first@20")));
+        assertThat(
+                new String(Files.readAllBytes(checkpointStore.getPath()), StandardCharsets.UTF_8),
+                equalTo("25"));
+    }
+
+    @Test
+    public void testRetriesJsonRpcError() throws Exception {
+        logErrors.set(1);
+
+        List<BigInteger> checkpoints = createIndexer(10).flowable().take(2).toList().blockingGet();
+
+        assertThat(
+                checkpoints, equalTo(Arrays.asList(BigInteger.valueOf(9), BigInteger.valueOf(19))));
+        assertThat(handled, equalTo(Arrays.asList("first@5", "second@12", "first@12", "first@20")));
+    }
+
+    @Test
+    public void testEmptyCheckpointRejected() throws Exception {
+        Files.write(checkpointStore.getPath(), new byte[0]);
+
+        try {
+            checkpointStore.load();
+            fail();
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    private EventIndexer createIndexer(int checkpointInterval) {
+        return new EventIndexer(web3j, checkpointStore)
+                .addHandler(
+                        new EthFilter(
+                                DefaultBlockParameterName.EARLIEST,
+                                DefaultBlockParameterName.LATEST,
+                                FIRST),
+                        log -> handled.add("first@" + log.getBlockNumber()))
+                .addHandler(
+                        new EthFilter(
+                                DefaultBlockParameterName.EARLIEST,
+                                DefaultBlockParameterName.LATEST,
+                                SECOND),
+                        log -> handled.add("second@" + log.getBlockNumber()))
+                .setBlocksPerRequest(10)
+                .setCheckpointInterval(checkpointInterval)
+                .setPollingInterval(100);
+    }
+
+    private static boolean inRange(EthFilter ethFilter, int blockNumber) {
+        BigInteger from = ((DefaultBlockParameterNumber) ethFilter.getFromBlock()).getBlockNumber();
+        BigInteger to = ((DefaultBlockParameterNumber) ethFilter.getToBlock()).getBlockNumber();
+        BigInteger number = BigInteger.valueOf(blockNumber);
+        return from.compareTo(number) <= 0 && to.compareTo(number) >= 0;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core;
+
+import java.math.BigInteger;
+import java.util.concurrent.Executors;
+
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.subscribers.TestSubscriber;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.methods.response.BlockHeader;
+import org.web3j.protocol.core.methods.response.EthBlockHeader;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ChainHeadTrackerTest {
+
+    private Web3jService web3jService;
+    private PublishProcessor<BlockHeader> heads;
+    private ChainHeadTracker chainHeadTracker;
+
+    @Before
+    public void setUp() throws Exception {
+        web3jService = mock(Web3jService.class);
+        Web3j web3j = Web3j.build(web3jService, 1000, Executors.newSingleThreadScheduledExecutor());
+        heads = PublishProcessor.create();
+        chainHeadTracker = new ChainHeadTracker(web3j, heads);
+
+        EthBlockHeader ethBlockHeader = new EthBlockHeader();
+        ethBlockHeader.setResult(createBlockHeader(10));
+        when(web3jService.send(any(Request.class), eq(EthBlockHeader.class)))
+                .thenReturn(ethBlockHeader);
+    }
+
+    @Test
+    public void testLatestHeaderRequestedUntilTracking() throws Exception {
+        assertFalse(chainHeadTracker.getCachedHeader().isPresent());
+
+        // one-off requests do not start tracking the chain head
+        assertThat(chainHeadTracker.getLatestBlockNumber(), equalTo(BigInteger.TEN));
+        assertThat(chainHeadTracker.getLatestBlockNumber(), equalTo(BigInteger.TEN));
+        assertFalse(chainHeadTracker.isTracking());
+        assertFalse(heads.hasSubscribers());
+        verify(web3jService, times(2)).send(any(Request.class), eq(EthBlockHeader.class));
+
+        chainHeadTracker.start();
+        assertTrue(chainHeadTracker.isTracking());
+        assertTrue(heads.hasSubscribers());
+
+        heads.onNext(createBlockHeader(11));
+        assertThat(chainHeadTracker.getLatestBlockNumber(), equalTo(BigInteger.valueOf(11)));
+        assertThat(
+                chainHeadTracker.getCachedHeader().get().getNumber(),
+                equalTo(BigInteger.valueOf(11)));
+
+        verify(web3jService, times(2)).send(any(Request.class), eq(EthBlockHeader.class));
+    }
+
+    @Test
+    public void testFlowableSharesHeads() throws Exception {
+        TestSubscriber<BlockHeader> first = chainHeadTracker.flowable().test();
+        heads.onNext(createBlockHeader(11));
+
+        // later subscribers receive the latest head straight away
+        TestSubscriber<BlockHeader> second = chainHeadTracker.flowable().test();
+        heads.onNext(createBlockHeader(12));
+
+        first.assertValueCount(2);
+        second.assertValueCount(2);
+        assertThat(second.values().get(0).getNumber(), equalTo(BigInteger.valueOf(11)));
+
+        // a requested header does not replace a newer head
+        assertThat(chainHeadTracker.refresh().getNumber(), equalTo(BigInteger.TEN));
+        assertThat(chainHeadTracker.getLatestHeader().getNumber(), equalTo(BigInteger.valueOf(12)));
+
+        chainHeadTracker.stop();
+        first.dispose();
+        second.dispose();
+        assertFalse(heads.hasSubscribers());
+    }
+
+    private BlockHeader createBlockHeader(long number) {
+        String quantity = "0x" + Long.toHexString(number);
+        return new BlockHeader(quantity, quantity, "0x0", "0x0");
+    }
+}
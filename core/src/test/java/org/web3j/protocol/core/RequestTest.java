@@ -337,6 +337,25 @@ public class RequestTest extends RequestTester {
                         + "\"params\":[\"0x1b4\",true],\"id\":1}");
     }
 
+    @Test
+    public void testEthGetBlockReceipts() throws Exception {
+        web3j.ethGetBlockReceipts(DefaultBlockParameter.valueOf(Numeric.toBigInt("0x1b4"))).send();
+
+        verifyResult(
+                "{\"jsonrpc\":\"2.0\",\"method\":\"eth_getBlockReceipts\","
+                        + "\"params\":[\"0x1b4\"],\"id\":1}");
+    }
+
+    @Test
+    public void testEthGetBlockHeaderByNumber() throws Exception {
+        web3j.ethGetBlockHeaderByNumber(DefaultBlockParameter.valueOf(Numeric.toBigInt("0x1b4")))
+                .send();
+
+        verifyResult(
+                "{\"jsonrpc\":\"2.0\",\"method\":\"eth_getBlockByNumber\","
+                        + "\"params\":[\"0x1b4\",false],\"id\":1}");
+    }
+
     @Test
     public void testEthGetTransactionByHash() throws Exception {
         web3j.ethGetTransactionByHash(
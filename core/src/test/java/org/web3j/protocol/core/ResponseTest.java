@@ -22,14 +22,17 @@ import java.util.Map;
 import java.util.Optional;
 
 import org.junit.Test;
+
 import org.web3j.protocol.ResponseTester;
 import org.web3j.protocol.core.methods.response.AbiDefinition;
+import org.web3j.protocol.core.methods.response.BlockHeader;
 import org.web3j.protocol.core.methods.response.DbGetHex;
 import org.web3j.protocol.core.methods.response.DbGetString;
 import org.web3j.protocol.core.methods.response.DbPutHex;
 import org.web3j.protocol.core.methods.response.DbPutString;
 import org.web3j.protocol.core.methods.response.EthAccounts;
 import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthBlockHeader;
 import org.web3j.protocol.core.methods.response.EthBlockNumber;
 import org.web3j.protocol.core.methods.response.EthCall;
 import org.web3j.protocol.core.methods.response.EthCompileLLL;
@@ -850,6 +853,40 @@ public class ResponseTest extends ResponseTester {
         assertNull(ethBlock.getBlock());
     }
 
+    @Test
+    public void testEthBlockHeader() {
+        buildResponse(
+                "{\n"
+                        + "\"id\":1,\n"
+                        + "\"jsonrpc\":\"2.0\",\n"
+                        + "\"result\": {\n"
+                        + "    \"number\": \"0x1b4\",\n"
+                        + "    \"hash\": \"0xe670ec64341771606e55d6b4ca35a1a6b75ee3d5145a99d05921026d1527331\",\n"
+                        + "    \"parentHash\": \"0x9646252be9520f6e71339a8df9c55e4d7619deeb018d2a3f2d21fc165dde5eb5\",\n"
+                        + "    \"logsBloom\": \"0xe670ec64341771606e55d6b4ca35a1a6b75ee3d5145a99d05921026d1527331\",\n"
+                        + "    \"extraData\": \"0x0000000000000000000000000000000000000000000000000000000000000000\",\n"
+                        + "    \"timestamp\": \"0x54e34e8e\",\n"
+                        + "    \"transactions\": [\n"
+                        + "        \"0xe670ec64341771606e55d6b4ca35a1a6b75ee3d5145a99d05921026d1527331\"\n"
+                        + "    ],\n"
+                        + "    \"uncles\": [\n"
+                        + "        \"0x1606e5\"\n"
+                        + "    ]\n"
+                        + "  }\n"
+                        + "}");
+
+        EthBlockHeader ethBlockHeader = deserialiseResponse(EthBlockHeader.class);
+        assertThat(
+                ethBlockHeader.getBlockHeader(),
+                equalTo(
+                        new BlockHeader(
+                                "0x1b4",
+                                "0xe670ec64341771606e55d6b4ca35a1a6b75ee3d5145a99d05921026d1527331",
+                                "0x9646252be9520f6e71339a8df9c55e4d7619deeb018d2a3f2d21fc165dde5eb5",
+                                "0x54e34e8e")));
+        assertThat(ethBlockHeader.getBlockHeader().getNumber(), equalTo(BigInteger.valueOf(436)));
+    }
+
     @Test
     public void testEthTransaction() {
 
@@ -13,8 +13,10 @@
 package org.web3j.protocol.core;
 
 import java.io.IOException;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -23,15 +25,21 @@ import org.junit.Test;
 
 import org.web3j.protocol.ObjectMapperFactory;
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.protocol.websocket.WebSocketClient;
 import org.web3j.protocol.websocket.WebSocketListener;
 import org.web3j.protocol.websocket.WebSocketService;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.contains;
 import static org.mockito.Matchers.matches;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -47,6 +55,8 @@ public class WebSocketEventTest {
 
     private WebSocketListener listener;
 
+    private boolean subscriptionsSupported = true;
+
     @Before
     public void before() throws Exception {
         when(webSocketClient.connectBlocking()).thenReturn(true);
@@ -64,7 +74,11 @@ public class WebSocketEventTest {
                             String message = invocation.getArgumentAt(0, String.class);
                             int requestId = getRequestId(message);
 
-                            sendSubscriptionConfirmation(requestId);
+                            if (subscriptionsSupported || !message.contains("eth_subscribe")) {
+                                sendSubscriptionConfirmation(requestId);
+                            } else {
+                                sendSubscriptionError(requestId);
+                            }
                             return null;
                         })
                 .when(webSocketClient)
@@ -107,11 +121,82 @@ public class WebSocketEventTest {
                                         + "\"topics\":\\[\"0x2\"]}],\"id\":[0-9]{1,}}"));
     }
 
+    @Test
+    public void testLogFlowableUsesSubscription() throws Exception {
+        List<Log> logs = new ArrayList<>();
+        web3j.ethLogFlowable(new EthFilter().addSingleTopic("0x2")).subscribe(logs::add);
+
+        verify(webSocketClient)
+                .send(
+                        matches(
+                                "\\{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscribe\","
+                                        + "\"params\":\\[\"logs\",\\{\"topics\":\\[\"0x2\"]}],"
+                                        + "\"id\":[0-9]{1,}}"));
+
+        listener.onMessage(
+                "{"
+                        + "\"jsonrpc\":\"2.0\","
+                        + "\"method\":\"eth_subscription\","
+                        + "\"params\":{"
+                        + "\"subscription\":\"0xcd0c3e8af590364c09d0fa6a1210faf5\","
+                        + "\"result\":{"
+                        + "\"address\":\"0x1\","
+                        + "\"blockHash\":\"0x2\","
+                        + "\"blockNumber\":\"0x3\","
+                        + "\"data\":\"0x\","
+                        + "\"logIndex\":\"0x0\","
+                        + "\"topics\":[\"0x2\"],"
+                        + "\"transactionHash\":\"0x4\","
+                        + "\"transactionIndex\":\"0x0\","
+                        + "\"removed\":false"
+                        + "}}}");
+
+        assertThat(logs.size(), is(1));
+        assertThat(logs.get(0).getTransactionHash(), is("0x4"));
+        assertThat(logs.get(0).getBlockNumber(), is(BigInteger.valueOf(3)));
+        assertThat(logs.get(0).getTopics(), is(Collections.singletonList("0x2")));
+    }
+
+    @Test
+    public void testLogFlowableFallsBackToPolling() {
+        subscriptionsSupported = false;
+
+        web3j.ethLogFlowable(new EthFilter()).subscribe(log -> {}, e -> {});
+
+        verify(webSocketClient)
+                .send(matches("\\{\"jsonrpc\":\"2.0\",\"method\":\"eth_newFilter\".*"));
+    }
+
+    @Test
+    public void testHistoricLogFlowableIsPolled() {
+        web3j.ethLogFlowable(
+                        new EthFilter(
+                                DefaultBlockParameterName.EARLIEST,
+                                DefaultBlockParameterName.LATEST,
+                                "0x1"))
+                .subscribe(log -> {}, e -> {});
+
+        verify(webSocketClient, never()).send(contains("eth_subscribe"));
+        verify(webSocketClient)
+                .send(matches("\\{\"jsonrpc\":\"2.0\",\"method\":\"eth_newFilter\".*"));
+    }
+
     private int getRequestId(String message) throws IOException {
         JsonNode messageJson = objectMapper.readTree(message);
         return messageJson.get("id").asInt();
     }
 
+    private void sendSubscriptionError(int requestId) throws IOException {
+        listener.onMessage(
+                String.format(
+                        "{"
+                                + "\"jsonrpc\":\"2.0\","
+                                + "\"id\":%d,"
+                                + "\"error\":{\"code\":-32601,\"message\":\"Method not found\"}"
+                                + "}",
+                        requestId));
+    }
+
     private void sendSubscriptionConfirmation(int requestId) throws IOException {
         listener.onMessage(
                 String.format(
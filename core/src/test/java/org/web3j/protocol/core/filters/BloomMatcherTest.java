@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.filters;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.utils.Bloom;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BloomMatcherTest {
+
+    private static final String ADDRESS = "0x407d73d8a49eeb85d32cf465507dd71d507100c1";
+    private static final String OTHER_ADDRESS = "0x8504d3d8a49eeb85d32cf465507dd71d507100c1";
+    private static final String TRANSFER =
+            "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
+    private static final String APPROVAL =
+            "0x8c5be1e5ebec7d5bd14f71427d1e84f3dd0314c0f7b2291e5b200ac8c7c3b925";
+
+    private final Bloom bloom = new Bloom().addHex(ADDRESS).addHex(TRANSFER);
+
+    @Test
+    public void testAddressAndTopic() {
+        assertTrue(
+                BloomMatcher.forFilter(filter(ADDRESS).addSingleTopic(TRANSFER)).mightMatch(bloom));
+        assertFalse(
+                BloomMatcher.forFilter(filter(ADDRESS).addSingleTopic(APPROVAL)).mightMatch(bloom));
+        assertFalse(
+                BloomMatcher.forFilter(filter(OTHER_ADDRESS).addSingleTopic(TRANSFER))
+                        .mightMatch(bloom));
+    }
+
+    @Test
+    public void testAlternatives() {
+        assertTrue(
+                BloomMatcher.forFilter(
+                                new EthFilter(
+                                                DefaultBlockParameterName.EARLIEST,
+                                                DefaultBlockParameterName.LATEST,
+                                                Arrays.asList(OTHER_ADDRESS, ADDRESS))
+                                        .addOptionalTopics(APPROVAL, TRANSFER))
+                        .mightMatch(bloom));
+        assertTrue(
+                BloomMatcher.forFilter(
+                                filter(ADDRESS).addNullTopic().addOptionalTopics(APPROVAL, null))
+                        .mightMatch(bloom));
+        assertTrue(
+                BloomMatcher.forFilters(Arrays.asList(filter(OTHER_ADDRESS), filter(ADDRESS)))
+                        .mightMatch(bloom.toString()));
+        assertFalse(BloomMatcher.forFilter(filter(OTHER_ADDRESS)).mightMatch(bloom.toString()));
+    }
+
+    private static EthFilter filter(String address) {
+        return new EthFilter(
+                DefaultBlockParameterName.EARLIEST, DefaultBlockParameterName.LATEST, address);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.filters;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.EthUninstallFilter;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FilterPollerTest {
+
+    private Web3jService web3jService;
+    private Web3j web3j;
+    private FilterPoller filterPoller;
+
+    private final AtomicInteger nextFilterId = new AtomicInteger(1);
+    private final AtomicInteger polls = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        web3jService = mock(Web3jService.class);
+        web3j = Web3j.build(web3jService);
+        filterPoller = new FilterPoller(web3j, mock(ScheduledExecutorService.class), 1000);
+
+        when(web3jService.send(any(Request.class), eq(EthFilter.class)))
+                .thenAnswer(invocation -> newFilter());
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest =
+                                    invocation.getArgumentAt(0, BatchRequest.class);
+                            List<Response<?>> responses = new ArrayList<>();
+                            boolean firstPoll = polls.getAndIncrement() == 0;
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                if (request.getMethod().equals("eth_newBlockFilter")) {
+                                    responses.add(newFilter());
+                                } else if (firstPoll) {
+                                    responses.add(filterNotFound());
+                                } else {
+                                    responses.add(blockHashes(request.getParams().get(0)));
+                                }
+                            }
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+    }
+
+    @Test
+    public void testPollsFiltersInSingleBatch() throws Exception {
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        BlockFilter firstFilter = new BlockFilter(web3j, first::add);
+        BlockFilter secondFilter = new BlockFilter(web3j, second::add);
+
+        filterPoller.register(firstFilter);
+        filterPoller.register(secondFilter);
+        assertThat(filterPoller.size(), equalTo(2));
+
+        // the node has lost both filters, so they are reinstalled together
+        filterPoller.poll();
+        assertThat(
+                firstFilter.getFilterId().add(secondFilter.getFilterId()),
+                equalTo(BigInteger.valueOf(3 + 4)));
+
+        filterPoller.poll();
+        assertThat(first, equalTo(hashes(firstFilter.getFilterId().intValue())));
+        assertThat(second, equalTo(hashes(secondFilter.getFilterId().intValue())));
+
+        // poll, reinstall and poll again
+        verify(web3jService, times(3)).sendBatch(any(BatchRequest.class));
+        verify(web3jService, times(2)).send(any(Request.class), eq(EthFilter.class));
+    }
+
+    @Test
+    public void testUnregister() throws Exception {
+        when(web3jService.send(any(Request.class), eq(EthLog.class)))
+                .thenAnswer(invocation -> blockHashes("0x1"));
+        when(web3jService.send(any(Request.class), eq(EthUninstallFilter.class)))
+                .thenReturn(
+                        ObjectMapperFactory.getObjectMapper()
+                                .readValue(
+                                        "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":true}",
+                                        EthUninstallFilter.class));
+
+        List<String> results = new ArrayList<>();
+        BlockFilter blockFilter = new BlockFilter(web3j, results::add);
+        BlockFilter unregistered = new BlockFilter(web3j, hash -> {});
+
+        filterPoller.register(blockFilter);
+        filterPoller.register(unregistered);
+        filterPoller.unregister(unregistered);
+        assertThat(filterPoller.size(), equalTo(1));
+
+        // with a single filter remaining, changes are requested without a batch
+        polls.set(1);
+        filterPoller.poll();
+        assertThat(results, equalTo(hashes(1)));
+        verify(web3jService, times(0)).sendBatch(any(BatchRequest.class));
+        verify(web3jService).send(any(Request.class), eq(EthUninstallFilter.class));
+    }
+
+    private EthFilter newFilter() {
+        EthFilter ethFilter = new EthFilter();
+        ethFilter.setResult("0x" + Integer.toHexString(nextFilterId.getAndIncrement()));
+        return ethFilter;
+    }
+
+    private static EthLog filterNotFound() {
+        EthLog ethLog = new EthLog();
+        ethLog.setError(new Response.Error(-32000, "filter not found"));
+        return ethLog;
+    }
+
+    private static EthLog blockHashes(Object filterId) {
+        BigInteger id = new BigInteger(((String) filterId).substring(2), 16);
+        EthLog ethLog = new EthLog();
+        List<EthLog.LogResult> logResults = new ArrayList<>();
+        for (String hash : hashes(id.intValue())) {
+            logResults.add(new EthLog.Hash(hash));
+        }
+        ethLog.setResult(logResults);
+        return ethLog;
+    }
+
+    private static List<String> hashes(int filterId) {
+        List<String> hashes = new ArrayList<>();
+        hashes.add("0x" + filterId + "a");
+        hashes.add("0x" + filterId + "b");
+        return hashes;
+    }
+}
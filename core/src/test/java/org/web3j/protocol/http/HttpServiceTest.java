@@ -13,6 +13,7 @@
 package org.web3j.protocol.http;
 
 import java.io.IOException;
+import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -26,12 +27,17 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.methods.response.EthBlockNumber;
 import org.web3j.protocol.core.methods.response.EthSubscribe;
+import org.web3j.protocol.core.methods.response.Web3ClientVersion;
 import org.web3j.protocol.exceptions.ClientConnectionException;
 import org.web3j.protocol.websocket.events.NewHeadsNotification;
 
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
 public class HttpServiceTest {
@@ -105,6 +111,79 @@ public class HttpServiceTest {
         Assert.fail("No exception");
     }
 
+    @Test
+    public void testSendBatch() throws IOException {
+        // replies to batched requests may be returned in any order
+        HttpService mockedHttpService =
+                createHttpService(
+                        "[{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":\"Geth\"},"
+                                + "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x4b7\"}]");
+
+        Request<String, EthBlockNumber> blockNumber =
+                new Request<>(
+                        "eth_blockNumber",
+                        Collections.emptyList(),
+                        mockedHttpService,
+                        EthBlockNumber.class);
+        blockNumber.setId(1);
+        Request<String, Web3ClientVersion> clientVersion =
+                new Request<>(
+                        "web3_clientVersion",
+                        Collections.emptyList(),
+                        mockedHttpService,
+                        Web3ClientVersion.class);
+        clientVersion.setId(2);
+
+        BatchResponse batchResponse =
+                new BatchRequest(mockedHttpService).add(blockNumber).add(clientVersion).send();
+
+        assertThat(
+                batchResponse.getResponse(0, EthBlockNumber.class).getBlockNumber(),
+                equalTo(BigInteger.valueOf(1207)));
+        assertThat(
+                batchResponse.getResponse(1, Web3ClientVersion.class).getWeb3ClientVersion(),
+                equalTo("Geth"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testSendBatchNotSupported() throws IOException {
+        HttpService mockedHttpService =
+                createHttpService(
+                        "{\"jsonrpc\":\"2.0\",\"id\":null,"
+                                + "\"error\":{\"code\":-32600,\"message\":\"Invalid request\"}}");
+
+        new BatchRequest(mockedHttpService)
+                .add(
+                        new Request<>(
+                                "eth_blockNumber",
+                                Collections.emptyList(),
+                                mockedHttpService,
+                                EthBlockNumber.class))
+                .send();
+    }
+
+    private HttpService createHttpService(String content) throws IOException {
+        Response response =
+                new Response.Builder()
+                        .code(200)
+                        .message("")
+                        .body(ResponseBody.create(HttpService.JSON_MEDIA_TYPE, content))
+                        .request(new okhttp3.Request.Builder().url(HttpService.DEFAULT_URL).build())
+                        .protocol(Protocol.HTTP_1_1)
+                        .build();
+
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Mockito.when(httpClient.newCall(Mockito.any()))
+                .thenAnswer(
+                        invocation -> {
+                            Call call = Mockito.mock(Call.class);
+                            Mockito.when(call.execute()).thenReturn(response);
+
+                            return call;
+                        });
+        return new HttpService(httpClient);
+    }
+
     @Test(expected = UnsupportedOperationException.class)
     public void subscriptionNotSupported() {
         Request<Object, EthSubscribe> subscribeRequest =
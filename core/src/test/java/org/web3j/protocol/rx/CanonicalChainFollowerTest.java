@@ -0,0 +1,202 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.rx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import io.reactivex.Flowable;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.utils.Numeric;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CanonicalChainFollowerTest {
+
+    private final Map<String, EthBlock> blocks = new HashMap<>();
+
+    private Web3jService web3jService;
+    private Web3j web3j;
+
+    @Before
+    public void setUp() throws Exception {
+        web3jService = mock(Web3jService.class);
+        web3j = Web3j.build(web3jService, 1000, Executors.newSingleThreadScheduledExecutor());
+
+        when(web3jService.send(any(Request.class), eq(EthBlock.class)))
+                .thenAnswer(
+                        invocation ->
+                                blocks.get(
+                                        invocation
+                                                .getArgumentAt(0, Request.class)
+                                                .getParams()
+                                                .get(0)));
+
+        // 1a <- 2a <- 3a
+        //    <- 2b <- 3b
+        addBlock(1, "0x1a", "0x0");
+        addBlock(2, "0x2a", "0x1a");
+        addBlock(3, "0x3a", "0x2a");
+        addBlock(2, "0x2b", "0x1a");
+        addBlock(3, "0x3b", "0x2b");
+        addBlock(4, "0x4b", "0x3b");
+        addBlock(5, "0x5b", "0x4b");
+    }
+
+    @Test
+    public void testReorganisation() throws Exception {
+        CanonicalChainFollower follower = new CanonicalChainFollower(web3j, false, 0);
+
+        List<String> events = new ArrayList<>();
+        for (String head : Arrays.asList("0x1a", "0x2a", "0x3a", "0x2a", "0x3b")) {
+            events.addAll(describe(follower.onHead(head)));
+        }
+
+        assertThat(
+                events,
+                equalTo(
+                        Arrays.asList(
+                                "+0x1a", "+0x2a", "+0x3a", "-0x3a", "-0x2a", "+0x2b", "+0x3b")));
+    }
+
+    @Test
+    public void testConfirmations() throws Exception {
+        CanonicalChainFollower follower = new CanonicalChainFollower(web3j, false, 2);
+
+        assertTrue(follower.onHead("0x1a").isEmpty());
+        assertTrue(follower.onHead("0x2a").isEmpty());
+        assertThat(describe(follower.onHead("0x3a")), equalTo(Arrays.asList("+0x1a")));
+
+        // the reorganisation is shallower than the confirmation depth, so no blocks which have
+        // been added are removed
+        assertThat(describe(follower.onHead("0x4b")), equalTo(Arrays.asList("+0x2b")));
+        assertThat(describe(follower.onHead("0x5b")), equalTo(Arrays.asList("+0x3b")));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testReorganisationBeyondWindow() throws Exception {
+        CanonicalChainFollower follower = new CanonicalChainFollower(web3j, false, 0);
+        follower.onHead("0x2a");
+        follower.onHead("0x3b");
+    }
+
+    @Test
+    public void testCanonicalLogFlowable() throws Exception {
+        EthLog ethLog = new EthLog();
+        EthLog.LogObject first = new EthLog.LogObject();
+        first.setLogIndex("0x0");
+        first.setBlockHash("0x2a");
+        EthLog.LogObject second = new EthLog.LogObject();
+        second.setLogIndex("0x1");
+        second.setBlockHash("0x2a");
+        ethLog.setResult(Arrays.asList(first, second));
+        when(web3jService.send(any(Request.class), eq(EthLog.class))).thenReturn(ethLog);
+
+        EthBlock.Block block = blocks.get("0x2a").getBlock();
+        List<Log> logs =
+                new JsonRpc2_0Rx(web3j, Executors.newSingleThreadScheduledExecutor())
+                        .canonicalLogFlowable(
+                                Flowable.just(
+                                        new ChainEvent.BlockAdded(block),
+                                        new ChainEvent.BlockRemoved(block)),
+                                new org.web3j.protocol.core.methods.request.EthFilter())
+                        .toList()
+                        .blockingGet();
+
+        assertThat(
+                logs.stream()
+                        .map(log -> (log.isRemoved() ? "-" : "+") + log.getLogIndex())
+                        .collect(Collectors.toList()),
+                equalTo(Arrays.asList("+0", "+1", "-1", "-0")));
+    }
+
+    @Test
+    public void testCanonicalLogFlowableRetriesFailedBlock() throws Exception {
+        when(web3jService.send(any(Request.class), eq(EthLog.class)))
+                .thenThrow(new IOException("Connection reset"))
+                .thenAnswer(
+                        invocation -> {
+                            org.web3j.protocol.core.methods.request.EthFilter ethFilter =
+                                    (org.web3j.protocol.core.methods.request.EthFilter)
+                                            invocation
+                                                    .getArgumentAt(0, Request.class)
+                                                    .getParams()
+                                                    .get(0);
+                            EthLog.LogObject log = new EthLog.LogObject();
+                            log.setLogIndex("0x0");
+                            log.setBlockHash(ethFilter.getBlockHash());
+                            EthLog ethLog = new EthLog();
+                            ethLog.setResult(Arrays.asList(log));
+                            return ethLog;
+                        });
+
+        // the logs of 0x1a are requested again with those of 0x2a
+        List<Log> logs =
+                new JsonRpc2_0Rx(web3j, Executors.newSingleThreadScheduledExecutor())
+                        .canonicalLogFlowable(
+                                Flowable.just(
+                                        new ChainEvent.BlockAdded(blocks.get("0x1a").getBlock()),
+                                        new ChainEvent.BlockAdded(blocks.get("0x2a").getBlock()),
+                                        new ChainEvent.BlockRemoved(blocks.get("0x2a").getBlock())),
+                                new org.web3j.protocol.core.methods.request.EthFilter())
+                        .toList()
+                        .blockingGet();
+
+        assertThat(
+                logs.stream()
+                        .map(log -> (log.isRemoved() ? "-" : "+") + log.getBlockHash())
+                        .collect(Collectors.toList()),
+                equalTo(Arrays.asList("+0x1a", "+0x2a", "-0x2a")));
+    }
+
+    private void addBlock(int number, String hash, String parentHash) {
+        EthBlock.Block block = new EthBlock.Block();
+        block.setNumber(Numeric.encodeQuantity(BigInteger.valueOf(number)));
+        block.setHash(hash);
+        block.setParentHash(parentHash);
+
+        EthBlock ethBlock = new EthBlock();
+        ethBlock.setResult(block);
+        blocks.put(hash, ethBlock);
+    }
+
+    private static List<String> describe(List<ChainEvent> chainEvents) {
+        return chainEvents.stream()
+                .map(
+                        chainEvent ->
+                                (chainEvent.isRemoved() ? "-" : "+")
+                                        + chainEvent.getBlock().getHash())
+                .collect(Collectors.toList());
+    }
+}
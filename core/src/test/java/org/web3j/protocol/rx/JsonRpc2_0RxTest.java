@@ -12,13 +12,16 @@
  */
 package org.web3j.protocol.rx;
 
+import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -31,13 +34,25 @@ import org.mockito.stubbing.OngoingStubbing;
 import org.web3j.protocol.ObjectMapperFactory;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.DefaultBlockParameterNumber;
 import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.RpcErrors;
+import org.web3j.protocol.core.methods.response.BlockHeader;
 import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthBlockHeader;
+import org.web3j.protocol.core.methods.response.EthBlockReceipts;
 import org.web3j.protocol.core.methods.response.EthFilter;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
 import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.EthTransaction;
 import org.web3j.protocol.core.methods.response.EthUninstallFilter;
+import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.utils.Bloom;
 import org.web3j.utils.Numeric;
 
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -47,6 +62,8 @@ import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class JsonRpc2_0RxTest {
@@ -152,23 +169,19 @@ public class JsonRpc2_0RxTest {
                         createBlock(3),
                         createBlock(4));
 
-        List<EthBlock> ethBlocks =
-                Arrays.asList(
-                        expected.get(2), // greatest block
-                        expected.get(0),
-                        expected.get(1),
-                        expected.get(2),
-                        expected.get(4), // greatest block
-                        expected.get(3),
-                        expected.get(4),
-                        expected.get(4)); // greatest block
-
         OngoingStubbing<EthBlock> stubbing =
                 when(web3jService.send(any(Request.class), eq(EthBlock.class)));
-        for (EthBlock ethBlock : ethBlocks) {
+        for (EthBlock ethBlock : expected) {
             stubbing = stubbing.thenReturn(ethBlock);
         }
 
+        // the greatest block, as the chain grows during the replay
+        when(web3jService.send(any(Request.class), eq(EthBlockHeader.class)))
+                .thenReturn(
+                        createBlockHeader(2, "0x2", "0x1"),
+                        createBlockHeader(4, "0x4", "0x3"),
+                        createBlockHeader(4, "0x4", "0x3"));
+
         EthFilter ethFilter =
                 objectMapper.readValue(
                         "{\n"
@@ -358,6 +371,496 @@ public class JsonRpc2_0RxTest {
         assertTrue(subscription.isDisposed());
     }
 
+    @Test
+    public void testReplayTransactionColumnsFlowable() throws Exception {
+        Transaction transfer = createTransaction("0x1234");
+        transfer.setBlockNumber("0x0");
+        transfer.setFrom("0x407d73d8a49eeb85d32cf465507dd71d507100c1");
+        transfer.setTo("0x8504d3d8a49eeb85d32cf465507dd71d507100c1");
+        transfer.setGas("0x5208");
+        transfer.setGasPrice("0x4a817c800");
+        transfer.setValue("0xde0b6b3a7640000");
+        transfer.setInput("0xa9059cbb0000");
+
+        Transaction creation = createTransaction("0x2234");
+        creation.setBlockNumber("0x1");
+        creation.setFrom("0x407d73d8a49eeb85d32cf465507dd71d507100c1");
+        creation.setGas("0x1");
+        creation.setGasPrice("0xffffffffffffffffff");
+        creation.setValue("0x0");
+        creation.setInput("0x");
+
+        List<EthBlock> ethBlocks =
+                Arrays.asList(
+                        createBlockWithTransactions(0, Arrays.asList(transfer)),
+                        createBlockWithTransactions(1, Arrays.asList(creation)));
+
+        OngoingStubbing<EthBlock> stubbing =
+                when(web3jService.send(any(Request.class), eq(EthBlock.class)));
+        for (EthBlock ethBlock : ethBlocks) {
+            stubbing = stubbing.thenReturn(ethBlock);
+        }
+
+        List<TransactionColumns> results =
+                web3j.replayPastTransactionColumnsFlowable(
+                                new DefaultBlockParameterNumber(BigInteger.ZERO),
+                                new DefaultBlockParameterNumber(BigInteger.ONE),
+                                10)
+                        .toList()
+                        .blockingGet();
+
+        assertThat(results.size(), equalTo(1));
+        TransactionColumns columns = results.get(0);
+        assertThat(columns.size(), equalTo(2));
+        assertThat(columns.getBlockNumberColumn()[1], equalTo(1L));
+        assertThat(columns.getGas(0), equalTo(21000L));
+        assertThat(columns.getGasPrice(0), equalTo(20000000000L));
+        assertThat(columns.getGasPrice(1), equalTo(Long.MAX_VALUE));
+        assertThat(columns.getValue(0), equalTo(new BigInteger("1000000000000000000")));
+        assertThat(columns.getFrom(1).toString(), equalTo(transfer.getFrom()));
+        assertThat(columns.getTo(0).toString(), equalTo(transfer.getTo()));
+        assertTrue(columns.isTo(0, Numeric.hexStringToByteArray(transfer.getTo())));
+        assertTrue(columns.isContractCreation(1));
+        assertThat(columns.getSelector(0), equalTo(0xa9059cbb));
+        assertThat(columns.getInputLength(0), equalTo(6));
+        assertThat(columns.getSelector(1), equalTo(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTransactionColumnsRejectInvalidHex() {
+        Transaction transaction = createTransaction("0x1234");
+        transaction.setBlockNumber("0x0");
+        transaction.setFrom("0x407d73d8a49eeb85d32cf465507dd71d507100c1");
+        transaction.setGas("0x52z8");
+        transaction.setGasPrice("0x1");
+        transaction.setValue("0x0");
+        transaction.setInput("0x");
+
+        TransactionColumns.fromBlocks(
+                Arrays.asList(createBlockWithTransactions(0, Arrays.asList(transaction))));
+    }
+
+    @Test
+    public void testReplayBlocksConcurrentFlowable() throws Exception {
+        // responses complete out of order, but blocks must still be emitted in order
+        when(web3jService.send(any(Request.class), eq(EthBlock.class)))
+                .thenAnswer(
+                        invocation -> {
+                            int number =
+                                    requestedBlockNumber(
+                                            invocation.getArgumentAt(0, Request.class));
+                            Thread.sleep((number * 7) % 5);
+                            return createBlock(number);
+                        });
+
+        List<BigInteger> results =
+                web3j.replayPastBlocksFlowable(
+                                new DefaultBlockParameterNumber(BigInteger.ZERO),
+                                new DefaultBlockParameterNumber(BigInteger.valueOf(19)),
+                                false,
+                                false,
+                                4,
+                                1)
+                        .map(ethBlock -> ethBlock.getBlock().getNumber())
+                        .toList()
+                        .blockingGet();
+
+        List<BigInteger> expected = new ArrayList<>();
+        for (int i = 19; i >= 0; i--) {
+            expected.add(BigInteger.valueOf(i));
+        }
+        assertThat(results, equalTo(expected));
+    }
+
+    @Test
+    public void testReplayBlocksBatchedFlowable() throws Exception {
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest =
+                                    invocation.getArgumentAt(0, BatchRequest.class);
+                            List<EthBlock> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                responses.add(createBlock(requestedBlockNumber(request)));
+                            }
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+        when(web3jService.send(any(Request.class), eq(EthBlock.class)))
+                .thenAnswer(
+                        invocation ->
+                                createBlock(
+                                        requestedBlockNumber(
+                                                invocation.getArgumentAt(0, Request.class))));
+
+        List<BigInteger> results =
+                web3j.replayPastBlocksFlowable(
+                                new DefaultBlockParameterNumber(BigInteger.ZERO),
+                                new DefaultBlockParameterNumber(BigInteger.valueOf(10)),
+                                false,
+                                true,
+                                3,
+                                5)
+                        .map(ethBlock -> ethBlock.getBlock().getNumber())
+                        .toList()
+                        .blockingGet();
+
+        List<BigInteger> expected = new ArrayList<>();
+        for (int i = 0; i <= 10; i++) {
+            expected.add(BigInteger.valueOf(i));
+        }
+        assertThat(results, equalTo(expected));
+        // two batches of five blocks, with the final block requested individually
+        verify(web3jService, times(2)).sendBatch(any(BatchRequest.class));
+        verify(web3jService, times(1)).send(any(Request.class), eq(EthBlock.class));
+    }
+
+    @Test
+    public void testReplayPastLogsFlowable() throws Exception {
+        // the node refuses ranges of more than 300 blocks, with a matching log every 50 blocks
+        when(web3jService.send(any(Request.class), eq(EthLog.class)))
+                .thenAnswer(
+                        invocation -> {
+                            org.web3j.protocol.core.methods.request.EthFilter ethFilter =
+                                    (org.web3j.protocol.core.methods.request.EthFilter)
+                                            invocation
+                                                    .getArgumentAt(0, Request.class)
+                                                    .getParams()
+                                                    .get(0);
+                            long from =
+                                    ((DefaultBlockParameterNumber) ethFilter.getFromBlock())
+                                            .getBlockNumber()
+                                            .longValue();
+                            long to =
+                                    ((DefaultBlockParameterNumber) ethFilter.getToBlock())
+                                            .getBlockNumber()
+                                            .longValue();
+
+                            EthLog ethLog = new EthLog();
+                            if (to - from >= 300) {
+                                ethLog.setError(
+                                        new Response.Error(
+                                                -32005, "query returned more than 10000 results"));
+                                return ethLog;
+                            }
+                            List<EthLog.LogResult> logs = new ArrayList<>();
+                            for (long i = from; i <= to; i++) {
+                                if (i % 50 == 0) {
+                                    EthLog.LogObject log = new EthLog.LogObject();
+                                    log.setBlockNumber(
+                                            Numeric.encodeQuantity(BigInteger.valueOf(i)));
+                                    logs.add(log);
+                                }
+                            }
+                            ethLog.setResult(logs);
+                            return ethLog;
+                        });
+
+        org.web3j.protocol.core.methods.request.EthFilter ethFilter =
+                new org.web3j.protocol.core.methods.request.EthFilter(
+                                new DefaultBlockParameterNumber(BigInteger.ZERO),
+                                new DefaultBlockParameterNumber(BigInteger.valueOf(2499)),
+                                "0x407d73d8a49eeb85d32cf465507dd71d507100c1")
+                        .addSingleTopic(
+                                "0xd78a0cb8bb633d06981248b816e7bd33c2a35a6089241d099fa519e361cab902");
+
+        List<BigInteger> results =
+                web3j.replayPastLogsFlowable(ethFilter, 3)
+                        .map(log -> log.getBlockNumber())
+                        .toList()
+                        .blockingGet();
+
+        List<BigInteger> expected = new ArrayList<>();
+        for (int i = 0; i < 2500; i += 50) {
+            expected.add(BigInteger.valueOf(i));
+        }
+        assertThat(results, equalTo(expected));
+    }
+
+    @Test
+    public void testScanPastLogsFlowable() throws Exception {
+        String address = "0x407d73d8a49eeb85d32cf465507dd71d507100c1";
+        // only the second block may contain logs from the address
+        when(web3jService.send(any(Request.class), eq(EthBlock.class)))
+                .thenAnswer(
+                        invocation -> {
+                            int number =
+                                    requestedBlockNumber(
+                                            invocation.getArgumentAt(0, Request.class));
+                            EthBlock ethBlock = createBlock(number);
+                            ethBlock.getBlock().setHash("0x" + number);
+                            Bloom bloom = new Bloom();
+                            if (number == 1) {
+                                bloom.addHex(address);
+                            }
+                            ethBlock.getBlock().setLogsBloom(bloom.toString());
+                            return ethBlock;
+                        });
+
+        EthLog.LogObject log = new EthLog.LogObject();
+        log.setAddress(address);
+        log.setBlockHash("0x1");
+        EthLog ethLog = new EthLog();
+        ethLog.setResult(Arrays.asList(log));
+        when(web3jService.send(any(Request.class), eq(EthLog.class))).thenReturn(ethLog);
+
+        List<Log> results =
+                web3j.scanPastLogsFlowable(
+                                new org.web3j.protocol.core.methods.request.EthFilter(
+                                        new DefaultBlockParameterNumber(BigInteger.ZERO),
+                                        new DefaultBlockParameterNumber(BigInteger.valueOf(2)),
+                                        address),
+                                2,
+                                1)
+                        .toList()
+                        .blockingGet();
+
+        assertThat(results, equalTo(Arrays.asList(log)));
+        verify(web3jService, times(1)).send(any(Request.class), eq(EthLog.class));
+    }
+
+    @Test
+    public void testPendingTransactionFlowable() throws Exception {
+        EthFilter ethFilter = new EthFilter();
+        ethFilter.setResult("0x1");
+        when(web3jService.send(any(Request.class), eq(EthFilter.class))).thenReturn(ethFilter);
+
+        EthUninstallFilter ethUninstallFilter = new EthUninstallFilter();
+        ethUninstallFilter.setResult(true);
+        when(web3jService.send(any(Request.class), eq(EthUninstallFilter.class)))
+                .thenReturn(ethUninstallFilter);
+
+        // hashes are reported more than once, and 0x3 is dropped before it is resolved
+        when(web3jService.send(any(Request.class), eq(EthLog.class)))
+                .thenReturn(createHashes("0x1", "0x2", "0x1"))
+                .thenReturn(createHashes("0x2", "0x3", "0x4"));
+
+        List<String> requested = Collections.synchronizedList(new ArrayList<>());
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest =
+                                    invocation.getArgumentAt(0, BatchRequest.class);
+                            List<EthTransaction> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                String hash = (String) request.getParams().get(0);
+                                requested.add(hash);
+
+                                EthTransaction ethTransaction = new EthTransaction();
+                                if (!hash.equals("0x3")) {
+                                    ethTransaction.setResult(createTransaction(hash));
+                                }
+                                responses.add(ethTransaction);
+                            }
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+
+        List<String> results =
+                web3j.pendingTransactionFlowable(10, 10)
+                        .map(Transaction::getHash)
+                        .take(3)
+                        .toList()
+                        .blockingGet();
+
+        assertThat(results, equalTo(Arrays.asList("0x1", "0x2", "0x4")));
+        assertThat(requested, equalTo(Arrays.asList("0x1", "0x2", "0x3", "0x4")));
+    }
+
+    @Test
+    public void testPendingTransactionFlowableRetriesFailedBatch() throws Exception {
+        EthFilter ethFilter = new EthFilter();
+        ethFilter.setResult("0x1");
+        when(web3jService.send(any(Request.class), eq(EthFilter.class))).thenReturn(ethFilter);
+
+        EthUninstallFilter ethUninstallFilter = new EthUninstallFilter();
+        ethUninstallFilter.setResult(true);
+        when(web3jService.send(any(Request.class), eq(EthUninstallFilter.class)))
+                .thenReturn(ethUninstallFilter);
+
+        when(web3jService.send(any(Request.class), eq(EthLog.class)))
+                .thenReturn(createHashes("0x1", "0x2"))
+                .thenReturn(createHashes());
+
+        AtomicBoolean failBatch = new AtomicBoolean(true);
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            if (failBatch.getAndSet(false)) {
+                                throw new IOException("Connection refused");
+                            }
+                            BatchRequest batchRequest =
+                                    invocation.getArgumentAt(0, BatchRequest.class);
+                            List<EthTransaction> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                EthTransaction ethTransaction = new EthTransaction();
+                                ethTransaction.setResult(
+                                        createTransaction((String) request.getParams().get(0)));
+                                responses.add(ethTransaction);
+                            }
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+
+        List<String> results =
+                web3j.pendingTransactionFlowable(10, 10)
+                        .map(Transaction::getHash)
+                        .take(2)
+                        .toList()
+                        .blockingGet();
+
+        assertThat(results, equalTo(Arrays.asList("0x1", "0x2")));
+    }
+
+    private EthLog createHashes(String... hashes) {
+        EthLog ethLog = new EthLog();
+        ethLog.setResult(Arrays.stream(hashes).map(EthLog.Hash::new).collect(Collectors.toList()));
+        return ethLog;
+    }
+
+    @Test
+    public void testBlockReceiptsFlowable() throws Exception {
+        List<EthBlock> ethBlocks =
+                Arrays.asList(
+                        createBlockWithReceipts(1, "0x11", "0x12"),
+                        createBlockWithReceipts(2),
+                        createBlockWithReceipts(3, "0x31"));
+
+        when(web3jService.send(any(Request.class), eq(EthBlockReceipts.class)))
+                .thenAnswer(
+                        invocation -> {
+                            Request<?, ?> request = invocation.getArgumentAt(0, Request.class);
+                            EthBlock.Block block =
+                                    ethBlocks.get(requestedBlockNumber(request) - 1).getBlock();
+                            EthBlockReceipts ethBlockReceipts = new EthBlockReceipts();
+                            ethBlockReceipts.setResult(createReceipts(block));
+                            return ethBlockReceipts;
+                        });
+
+        List<BlockReceipts> results =
+                new JsonRpc2_0Rx(web3j, Executors.newSingleThreadScheduledExecutor())
+                        .blockReceiptsFlowable(
+                                Flowable.fromIterable(ethBlocks), web3j::ethGetBlockReceipts)
+                        .toList()
+                        .blockingGet();
+
+        assertThat(
+                results.stream().map(it -> it.getBlock().getHash()).collect(Collectors.toList()),
+                equalTo(Arrays.asList("0x1", "0x2", "0x3")));
+        assertThat(results.get(0).getReceipt("0x12").get().getTransactionHash(), equalTo("0x12"));
+        assertTrue(results.get(1).getReceipts().isEmpty());
+        // blocks without transactions have no receipts to request
+        verify(web3jService, times(2)).send(any(Request.class), eq(EthBlockReceipts.class));
+    }
+
+    @Test
+    public void testBlockReceiptsFlowableFallsBackToBatch() throws Exception {
+        List<EthBlock> ethBlocks =
+                Arrays.asList(
+                        createBlockWithReceipts(1, "0x11", "0x12"),
+                        createBlockWithReceipts(2, "0x21"));
+
+        EthBlockReceipts notSupported = new EthBlockReceipts();
+        notSupported.setError(new Response.Error(RpcErrors.INVALID_REQUEST, "Method not found"));
+        when(web3jService.send(any(Request.class), eq(EthBlockReceipts.class)))
+                .thenReturn(notSupported);
+
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest =
+                                    invocation.getArgumentAt(0, BatchRequest.class);
+                            List<EthGetTransactionReceipt> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                String hash = (String) request.getParams().get(0);
+                                TransactionReceipt receipt = new TransactionReceipt();
+                                receipt.setTransactionHash(hash);
+                                receipt.setBlockHash("0x" + hash.charAt(2));
+
+                                EthGetTransactionReceipt response = new EthGetTransactionReceipt();
+                                response.setResult(receipt);
+                                responses.add(response);
+                            }
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+
+        List<BlockReceipts> results =
+                new JsonRpc2_0Rx(web3j, Executors.newSingleThreadScheduledExecutor())
+                        .blockReceiptsFlowable(
+                                Flowable.fromIterable(ethBlocks), web3j::ethGetBlockReceipts)
+                        .toList()
+                        .blockingGet();
+
+        assertThat(results.size(), equalTo(2));
+        assertThat(
+                results.get(0).getReceipts().stream()
+                        .map(TransactionReceipt::getTransactionHash)
+                        .collect(Collectors.toList()),
+                equalTo(Arrays.asList("0x11", "0x12")));
+        assertThat(results.get(1).getReceipt("0x21").get().getBlockHash(), equalTo("0x2"));
+        verify(web3jService, times(2)).sendBatch(any(BatchRequest.class));
+    }
+
+    private EthBlock createBlockWithReceipts(int number, String... transactionHashes) {
+        EthBlock ethBlock =
+                createBlockWithTransactions(
+                        number,
+                        Arrays.stream(transactionHashes)
+                                .map(this::createTransaction)
+                                .collect(Collectors.toList()));
+        ethBlock.getBlock().setHash("0x" + number);
+        return ethBlock;
+    }
+
+    private List<TransactionReceipt> createReceipts(EthBlock.Block block) {
+        List<TransactionReceipt> receipts = new ArrayList<>();
+        for (EthBlock.TransactionResult transactionResult : block.getTransactions()) {
+            TransactionReceipt receipt = new TransactionReceipt();
+            receipt.setTransactionHash(((Transaction) transactionResult.get()).getHash());
+            receipt.setBlockHash(block.getHash());
+            receipts.add(receipt);
+        }
+        return receipts;
+    }
+
+    @Test
+    public void testBlockHeaderFlowable() throws Exception {
+        EthBlockHeader first = createBlockHeader(1, "0x1", "0x0");
+        EthBlockHeader second = createBlockHeader(2, "0x2", "0x1");
+        EthBlockHeader third = createBlockHeader(3, "0x3", "0x2");
+
+        // the second block is created between polls, so is requested by number
+        when(web3jService.send(any(Request.class), eq(EthBlockHeader.class)))
+                .thenReturn(first, first, third, second, third);
+
+        List<BlockHeader> results =
+                new JsonRpc2_0Rx(web3j, Executors.newSingleThreadScheduledExecutor())
+                        .blockHeaderFlowable(10)
+                        .take(3)
+                        .toList()
+                        .blockingGet();
+
+        assertThat(
+                results,
+                equalTo(
+                        Arrays.asList(
+                                first.getBlockHeader(),
+                                second.getBlockHeader(),
+                                third.getBlockHeader())));
+    }
+
+    private int requestedBlockNumber(Request<?, ?> request) {
+        return Numeric.decodeQuantity((String) request.getParams().get(0)).intValueExact();
+    }
+
+    private EthBlockHeader createBlockHeader(int number, String hash, String parentHash) {
+        EthBlockHeader ethBlockHeader = new EthBlockHeader();
+        ethBlockHeader.setResult(
+                new BlockHeader(
+                        Numeric.encodeQuantity(BigInteger.valueOf(number)),
+                        hash,
+                        parentHash,
+                        "0x0"));
+        return ethBlockHeader;
+    }
+
     private EthBlock createBlock(int number) {
         EthBlock ethBlock = new EthBlock();
         EthBlock.Block block = new EthBlock.Block();
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.rx;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.subscribers.TestSubscriber;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.Log;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LogDemultiplexerTest {
+
+    private static final String FIRST = "0x0000000000000000000000000000000000000001";
+    private static final String SECOND = "0x0000000000000000000000000000000000000002";
+    private static final String TRANSFER = "0xaa";
+    private static final String APPROVAL = "0xbb";
+
+    private Web3j web3j;
+    private PublishProcessor<Log> logs;
+    private LogDemultiplexer demultiplexer;
+
+    @Before
+    public void setUp() {
+        web3j = mock(Web3j.class);
+        logs = PublishProcessor.create();
+        when(web3j.ethLogFlowable(any(EthFilter.class))).thenReturn(logs);
+        demultiplexer = new LogDemultiplexer(web3j, Arrays.asList(FIRST, SECOND));
+    }
+
+    @Test
+    public void testRoutesLogsToSubscribers() {
+        TestSubscriber<Log> firstTransfers = demultiplexer.logFlowable(FIRST, TRANSFER).test();
+        TestSubscriber<Log> firstAll = demultiplexer.logFlowable(FIRST, (String) null).test();
+        TestSubscriber<Log> anyApprovals =
+                demultiplexer.logFlowable(null, APPROVAL.toUpperCase()).test();
+
+        Log firstTransfer = createLog(FIRST, TRANSFER);
+        Log firstApproval = createLog(FIRST, APPROVAL);
+        Log secondApproval = createLog(SECOND.toUpperCase(), APPROVAL);
+        logs.onNext(firstTransfer);
+        logs.onNext(firstApproval);
+        logs.onNext(secondApproval);
+
+        firstTransfers.assertValues(firstTransfer);
+        firstAll.assertValues(firstTransfer, firstApproval);
+        anyApprovals.assertValues(firstApproval, secondApproval);
+
+        // a single node filter is shared by all subscribers
+        ArgumentCaptor<EthFilter> filter = ArgumentCaptor.forClass(EthFilter.class);
+        verify(web3j, times(1)).ethLogFlowable(filter.capture());
+        assertThat(filter.getValue().getAddress().size(), equalTo(2));
+    }
+
+    @Test
+    public void testSubscribersAddedAndRemoved() {
+        Disposable first = demultiplexer.logFlowable(FIRST, TRANSFER).subscribe();
+        TestSubscriber<Log> second = demultiplexer.logFlowable(FIRST, TRANSFER).test();
+        assertThat(demultiplexer.getSubscriberCount(), equalTo(2));
+
+        first.dispose();
+        assertThat(demultiplexer.getSubscriberCount(), equalTo(1));
+        assertTrue(logs.hasSubscribers());
+
+        Log log = createLog(FIRST, TRANSFER);
+        logs.onNext(log);
+        second.assertValues(log);
+
+        // the filter is uninstalled with the last subscriber, and installed again for the next
+        second.dispose();
+        assertThat(logs.hasSubscribers(), equalTo(false));
+
+        demultiplexer.logFlowable(SECOND, TRANSFER).test();
+        verify(web3j, times(2)).ethLogFlowable(any(EthFilter.class));
+    }
+
+    @Test
+    public void testFilterInstalledWithoutLock() {
+        when(web3j.ethLogFlowable(any(EthFilter.class)))
+                .thenAnswer(
+                        invocation -> {
+                            assertFalse(Thread.holdsLock(demultiplexer));
+                            return logs;
+                        });
+
+        TestSubscriber<Log> subscriber = demultiplexer.logFlowable(FIRST, TRANSFER).test();
+
+        Log log = createLog(FIRST, TRANSFER);
+        logs.onNext(log);
+        subscriber.assertValues(log);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddressNotCovered() {
+        new LogDemultiplexer(web3j, Collections.singletonList(FIRST)).logFlowable(SECOND, TRANSFER);
+    }
+
+    private Log createLog(String address, String topic) {
+        Log log = new Log();
+        log.setAddress(address);
+        log.setTopics(Collections.singletonList(topic));
+        return log;
+    }
+}
@@ -17,6 +17,8 @@ import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.function.BiFunction;
 
@@ -60,12 +62,14 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static junit.framework.TestCase.assertNotNull;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -296,6 +300,33 @@ public class ContractTest extends ManagedTransactionTester {
                 .send();
     }
 
+    @Test
+    public void testTransactionAsyncGasProviderFailure() {
+        contract =
+                new TestContract(
+                        ADDRESS,
+                        web3j,
+                        getVerifiedTransactionManager(SampleKeys.CREDENTIALS),
+                        new DefaultGasProvider() {
+                            @Override
+                            public BigInteger getGasPrice(String contractFunc) {
+                                throw new IllegalStateException("Gas price unavailable");
+                            }
+                        });
+
+        CompletableFuture<TransactionReceipt> result =
+                contract.performTransaction(
+                                new Address(BigInteger.TEN), new Uint256(BigInteger.ONE))
+                        .sendAsync();
+
+        try {
+            result.join();
+            fail();
+        } catch (CompletionException e) {
+            assertThat(e.getCause(), instanceOf(IllegalStateException.class));
+        }
+    }
+
     @Test
     public void testProcessEvent() {
         TransactionReceipt transactionReceipt = new TransactionReceipt();
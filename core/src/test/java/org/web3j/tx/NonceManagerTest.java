@@ -0,0 +1,180 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.web3j.crypto.SampleKeys;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.protocol.exceptions.ClientConnectionException;
+import org.web3j.tx.response.NoOpProcessor;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class NonceManagerTest {
+
+    private static final String ADDRESS = "0x3d6cb163f7c72d20b0fcd6baae5889329d138a4a";
+
+    private Web3jService web3jService;
+    private NonceManager nonceManager;
+
+    @Before
+    public void setUp() throws Exception {
+        web3jService = mock(Web3jService.class);
+        nonceManager = new NonceManager(Web3j.build(web3jService), ADDRESS, Long.MAX_VALUE);
+        prepareTransactionCount(5);
+    }
+
+    @Test
+    public void testConcurrentReservationsAreUnique() throws Exception {
+        int count = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<BigInteger>> futures = new ArrayList<>();
+        Callable<BigInteger> reserve = () -> nonceManager.reserve();
+        for (int i = 0; i < count; i++) {
+            futures.add(executor.submit(reserve));
+        }
+
+        Set<BigInteger> nonces = ConcurrentHashMap.newKeySet();
+        for (Future<BigInteger> future : futures) {
+            nonces.add(future.get());
+        }
+        executor.shutdown();
+
+        assertThat(nonces.size(), equalTo(count));
+        for (int i = 0; i < count; i++) {
+            assertThat(nonces.contains(BigInteger.valueOf(5 + i)), equalTo(true));
+        }
+    }
+
+    @Test
+    public void testReleasedNonceIsReused() throws Exception {
+        BigInteger first = nonceManager.reserve();
+        BigInteger second = nonceManager.reserve();
+        BigInteger third = nonceManager.reserve();
+        nonceManager.confirm(first);
+        nonceManager.confirm(third);
+
+        nonceManager.release(second);
+        assertThat(nonceManager.reserve(), equalTo(second));
+        assertThat(nonceManager.reserve(), equalTo(BigInteger.valueOf(8)));
+
+        // the most recent nonce is handed back rather than queued for reuse
+        BigInteger last = nonceManager.reserve();
+        nonceManager.release(last);
+        assertThat(nonceManager.getNextNonce(), equalTo(last));
+    }
+
+    @Test
+    public void testReconcile() throws Exception {
+        BigInteger first = nonceManager.reserve();
+        BigInteger second = nonceManager.reserve();
+        nonceManager.confirm(first);
+        nonceManager.confirm(second);
+
+        // the node has lost the second transaction
+        prepareTransactionCount(6);
+        nonceManager.reconcile();
+        assertThat(nonceManager.reserve(), equalTo(second));
+        assertThat(nonceManager.reserve(), equalTo(BigInteger.valueOf(7)));
+
+        // transactions were sent from elsewhere
+        prepareTransactionCount(20);
+        nonceManager.reconcile();
+        assertThat(nonceManager.reserve(), equalTo(BigInteger.valueOf(20)));
+    }
+
+    @Test
+    public void testReconcileFillsGap() throws Exception {
+        // nonces were allocated up to 8, but never reserved through this manager
+        nonceManager.reset(BigInteger.valueOf(8));
+        BigInteger reserved = nonceManager.reserve();
+
+        nonceManager.reconcile();
+        assertThat(nonceManager.reserve(), equalTo(BigInteger.valueOf(5)));
+        assertThat(nonceManager.reserve(), equalTo(BigInteger.valueOf(6)));
+        assertThat(nonceManager.reserve(), equalTo(BigInteger.valueOf(7)));
+        assertThat(nonceManager.reserve(), equalTo(reserved.add(BigInteger.ONE)));
+    }
+
+    @Test
+    public void testReconcileIgnoresNonceConfirmedDuringRequest() throws Exception {
+        BigInteger first = nonceManager.reserve();
+        BigInteger second = nonceManager.reserve();
+        nonceManager.confirm(first);
+
+        // the second transaction is confirmed after the node counted its transactions
+        EthGetTransactionCount ethGetTransactionCount = new EthGetTransactionCount();
+        ethGetTransactionCount.setResult("0x6");
+        when(web3jService.send(any(Request.class), eq(EthGetTransactionCount.class)))
+                .thenAnswer(
+                        invocation -> {
+                            nonceManager.confirm(second);
+                            return ethGetTransactionCount;
+                        });
+
+        nonceManager.reconcile();
+        assertThat(nonceManager.reserve(), equalTo(BigInteger.valueOf(7)));
+    }
+
+    @Test
+    public void testNonceReleasedOnRuntimeException() throws Exception {
+        Web3j web3j = Web3j.build(web3jService);
+        FastRawTransactionManager transactionManager =
+                new FastRawTransactionManager(
+                        web3j,
+                        SampleKeys.CREDENTIALS,
+                        ChainId.NONE,
+                        new NoOpProcessor(web3j),
+                        nonceManager);
+        when(web3jService.send(any(Request.class), eq(EthSendTransaction.class)))
+                .thenThrow(new ClientConnectionException("Invalid response received: 502"));
+
+        try {
+            transactionManager.sendTransaction(
+                    BigInteger.ONE, BigInteger.TEN, SampleKeys.ADDRESS, "", BigInteger.ONE);
+            fail();
+        } catch (ClientConnectionException e) {
+            // expected
+        }
+        assertThat(nonceManager.reserve(), equalTo(BigInteger.valueOf(5)));
+    }
+
+    private void prepareTransactionCount(long count) throws Exception {
+        EthGetTransactionCount ethGetTransactionCount = new EthGetTransactionCount();
+        ethGetTransactionCount.setResult("0x" + Long.toHexString(count));
+        when(web3jService.send(any(Request.class), eq(EthGetTransactionCount.class)))
+                .thenReturn(ethGetTransactionCount);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.SampleKeys;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetBalance;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.tx.response.NoOpProcessor;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PooledTransactionManagerTest {
+
+    private static final Credentials SECOND =
+            Credentials.create(
+                    "0xa392604efc2fad9c0b3da43b5f698a2e3f270f170d859912be0d54742275c5f7");
+
+    private Web3jService web3jService;
+    private Web3j web3j;
+    private List<Credentials> credentials;
+
+    @Before
+    public void setUp() throws Exception {
+        web3jService = mock(Web3jService.class);
+        web3j = Web3j.build(web3jService);
+        credentials = Arrays.asList(SampleKeys.CREDENTIALS, SECOND);
+
+        EthGetTransactionCount ethGetTransactionCount = new EthGetTransactionCount();
+        ethGetTransactionCount.setResult("0x0");
+        when(web3jService.send(any(Request.class), eq(EthGetTransactionCount.class)))
+                .thenReturn(ethGetTransactionCount);
+
+        // the node reports the hash of the signed transaction
+        when(web3jService.send(any(Request.class), eq(EthSendTransaction.class)))
+                .thenAnswer(
+                        invocation -> {
+                            Request<?, ?> request = invocation.getArgumentAt(0, Request.class);
+                            EthSendTransaction ethSendTransaction = new EthSendTransaction();
+                            ethSendTransaction.setResult(
+                                    Hash.sha3((String) request.getParams().get(0)));
+                            return ethSendTransaction;
+                        });
+    }
+
+    @Test
+    public void testRoundRobin() throws Exception {
+        PooledTransactionManager transactionManager =
+                createTransactionManager(PooledTransactionManager.Assignment.ROUND_ROBIN);
+
+        for (int i = 0; i < 4; i++) {
+            sendTransaction(transactionManager);
+        }
+
+        assertThat(transactionManager.getPendingCount(SampleKeys.ADDRESS), equalTo(2));
+        assertThat(transactionManager.getPendingCount(SECOND.getAddress()), equalTo(2));
+        assertThat(
+                transactionManager.getTransactionManager(SECOND.getAddress()).getCurrentNonce(),
+                equalTo(BigInteger.ONE));
+    }
+
+    @Test
+    public void testLeastPending() throws Exception {
+        PooledTransactionManager transactionManager =
+                createTransactionManager(PooledTransactionManager.Assignment.LEAST_PENDING);
+
+        String first = sendTransaction(transactionManager);
+        sendTransaction(transactionManager);
+        sendTransaction(transactionManager);
+
+        // an account with two pending transactions completes both of them
+        String busy =
+                transactionManager.getPendingCount(SampleKeys.ADDRESS) == 2
+                        ? SampleKeys.ADDRESS
+                        : SECOND.getAddress();
+        transactionManager.transactionCompleted(first);
+        assertThat(transactionManager.getPendingCount(SampleKeys.ADDRESS), equalTo(1));
+        assertThat(transactionManager.getPendingCount(SECOND.getAddress()), equalTo(1));
+
+        sendTransaction(transactionManager);
+        sendTransaction(transactionManager);
+        assertThat(transactionManager.getPendingCount(busy), equalTo(2));
+        assertThat(
+                transactionManager.getPendingCount(SampleKeys.ADDRESS)
+                        + transactionManager.getPendingCount(SECOND.getAddress()),
+                equalTo(4));
+    }
+
+    @Test
+    public void testTopUp() throws Exception {
+        PooledTransactionManager transactionManager =
+                createTransactionManager(PooledTransactionManager.Assignment.ROUND_ROBIN);
+        prepareBalances("0x0", "0x3e8");
+
+        Map<String, BigInteger> toppedUp = new HashMap<>();
+        transactionManager.setTopUp(BigInteger.valueOf(100), toppedUp::put);
+        transactionManager.checkBalances();
+
+        assertThat(toppedUp.size(), equalTo(1));
+        assertThat(toppedUp.get(SampleKeys.ADDRESS), equalTo(BigInteger.ZERO));
+
+        // the underfunded account is skipped until it has been topped up
+        sendTransaction(transactionManager);
+        sendTransaction(transactionManager);
+        assertThat(transactionManager.getPendingCount(SampleKeys.ADDRESS), equalTo(0));
+        assertThat(transactionManager.getPendingCount(SECOND.getAddress()), equalTo(2));
+
+        prepareBalances("0x3e8", "0x3e8");
+        transactionManager.checkBalances();
+        sendTransaction(transactionManager);
+        sendTransaction(transactionManager);
+        assertThat(transactionManager.getPendingCount(SampleKeys.ADDRESS), equalTo(1));
+    }
+
+    private PooledTransactionManager createTransactionManager(
+            PooledTransactionManager.Assignment assignment) {
+        return new PooledTransactionManager(
+                web3j, credentials, ChainId.NONE, assignment, new NoOpProcessor(web3j));
+    }
+
+    private String sendTransaction(TransactionManager transactionManager) throws IOException {
+        return transactionManager
+                .sendTransaction(
+                        BigInteger.ONE, BigInteger.TEN, SampleKeys.ADDRESS, "", BigInteger.ONE)
+                .getTransactionHash();
+    }
+
+    private void prepareBalances(String... balances) throws IOException {
+        doAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest =
+                                    invocation.getArgumentAt(0, BatchRequest.class);
+                            List<Response<?>> responses = new ArrayList<>();
+                            for (String balance : balances) {
+                                EthGetBalance ethGetBalance = new EthGetBalance();
+                                ethGetBalance.setResult(balance);
+                                responses.add(ethGetBalance);
+                            }
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        })
+                .when(web3jService)
+                .sendBatch(any(BatchRequest.class));
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.web3j.TempFileProvider;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.SampleKeys;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.tx.response.NoOpProcessor;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TransactionJournalTest extends TempFileProvider {
+
+    private Path path;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        path = Paths.get(tempDirPath, "journal");
+    }
+
+    @Test
+    public void testReplay() throws Exception {
+        try (TransactionJournal transactionJournal = new TransactionJournal(path)) {
+            transactionJournal.sent(BigInteger.ZERO, "0xa0", "0xf0");
+            transactionJournal.sent(BigInteger.ONE, "0xa1", "0xf1");
+            transactionJournal.sent(BigInteger.ONE, "0xb1", "0xf2");
+            transactionJournal.sent(BigInteger.valueOf(2), "0xa2", "0xf3");
+            transactionJournal.sent(BigInteger.valueOf(3), "0xa3", "0xf4");
+
+            transactionJournal.confirmed("0xa0");
+            // a replacement is confirmed, so neither version is pending
+            transactionJournal.confirmed("0xb1");
+            transactionJournal.failed("0xa3");
+        }
+
+        try (TransactionJournal transactionJournal = new TransactionJournal(path)) {
+            List<TransactionJournal.Entry> pending = transactionJournal.getPendingTransactions();
+            assertThat(pending.size(), equalTo(1));
+            assertThat(pending.get(0).getNonce(), equalTo(BigInteger.valueOf(2)));
+            assertThat(pending.get(0).getTransactionHash(), equalTo("0xa2"));
+            assertThat(pending.get(0).getSignedTransaction(), equalTo("0xf3"));
+            assertThat(transactionJournal.getNextNonce(), equalTo(BigInteger.valueOf(3)));
+        }
+
+        // the journal was compacted to the pending transaction
+        assertThat(Files.readAllLines(path).size(), equalTo(1));
+    }
+
+    @Test
+    public void testCorruptRecordsSkipped() throws Exception {
+        try (TransactionJournal transactionJournal = new TransactionJournal(path)) {
+            transactionJournal.sent(BigInteger.ZERO, "0xa0", "0xf0");
+        }
+        Files.write(
+                path,
+                "1234 SENT 0x1 0xa1 0xf1\n5678 SENT 0x2 0xa2".getBytes(StandardCharsets.US_ASCII),
+                StandardOpenOption.APPEND);
+
+        try (TransactionJournal transactionJournal = new TransactionJournal(path)) {
+            List<TransactionJournal.Entry> pending = transactionJournal.getPendingTransactions();
+            assertThat(pending.size(), equalTo(1));
+            assertThat(pending.get(0).getTransactionHash(), equalTo("0xa0"));
+        }
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        try (TransactionJournal transactionJournal = new TransactionJournal(path, 1024)) {
+            for (int i = 0; i < 100; i++) {
+                String transactionHash = "0xa" + i;
+                transactionJournal.sent(BigInteger.valueOf(i), transactionHash, "0xf" + i);
+                transactionJournal.confirmed(transactionHash);
+            }
+            transactionJournal.sent(BigInteger.valueOf(100), "0xa100", "0xf100");
+
+            assertTrue(transactionJournal.size() < 1024);
+            assertThat(Files.size(path), equalTo(transactionJournal.size()));
+        }
+
+        try (TransactionJournal transactionJournal = new TransactionJournal(path)) {
+            assertThat(transactionJournal.getPendingCount(), equalTo(1));
+        }
+    }
+
+    @Test
+    public void testConfirmedOnReconcile() throws Exception {
+        Web3jService web3jService = mock(Web3jService.class);
+        Web3j web3j = Web3j.build(web3jService);
+        prepareTransactionCount(web3jService, 0);
+        when(web3jService.send(any(Request.class), eq(EthSendTransaction.class)))
+                .thenAnswer(
+                        invocation -> {
+                            Request request = invocation.getArgumentAt(0, Request.class);
+                            EthSendTransaction ethSendTransaction = new EthSendTransaction();
+                            ethSendTransaction.setResult(
+                                    Hash.sha3((String) request.getParams().get(0)));
+                            return ethSendTransaction;
+                        });
+
+        try (TransactionJournal transactionJournal = new TransactionJournal(path)) {
+            FastRawTransactionManager transactionManager =
+                    createTransactionManager(web3j, transactionJournal);
+            for (int i = 0; i < 3; i++) {
+                transactionManager.sendTransaction(
+                        BigInteger.ONE, BigInteger.TEN, SampleKeys.ADDRESS, "", BigInteger.ONE);
+            }
+            assertThat(transactionJournal.getPendingCount(), equalTo(3));
+
+            // all three transactions are in the transaction pool, but only the first is mined
+            prepareTransactionCounts(web3jService, 3, 1);
+            transactionManager.getNonceManager().reconcile();
+            assertThat(transactionJournal.getPendingCount(), equalTo(2));
+            assertThat(
+                    transactionJournal.getPendingTransactions().get(0).getNonce(),
+                    equalTo(BigInteger.ONE));
+        }
+    }
+
+    @Test
+    public void testRemainsPendingOnSendFailure() throws Exception {
+        Web3jService web3jService = mock(Web3jService.class);
+        Web3j web3j = Web3j.build(web3jService);
+        prepareTransactionCount(web3jService, 0);
+        prepareTransactionCounts(web3jService, 0, 0);
+        when(web3jService.send(any(Request.class), eq(EthSendTransaction.class)))
+                .thenThrow(new IOException("Read timed out"));
+
+        try (TransactionJournal transactionJournal = new TransactionJournal(path)) {
+            FastRawTransactionManager transactionManager =
+                    createTransactionManager(web3j, transactionJournal);
+            try {
+                transactionManager.sendTransaction(
+                        BigInteger.ONE, BigInteger.TEN, SampleKeys.ADDRESS, "", BigInteger.ONE);
+                fail();
+            } catch (IOException e) {
+                // expected
+            }
+            // the node may have received the transaction before the request timed out
+            assertThat(transactionJournal.getPendingCount(), equalTo(1));
+        }
+    }
+
+    @Test
+    public void testRecover() throws Exception {
+        Web3jService web3jService = mock(Web3jService.class);
+        Web3j web3j = Web3j.build(web3jService);
+
+        try (TransactionJournal transactionJournal = new TransactionJournal(path)) {
+            FastRawTransactionManager transactionManager =
+                    createTransactionManager(web3j, transactionJournal);
+            for (int i = 0; i < 3; i++) {
+                String signedTransaction = transactionManager.sign(createTransaction(i));
+                transactionJournal.sent(
+                        BigInteger.valueOf(i), Hash.sha3(signedTransaction), signedTransaction);
+            }
+        }
+
+        // the first transaction has been mined in the meantime
+        EthGetTransactionCount ethGetTransactionCount = new EthGetTransactionCount();
+        ethGetTransactionCount.setResult("0x1");
+        when(web3jService.send(any(Request.class), eq(EthGetTransactionCount.class)))
+                .thenReturn(ethGetTransactionCount);
+
+        List<BigInteger> rebroadcastNonces = Collections.synchronizedList(new ArrayList<>());
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest =
+                                    invocation.getArgumentAt(0, BatchRequest.class);
+                            List<Response<?>> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                String signedTransaction = (String) request.getParams().get(0);
+                                rebroadcastNonces.add(
+                                        TransactionDecoder.decode(signedTransaction).getNonce());
+                                EthSendTransaction ethSendTransaction = new EthSendTransaction();
+                                ethSendTransaction.setResult(Hash.sha3(signedTransaction));
+                                responses.add(ethSendTransaction);
+                            }
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+
+        try (TransactionJournal transactionJournal = new TransactionJournal(path)) {
+            FastRawTransactionManager transactionManager =
+                    createTransactionManager(web3j, transactionJournal);
+            Map<String, CompletableFuture<TransactionReceipt>> receipts =
+                    transactionManager.recover();
+
+            assertThat(receipts.size(), equalTo(2));
+            assertThat(rebroadcastNonces, equalTo(nonces(1, 2)));
+            assertThat(transactionManager.getCurrentNonce(), equalTo(BigInteger.valueOf(2)));
+            assertThat(transactionJournal.getPendingTransactions().size(), equalTo(2));
+        }
+    }
+
+    private static void prepareTransactionCount(Web3jService web3jService, long count)
+            throws IOException {
+        EthGetTransactionCount ethGetTransactionCount = new EthGetTransactionCount();
+        ethGetTransactionCount.setResult("0x" + Long.toHexString(count));
+        when(web3jService.send(any(Request.class), eq(EthGetTransactionCount.class)))
+                .thenReturn(ethGetTransactionCount);
+    }
+
+    private static void prepareTransactionCounts(
+            Web3jService web3jService, long pending, long mined) throws IOException {
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest =
+                                    invocation.getArgumentAt(0, BatchRequest.class);
+                            List<Response<?>> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                boolean isPending =
+                                        request.getParams()
+                                                .get(1)
+                                                .equals(
+                                                        DefaultBlockParameterName.PENDING
+                                                                .getValue());
+                                EthGetTransactionCount ethGetTransactionCount =
+                                        new EthGetTransactionCount();
+                                ethGetTransactionCount.setResult(
+                                        "0x" + Long.toHexString(isPending ? pending : mined));
+                                responses.add(ethGetTransactionCount);
+                            }
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+    }
+
+    private FastRawTransactionManager createTransactionManager(
+            Web3j web3j, TransactionJournal transactionJournal) {
+        return new FastRawTransactionManager(
+                web3j,
+                SampleKeys.CREDENTIALS,
+                ChainId.NONE,
+                new NoOpProcessor(web3j),
+                new NonceManager(web3j, SampleKeys.ADDRESS),
+                transactionJournal);
+    }
+
+    private RawTransaction createTransaction(long nonce) {
+        return RawTransaction.createEtherTransaction(
+                BigInteger.valueOf(nonce),
+                BigInteger.ONE,
+                BigInteger.valueOf(21000),
+                SampleKeys.ADDRESS,
+                BigInteger.ONE);
+    }
+
+    private static List<BigInteger> nonces(long... values) {
+        List<BigInteger> nonces = new ArrayList<>();
+        for (long value : values) {
+            nonces.add(BigInteger.valueOf(value));
+        }
+        return nonces;
+    }
+}
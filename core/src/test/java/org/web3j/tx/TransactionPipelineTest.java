@@ -0,0 +1,255 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.SampleKeys;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.tx.exceptions.TxHashMismatchException;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TransactionPipelineTest {
+
+    private Web3jService web3jService;
+    private ExecutorService executor;
+    private TransactionPipeline transactionPipeline;
+
+    private final List<BigInteger> sentNonces = Collections.synchronizedList(new ArrayList<>());
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+    @Before
+    public void setUp() throws Exception {
+        web3jService = mock(Web3jService.class);
+        executor = Executors.newFixedThreadPool(4);
+        Web3j web3j = Web3j.build(web3jService);
+        transactionPipeline =
+                new TransactionPipeline(
+                        web3j,
+                        new RawTransactionManager(web3j, SampleKeys.CREDENTIALS),
+                        executor,
+                        3);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testTransactionsSentInNonceOrder() throws Exception {
+        prepareBatchResponses(false);
+
+        List<RawTransaction> rawTransactions = new ArrayList<>();
+        for (int i = 9; i >= 0; i--) {
+            rawTransactions.add(createTransaction(i));
+        }
+        List<CompletableFuture<EthSendTransaction>> results =
+                transactionPipeline.submitAll(rawTransactions);
+
+        for (CompletableFuture<EthSendTransaction> result : results) {
+            assertTrue(result.get().getTransactionHash().startsWith("0x"));
+        }
+        for (int i = 0; i < 10; i++) {
+            assertThat(sentNonces.get(i), equalTo(BigInteger.valueOf(i)));
+        }
+        for (int batchSize : batchSizes) {
+            assertTrue(batchSize <= 3);
+        }
+    }
+
+    @Test
+    public void testHashMismatch() throws Exception {
+        prepareBatchResponses(true);
+
+        CompletableFuture<EthSendTransaction> result =
+                transactionPipeline.submit(createTransaction(0));
+        try {
+            result.join();
+            fail();
+        } catch (Exception e) {
+            assertThat(e.getCause(), instanceOf(TxHashMismatchException.class));
+        }
+    }
+
+    @Test
+    public void testRejectedExecution() throws Exception {
+        prepareBatchResponses(false);
+        AtomicInteger accepted = new AtomicInteger(2);
+        Web3j web3j = Web3j.build(web3jService);
+        transactionPipeline =
+                new TransactionPipeline(
+                        web3j,
+                        new RawTransactionManager(web3j, SampleKeys.CREDENTIALS),
+                        command -> {
+                            if (accepted.getAndDecrement() <= 0) {
+                                throw new RejectedExecutionException();
+                            }
+                            command.run();
+                        });
+
+        List<CompletableFuture<EthSendTransaction>> results =
+                transactionPipeline.submitAll(createTransactions(5));
+
+        assertTrue(results.get(0).get().getTransactionHash().startsWith("0x"));
+        assertTrue(results.get(1).get().getTransactionHash().startsWith("0x"));
+        assertFailure(results.get(2), RejectedExecutionException.class);
+        assertFailure(results.get(3), TransactionException.class);
+        assertFailure(results.get(4), TransactionException.class);
+        assertThat(sentNonces, equalTo(Arrays.asList(BigInteger.ZERO, BigInteger.ONE)));
+
+        // the rejected transaction does not hold up its resubmission
+        accepted.set(1);
+        assertTrue(
+                transactionPipeline
+                        .submit(createTransaction(2))
+                        .get()
+                        .getTransactionHash()
+                        .startsWith("0x"));
+    }
+
+    @Test
+    public void testSigningFailure() throws Exception {
+        prepareBatchResponses(false);
+        Web3j web3j = Web3j.build(web3jService);
+        transactionPipeline =
+                new TransactionPipeline(
+                        web3j,
+                        new RawTransactionManager(web3j, SampleKeys.CREDENTIALS) {
+                            @Override
+                            public byte[] signMessage(RawTransaction rawTransaction) {
+                                if (rawTransaction.getNonce().equals(BigInteger.valueOf(2))) {
+                                    throw new IllegalStateException("Signer unavailable");
+                                }
+                                return super.signMessage(rawTransaction);
+                            }
+                        },
+                        executor,
+                        3);
+
+        List<CompletableFuture<EthSendTransaction>> results =
+                transactionPipeline.submitAll(createTransactions(6));
+
+        assertTrue(results.get(0).get().getTransactionHash().startsWith("0x"));
+        assertTrue(results.get(1).get().getTransactionHash().startsWith("0x"));
+        assertFailure(results.get(2), IllegalStateException.class);
+        for (int i = 3; i < 6; i++) {
+            assertFailure(results.get(i), TransactionException.class);
+        }
+        assertThat(sentNonces, equalTo(Arrays.asList(BigInteger.ZERO, BigInteger.ONE)));
+    }
+
+    @Test
+    public void testBatchFailure() throws Exception {
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenThrow(new IOException("Connection refused"));
+
+        List<CompletableFuture<EthSendTransaction>> results =
+                transactionPipeline.submitAll(createTransactions(6));
+
+        for (CompletableFuture<EthSendTransaction> result : results) {
+            try {
+                result.join();
+                fail();
+            } catch (CompletionException e) {
+                assertTrue(
+                        e.getCause() instanceof IOException
+                                || e.getCause() instanceof TransactionException);
+            }
+        }
+        verify(web3jService, times(1)).sendBatch(any(BatchRequest.class));
+    }
+
+    private static void assertFailure(
+            CompletableFuture<EthSendTransaction> result, Class<? extends Throwable> type) {
+        try {
+            result.join();
+            fail();
+        } catch (CompletionException e) {
+            assertThat(e.getCause(), instanceOf(type));
+        }
+    }
+
+    private List<RawTransaction> createTransactions(int count) {
+        List<RawTransaction> rawTransactions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rawTransactions.add(createTransaction(i));
+        }
+        return rawTransactions;
+    }
+
+    private RawTransaction createTransaction(long nonce) {
+        return RawTransaction.createEtherTransaction(
+                BigInteger.valueOf(nonce),
+                BigInteger.ONE,
+                BigInteger.TEN,
+                SampleKeys.ADDRESS,
+                BigInteger.ONE);
+    }
+
+    private void prepareBatchResponses(boolean wrongHash) throws IOException {
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest =
+                                    invocation.getArgumentAt(0, BatchRequest.class);
+                            batchSizes.add(batchRequest.size());
+                            List<Response<?>> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                String signedTransaction = (String) request.getParams().get(0);
+                                sentNonces.add(
+                                        TransactionDecoder.decode(signedTransaction).getNonce());
+                                EthSendTransaction ethSendTransaction = new EthSendTransaction();
+                                ethSendTransaction.setResult(
+                                        wrongHash ? "0x0" : Hash.sha3(signedTransaction));
+                                responses.add(ethSendTransaction);
+                            }
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+    }
+}
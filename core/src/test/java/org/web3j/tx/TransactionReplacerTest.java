@@ -0,0 +1,229 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.SampleKeys;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.ClientConnectionException;
+import org.web3j.protocol.exceptions.TransactionException;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TransactionReplacerTest {
+
+    private static final long ONE_HOUR = 60 * 60 * 1000;
+
+    private Web3jService web3jService;
+    private ScheduledExecutorService scheduledExecutorService;
+
+    private final List<String> sentTransactions = Collections.synchronizedList(new ArrayList<>());
+    private final Set<String> minedHashes = Collections.synchronizedSet(new HashSet<>());
+    private volatile long transactionCount;
+    private Answer<BatchResponse> batchAnswer;
+
+    @Before
+    public void setUp() throws Exception {
+        web3jService = mock(Web3jService.class);
+        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+
+        when(web3jService.send(any(Request.class), eq(EthSendTransaction.class)))
+                .thenAnswer(
+                        invocation -> {
+                            Request request = invocation.getArgumentAt(0, Request.class);
+                            String signedTransaction = (String) request.getParams().get(0);
+                            sentTransactions.add(signedTransaction);
+                            EthSendTransaction ethSendTransaction = new EthSendTransaction();
+                            ethSendTransaction.setResult(Hash.sha3(signedTransaction));
+                            return ethSendTransaction;
+                        });
+        batchAnswer =
+                invocation -> {
+                    BatchRequest batchRequest = invocation.getArgumentAt(0, BatchRequest.class);
+                    List<Response<?>> responses = new ArrayList<>();
+                    for (Request<?, ?> request : batchRequest.getRequests()) {
+                        if (request.getMethod().equals("eth_getTransactionCount")) {
+                            EthGetTransactionCount ethGetTransactionCount =
+                                    new EthGetTransactionCount();
+                            ethGetTransactionCount.setResult(
+                                    "0x" + Long.toHexString(transactionCount));
+                            responses.add(ethGetTransactionCount);
+                        } else {
+                            responses.add(receiptResponse((String) request.getParams().get(0)));
+                        }
+                    }
+                    return new BatchResponse(batchRequest.getRequests(), responses);
+                };
+        doAnswer(batchAnswer).when(web3jService).sendBatch(any(BatchRequest.class));
+    }
+
+    @After
+    public void tearDown() {
+        scheduledExecutorService.shutdown();
+    }
+
+    @Test
+    public void testReplacementMined() throws Exception {
+        TransactionReplacer transactionReplacer = createReplacer(BigInteger.valueOf(1000));
+
+        CompletableFuture<TransactionReceipt> result =
+                transactionReplacer.send(createTransaction(100));
+        transactionReplacer.check();
+
+        assertThat(sentTransactions.size(), equalTo(2));
+        RawTransaction replacement = TransactionDecoder.decode(sentTransactions.get(1));
+        assertThat(replacement.getNonce(), equalTo(BigInteger.ZERO));
+        assertThat(replacement.getGasPrice(), equalTo(BigInteger.valueOf(115)));
+        assertFalse(result.isDone());
+
+        // the original may still be mined, rather than its replacement
+        String originalHash = Hash.sha3(sentTransactions.get(0));
+        minedHashes.add(originalHash);
+        transactionCount = 1;
+        transactionReplacer.check();
+
+        assertThat(result.get().getTransactionHash(), equalTo(originalHash));
+        assertThat(transactionReplacer.getTrackedCount(), equalTo(0));
+    }
+
+    @Test
+    public void testGasPriceCapped() throws Exception {
+        TransactionReplacer transactionReplacer = createReplacer(BigInteger.valueOf(110));
+
+        transactionReplacer.send(createTransaction(100));
+        transactionReplacer.check();
+        transactionReplacer.check();
+
+        assertThat(sentTransactions.size(), equalTo(2));
+        assertThat(
+                TransactionDecoder.decode(sentTransactions.get(1)).getGasPrice(),
+                equalTo(BigInteger.valueOf(110)));
+    }
+
+    @Test
+    public void testNotReplacedBelowMinimumIncrease() throws Exception {
+        TransactionReplacer transactionReplacer = createReplacer(BigInteger.valueOf(105));
+
+        transactionReplacer.send(createTransaction(100));
+        transactionReplacer.check();
+
+        assertThat(sentTransactions.size(), equalTo(1));
+    }
+
+    @Test
+    public void testCheckSurvivesRuntimeException() throws Exception {
+        TransactionReplacer transactionReplacer = createReplacer(BigInteger.valueOf(1000));
+        CompletableFuture<TransactionReceipt> result =
+                transactionReplacer.send(createTransaction(100));
+
+        doThrow(new ClientConnectionException("Invalid response received: 502"))
+                .doAnswer(batchAnswer)
+                .when(web3jService)
+                .sendBatch(any(BatchRequest.class));
+        transactionReplacer.check();
+
+        minedHashes.add(Hash.sha3(sentTransactions.get(0)));
+        transactionCount = 1;
+        transactionReplacer.check();
+        assertTrue(result.isDone());
+    }
+
+    @Test
+    public void testNonceUsedByUntrackedTransaction() throws Exception {
+        TransactionReplacer transactionReplacer = createReplacer(BigInteger.valueOf(1000));
+
+        CompletableFuture<TransactionReceipt> result =
+                transactionReplacer.send(createTransaction(100));
+        transactionCount = 1;
+        transactionReplacer.check();
+        assertFalse(result.isDone());
+
+        transactionReplacer.check();
+        assertTrue(result.isDone());
+        try {
+            result.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(TransactionException.class));
+        }
+    }
+
+    private TransactionReplacer createReplacer(BigInteger maxGasPrice) {
+        Web3j web3j = Web3j.build(web3jService);
+        return new TransactionReplacer(
+                web3j,
+                new RawTransactionManager(web3j, SampleKeys.CREDENTIALS),
+                scheduledExecutorService,
+                ONE_HOUR,
+                0,
+                TransactionReplacer.DEFAULT_BUMP_PERCENTAGE,
+                maxGasPrice);
+    }
+
+    private RawTransaction createTransaction(long gasPrice) {
+        return RawTransaction.createEtherTransaction(
+                BigInteger.ZERO,
+                BigInteger.valueOf(gasPrice),
+                BigInteger.valueOf(21000),
+                SampleKeys.ADDRESS,
+                BigInteger.ONE);
+    }
+
+    private EthGetTransactionReceipt receiptResponse(String transactionHash) {
+        EthGetTransactionReceipt ethGetTransactionReceipt = new EthGetTransactionReceipt();
+        if (minedHashes.contains(transactionHash)) {
+            TransactionReceipt transactionReceipt = new TransactionReceipt();
+            transactionReceipt.setTransactionHash(transactionHash);
+            ethGetTransactionReceipt.setResult(transactionReceipt);
+        }
+        return ethGetTransactionReceipt;
+    }
+}
@@ -43,6 +43,16 @@ public class TransferTest extends ManagedTransactionTester {
                 is(transactionReceipt));
     }
 
+    @Test
+    public void testSendFundsAsync() throws Exception {
+        assertThat(
+                new Transfer(web3j, getVerifiedTransactionManager(SampleKeys.CREDENTIALS))
+                        .sendFunds(ADDRESS, BigDecimal.TEN, Convert.Unit.ETHER)
+                        .sendAsync()
+                        .get(),
+                is(transactionReceipt));
+    }
+
     @Test(expected = UnsupportedOperationException.class)
     public void testTransferInvalidValue() throws Exception {
         sendFunds(SampleKeys.CREDENTIALS, ADDRESS, new BigDecimal(0.1), Convert.Unit.WEI);
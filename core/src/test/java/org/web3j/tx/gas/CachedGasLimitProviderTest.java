@@ -0,0 +1,160 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.gas;
+
+import java.math.BigInteger;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.ChainHeadTracker;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.BlockHeader;
+import org.web3j.protocol.core.methods.response.EthEstimateGas;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachedGasLimitProviderTest {
+
+    private static final String CONTRACT = "0x3d6cb163f7c72d20b0fcd6baae5889329d138a4a";
+    private static final String TRANSFER =
+            "0xa9059cbb"
+                    + "000000000000000000000000ef678007d18427e6022059dbc264f27507cd1ffc"
+                    + "0000000000000000000000000000000000000000000000000000000000000001";
+
+    private Web3j web3j;
+    private ChainHeadTracker chainHeadTracker;
+    private CachedGasLimitProvider gasProvider;
+
+    @Before
+    public void setUp() throws Exception {
+        web3j = mock(Web3j.class);
+        chainHeadTracker = mock(ChainHeadTracker.class);
+        when(web3j.chainHeadTracker()).thenReturn(chainHeadTracker);
+        when(chainHeadTracker.isTracking()).thenReturn(true);
+        prepareBlockNumber(10);
+        prepareEstimate("0x3e8");
+
+        gasProvider =
+                new CachedGasLimitProvider(
+                        web3j,
+                        new StaticGasProvider(BigInteger.ONE, BigInteger.valueOf(50000)),
+                        CachedGasLimitProvider.DEFAULT_TTL,
+                        5,
+                        20,
+                        3,
+                        true);
+    }
+
+    @Test
+    public void testEstimatesCachedBySelectorAndShape() {
+        assertThat(getGasLimit(TRANSFER), equalTo(BigInteger.valueOf(1200)));
+        assertThat(getGasLimit(TRANSFER), equalTo(BigInteger.valueOf(1200)));
+        verify(web3j, times(1)).ethEstimateGas(any(Transaction.class));
+
+        // calls differing in selector or argument shape are estimated separately
+        getGasLimit("0x095ea7b3" + TRANSFER.substring(10));
+        getGasLimit(TRANSFER + "00");
+        verify(web3j, times(3)).ethEstimateGas(any(Transaction.class));
+        assertThat(gasProvider.size(), equalTo(3));
+
+        gasProvider.invalidate(CONTRACT);
+        assertThat(gasProvider.size(), equalTo(0));
+    }
+
+    @Test
+    public void testEstimatesExpireAfterBlocks() {
+        getGasLimit(TRANSFER);
+        prepareBlockNumber(14);
+        getGasLimit(TRANSFER);
+        verify(web3j, times(1)).ethEstimateGas(any(Transaction.class));
+
+        prepareBlockNumber(15);
+        getGasLimit(TRANSFER);
+        verify(web3j, times(2)).ethEstimateGas(any(Transaction.class));
+    }
+
+    @Test
+    public void testEstimatesExpireByTimeWhenHeadNotTracked() {
+        when(chainHeadTracker.isTracking()).thenReturn(false);
+        getGasLimit(TRANSFER);
+        prepareBlockNumber(15);
+        getGasLimit(TRANSFER);
+        verify(web3j, times(1)).ethEstimateGas(any(Transaction.class));
+        verify(chainHeadTracker, never()).start();
+    }
+
+    @Test
+    public void testRevalidationReplacesLowerEstimate() throws Exception {
+        getGasLimit(TRANSFER);
+        getGasLimit(TRANSFER);
+        prepareEstimate("0x7d0");
+        // every third use of the cached estimate is checked against a live estimate
+        assertThat(getGasLimit(TRANSFER), equalTo(BigInteger.valueOf(1200)));
+        assertThat(getGasLimit(TRANSFER), equalTo(BigInteger.valueOf(2400)));
+        assertThat(getGasLimit(TRANSFER), equalTo(BigInteger.valueOf(2400)));
+        verify(web3j, times(2)).ethEstimateGas(any(Transaction.class));
+    }
+
+    @Test
+    public void testFallsBackToDelegate() throws Exception {
+        EthEstimateGas ethEstimateGas = new EthEstimateGas();
+        ethEstimateGas.setError(new Response.Error(3, "execution reverted"));
+        prepareEstimate(ethEstimateGas);
+
+        assertThat(getGasLimit(TRANSFER), equalTo(BigInteger.valueOf(50000)));
+        assertThat(
+                gasProvider.getGasLimit(
+                        "deploy",
+                        Transaction.createContractTransaction(CONTRACT, null, null, "0x00")),
+                equalTo(BigInteger.valueOf(50000)));
+        assertThat(gasProvider.size(), equalTo(0));
+    }
+
+    private BigInteger getGasLimit(String data) {
+        return gasProvider.getGasLimit(
+                "transfer",
+                Transaction.createFunctionCallTransaction(
+                        CONTRACT, null, null, null, CONTRACT, BigInteger.ZERO, data));
+    }
+
+    private void prepareBlockNumber(long blockNumber) {
+        BlockHeader header = new BlockHeader();
+        header.setNumber("0x" + Long.toHexString(blockNumber));
+        when(chainHeadTracker.getCachedHeader()).thenReturn(Optional.of(header));
+    }
+
+    private void prepareEstimate(String gas) throws Exception {
+        EthEstimateGas ethEstimateGas = new EthEstimateGas();
+        ethEstimateGas.setResult(gas);
+        prepareEstimate(ethEstimateGas);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void prepareEstimate(EthEstimateGas ethEstimateGas) throws Exception {
+        Request<?, EthEstimateGas> request = mock(Request.class);
+        when(request.send()).thenReturn(ethEstimateGas);
+        when(web3j.ethEstimateGas(any(Transaction.class))).thenReturn((Request) request);
+    }
+}
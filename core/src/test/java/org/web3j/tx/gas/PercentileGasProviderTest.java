@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.gas;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.reactivex.processors.PublishProcessor;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthGasPrice;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PercentileGasProviderTest {
+
+    private final PublishProcessor<EthBlock> blocks = PublishProcessor.create();
+
+    private Web3j web3j;
+    private PercentileGasProvider gasProvider;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        web3j = mock(Web3j.class);
+        when(web3j.blockFlowable(true)).thenReturn(blocks);
+
+        EthGasPrice ethGasPrice = new EthGasPrice();
+        ethGasPrice.setResult("0x7");
+        Request<?, EthGasPrice> request = mock(Request.class);
+        when(request.send()).thenReturn(ethGasPrice);
+        when(web3j.ethGasPrice()).thenReturn((Request) request);
+
+        gasProvider =
+                new PercentileGasProvider(
+                        web3j, BigInteger.TEN, 2, PercentileGasProvider.Urgency.STANDARD);
+    }
+
+    @Test
+    public void testGasPriceRequestedUntilBlockSampled() throws Exception {
+        assertThat(gasProvider.getGasPrice("transfer"), equalTo(BigInteger.valueOf(7)));
+        assertTrue(blocks.hasSubscribers());
+
+        blocks.onNext(createBlock(1, 2, 3, 4));
+        assertThat(gasProvider.getGasPrice("transfer"), equalTo(BigInteger.valueOf(2)));
+        verify(web3j, times(1)).ethGasPrice();
+    }
+
+    @Test
+    public void testPercentilesOverRecentBlocks() {
+        gasProvider.setUrgency("mint", PercentileGasProvider.Urgency.URGENT);
+        gasProvider.getGasPrice();
+
+        blocks.onNext(createBlock(100, 100, 100, 100));
+        blocks.onNext(createBlock(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        blocks.onNext(createBlock(11, 12, 13, 14, 15, 16, 17, 18, 19, 20));
+        // empty blocks do not displace samples
+        blocks.onNext(createBlock());
+
+        assertThat(
+                gasProvider.getGasPrice(PercentileGasProvider.Urgency.SLOW),
+                equalTo(BigInteger.valueOf(5)));
+        assertThat(gasProvider.getGasPrice("transfer"), equalTo(BigInteger.valueOf(10)));
+        assertThat(
+                gasProvider.getGasPrice(PercentileGasProvider.Urgency.FAST),
+                equalTo(BigInteger.valueOf(15)));
+        assertThat(gasProvider.getGasPrice("mint"), equalTo(BigInteger.valueOf(19)));
+        assertThat(gasProvider.getGasLimit("mint"), equalTo(BigInteger.TEN));
+    }
+
+    private EthBlock createBlock(long... gasPrices) {
+        List<EthBlock.TransactionResult> transactions = new ArrayList<>();
+        for (long gasPrice : gasPrices) {
+            EthBlock.TransactionObject transaction = new EthBlock.TransactionObject();
+            transaction.setGasPrice("0x" + Long.toHexString(gasPrice));
+            transactions.add(transaction);
+        }
+        EthBlock.Block block = new EthBlock.Block();
+        block.setTransactions(transactions);
+        EthBlock ethBlock = new EthBlock();
+        ethBlock.setResult(block);
+        return ethBlock;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import io.reactivex.processors.PublishProcessor;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BlockTransactionReceiptProcessorTest {
+
+    private final PublishProcessor<EthBlock> blocks = PublishProcessor.create();
+    private final Set<String> mined = new HashSet<>();
+    private final List<List<String>> batches = new ArrayList<>();
+    private boolean failBatch;
+
+    private BlockTransactionReceiptProcessor processor;
+
+    @Before
+    public void setUp() throws Exception {
+        Web3jService web3jService = mock(Web3jService.class);
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            if (failBatch) {
+                                failBatch = false;
+                                throw new IOException("Connection reset");
+                            }
+                            BatchRequest batchRequest =
+                                    invocation.getArgumentAt(0, BatchRequest.class);
+                            List<String> batch = new ArrayList<>();
+                            List<Response<?>> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                String transactionHash = (String) request.getParams().get(0);
+                                batch.add(transactionHash);
+                                responses.add(response(transactionHash));
+                            }
+                            batches.add(batch);
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+
+        Web3j web3j = mock(Web3j.class);
+        when(web3j.blockFlowable(false)).thenReturn(blocks);
+        when(web3j.newBatch()).thenAnswer(invocation -> new BatchRequest(web3jService));
+        when(web3j.ethGetTransactionReceipt(anyString()))
+                .thenAnswer(
+                        invocation ->
+                                new Request<>(
+                                        "eth_getTransactionReceipt",
+                                        Collections.singletonList(
+                                                invocation.getArgumentAt(0, String.class)),
+                                        web3jService,
+                                        EthGetTransactionReceipt.class));
+
+        processor = new BlockTransactionReceiptProcessor(web3j, 2);
+    }
+
+    @Test
+    public void testReceiptsRequestedForIncludedTransactions() throws Exception {
+        CompletableFuture<TransactionReceipt> first =
+                processor.waitForTransactionReceiptAsync("0x01");
+        CompletableFuture<TransactionReceipt> second =
+                processor.waitForTransactionReceiptAsync("0x02");
+        assertTrue(blocks.hasSubscribers());
+        // registering does not make any request
+        assertTrue(batches.isEmpty());
+
+        // newly registered transactions are checked once with the next block
+        mined.add("0x01");
+        blocks.onNext(createBlock("0xaa", "0x01", "0xbb"));
+
+        assertThat(batches.size(), equalTo(1));
+        assertThat(
+                new HashSet<>(batches.get(0)),
+                equalTo(new HashSet<>(Arrays.asList("0x01", "0x02"))));
+        assertThat(first.get().getTransactionHash(), equalTo("0x01"));
+        assertFalse(second.isDone());
+        assertThat(processor.getPendingCount(), equalTo(1));
+
+        // blocks without our transactions do not cause any requests
+        blocks.onNext(createBlock("0xcc"));
+        assertThat(batches.size(), equalTo(1));
+
+        blocks.onNext(createBlock("0x02"));
+        assertThat(batches.get(1), equalTo(Collections.singletonList("0x02")));
+    }
+
+    @Test
+    public void testReceiptOfTransactionIncludedBeforeRegistration() throws Exception {
+        mined.add("0x01");
+        CompletableFuture<TransactionReceipt> result =
+                processor.waitForTransactionReceiptAsync("0x01");
+        assertFalse(result.isDone());
+
+        blocks.onNext(createBlock("0xaa"));
+        assertThat(result.get().getTransactionHash(), equalTo("0x01"));
+        assertThat(processor.getPendingCount(), equalTo(0));
+    }
+
+    @Test
+    public void testReceiptRequestedAgainUntilAvailable() throws Exception {
+        CompletableFuture<TransactionReceipt> result =
+                processor.waitForTransactionReceiptAsync("0x01");
+
+        // the request for the receipt fails
+        failBatch = true;
+        blocks.onNext(createBlock("0x01"));
+        assertFalse(result.isDone());
+
+        // the node has not indexed the receipt yet
+        blocks.onNext(createBlock("0xaa"));
+        assertFalse(result.isDone());
+
+        mined.add("0x01");
+        blocks.onNext(createBlock("0xbb"));
+        assertThat(result.get().getTransactionHash(), equalTo("0x01"));
+        assertThat(batches.size(), equalTo(2));
+        assertThat(processor.getPendingCount(), equalTo(0));
+    }
+
+    @Test
+    public void testTransactionNotIncluded() throws Exception {
+        CompletableFuture<TransactionReceipt> result =
+                processor.waitForTransactionReceiptAsync("0x01");
+
+        blocks.onNext(createBlock("0xaa"));
+        blocks.onNext(createBlock("0xbb"));
+        assertFalse(result.isDone());
+
+        blocks.onNext(createBlock("0xcc"));
+        assertTrue(result.isCompletedExceptionally());
+        try {
+            result.join();
+        } catch (Exception e) {
+            assertThat(e.getCause(), instanceOf(TransactionException.class));
+        }
+        assertThat(processor.getPendingCount(), equalTo(0));
+    }
+
+    private EthBlock createBlock(String... transactionHashes) {
+        List<EthBlock.TransactionResult> transactions = new ArrayList<>();
+        for (String transactionHash : transactionHashes) {
+            transactions.add(new EthBlock.TransactionHash(transactionHash));
+        }
+        EthBlock.Block block = new EthBlock.Block();
+        block.setTransactions(transactions);
+        EthBlock ethBlock = new EthBlock();
+        ethBlock.setResult(block);
+        return ethBlock;
+    }
+
+    private EthGetTransactionReceipt response(String transactionHash) {
+        EthGetTransactionReceipt response = new EthGetTransactionReceipt();
+        if (mined.contains(transactionHash)) {
+            TransactionReceipt transactionReceipt = new TransactionReceipt();
+            transactionReceipt.setTransactionHash(transactionHash);
+            response.setResult(transactionReceipt);
+        }
+        return response;
+    }
+}
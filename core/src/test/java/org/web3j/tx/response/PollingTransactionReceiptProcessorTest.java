@@ -13,22 +13,32 @@
 package org.web3j.tx.response;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
 import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.utils.AdaptivePollingScheduler;
 
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -75,6 +85,65 @@ public class PollingTransactionReceiptProcessorTest {
         }
     }
 
+    @Test
+    public void returnsTransactionReceiptAsynchronouslyOnceAvailable() throws Exception {
+        TransactionReceipt transactionReceipt = new TransactionReceipt();
+        Request<String, EthGetTransactionReceipt> pending = requestReturning(response(null));
+        Request<String, EthGetTransactionReceipt> mined =
+                requestReturning(response(transactionReceipt));
+        doReturn(pending).doReturn(mined).when(web3j).ethGetTransactionReceipt(TRANSACTION_HASH);
+
+        CompletableFuture<TransactionReceipt> receipt =
+                processor.waitForTransactionReceiptAsync(TRANSACTION_HASH);
+
+        assertThat(receipt.get(), sameInstance(transactionReceipt));
+    }
+
+    @Test
+    public void failsAsynchronouslyWhenReceiptIsNotAvailableInTime() throws Exception {
+        doReturn(requestReturning(response(null)))
+                .when(web3j)
+                .ethGetTransactionReceipt(TRANSACTION_HASH);
+
+        try {
+            processor.waitForTransactionReceiptAsync(TRANSACTION_HASH).get();
+            fail("call should fail with TransactionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TransactionException);
+        }
+    }
+
+    @Test
+    public void waitsForBlockTimesWhenPollingAdaptively() throws Exception {
+        Web3jService web3jService = mock(Web3jService.class);
+        AtomicInteger polls = new AtomicInteger();
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            polls.incrementAndGet();
+                            EthBlockNumber ethBlockNumber = new EthBlockNumber();
+                            ethBlockNumber.setResult("0x1");
+                            BatchRequest batchRequest =
+                                    invocation.getArgumentAt(0, BatchRequest.class);
+                            return new BatchResponse(
+                                    batchRequest.getRequests(),
+                                    Arrays.asList(response(null), ethBlockNumber));
+                        });
+        // the chain is idle, so polls are made more often than once per block time
+        processor =
+                new PollingTransactionReceiptProcessor(
+                        Web3j.build(web3jService), new AdaptivePollingScheduler(200, 20, 800), 2);
+
+        long start = System.currentTimeMillis();
+        try {
+            processor.waitForTransactionReceipt(TRANSACTION_HASH);
+            fail("call should fail with TransactionException");
+        } catch (TransactionException e) {
+            assertTrue(System.currentTimeMillis() - start >= 400);
+            assertTrue(polls.get() > 3);
+        }
+    }
+
     private static <T extends Response<?>> Request<String, T> requestReturning(T response) {
         Request<String, T> request = mock(Request.class);
         try {
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.response;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class QueuingTransactionReceiptProcessorTest {
+
+    private final List<List<String>> batches = new ArrayList<>();
+    private final Set<String> mined = new HashSet<>();
+    private final List<TransactionReceipt> receipts = new ArrayList<>();
+
+    private QueuingTransactionReceiptProcessor processor;
+
+    @Before
+    public void setUp() throws Exception {
+        Web3jService web3jService = mock(Web3jService.class);
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest =
+                                    invocation.getArgumentAt(0, BatchRequest.class);
+                            List<String> batch = new ArrayList<>();
+                            List<Response<?>> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                String transactionHash = (String) request.getParams().get(0);
+                                batch.add(transactionHash);
+                                responses.add(response(transactionHash));
+                            }
+                            batches.add(batch);
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+
+        Callback callback =
+                new Callback() {
+                    @Override
+                    public void accept(TransactionReceipt transactionReceipt) {
+                        receipts.add(transactionReceipt);
+                    }
+
+                    @Override
+                    public void exception(Exception exception) {}
+                };
+        processor =
+                new QueuingTransactionReceiptProcessor(
+                        Web3j.build(web3jService), callback, 10, Long.MAX_VALUE / 2, 2, 3);
+    }
+
+    @Test
+    public void testReceiptsPolledInBoundedBatches() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            processor.waitForTransactionReceipt("0x" + i);
+        }
+        assertThat(processor.getQueueDepth(), equalTo(5));
+
+        processor.sendTransactionReceiptRequests();
+        assertThat(batches, equalTo(Arrays.asList(batch("0x0", "0x1"), batch("0x2"))));
+
+        // transactions which were not polled are polled first
+        batches.clear();
+        processor.sendTransactionReceiptRequests();
+        assertThat(batches, equalTo(Arrays.asList(batch("0x3", "0x4"), batch("0x0"))));
+
+        mined.addAll(Arrays.asList("0x0", "0x1", "0x2", "0x3", "0x4"));
+        processor.sendTransactionReceiptRequests();
+        processor.sendTransactionReceiptRequests();
+        assertThat(receipts.size(), equalTo(5));
+        assertThat(processor.getQueueDepth(), equalTo(0));
+        assertThat(processor.getReceiptCount(), equalTo(5L));
+        assertTrue(processor.getMaxReceiptLatency() >= processor.getAverageReceiptLatency());
+
+        batches.clear();
+        processor.sendTransactionReceiptRequests();
+        assertTrue(batches.isEmpty());
+    }
+
+    private List<String> batch(String... transactionHashes) {
+        return Arrays.asList(transactionHashes);
+    }
+
+    private EthGetTransactionReceipt response(String transactionHash) {
+        EthGetTransactionReceipt response = new EthGetTransactionReceipt();
+        if (mined.contains(transactionHash)) {
+            TransactionReceipt transactionReceipt = new TransactionReceipt();
+            transactionReceipt.setTransactionHash(transactionHash);
+            response.setResult(transactionReceipt);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.utils;
+
+import java.math.BigInteger;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptivePollingSchedulerTest {
+
+    private final AtomicLong now = new AtomicLong(100_000);
+
+    private final AdaptivePollingScheduler pollingScheduler =
+            new AdaptivePollingScheduler(4000, 100, 8000, now::get);
+
+    @Test
+    public void testPollsImmediatelyUntilBlockSeen() {
+        assertThat(pollingScheduler.nextDelay(), equalTo(100L));
+    }
+
+    @Test
+    public void testLearnsBlockTime() {
+        pollingScheduler.onBlock(BigInteger.valueOf(10));
+        for (int i = 11; i <= 50; i++) {
+            now.addAndGet(2000);
+            pollingScheduler.onBlock(BigInteger.valueOf(i));
+        }
+        assertThat(pollingScheduler.getBlockTime(), equalTo(2000L));
+
+        // blocks skipped between polls count towards the block time
+        now.addAndGet(4000);
+        pollingScheduler.onBlock(BigInteger.valueOf(52));
+        assertThat(pollingScheduler.getBlockTime(), equalTo(2000L));
+
+        // the same block reported again is ignored
+        now.addAndGet(1000);
+        pollingScheduler.onBlock(BigInteger.valueOf(52));
+        assertThat(pollingScheduler.getBlockTime(), equalTo(2000L));
+    }
+
+    @Test
+    public void testAlignsToExpectedBlockThenBacksOff() {
+        pollingScheduler.onBlock(BigInteger.ONE);
+
+        now.addAndGet(1000);
+        assertThat(pollingScheduler.nextDelay(), equalTo(3000L));
+
+        // just after the block is due, poll quickly
+        now.addAndGet(3000);
+        assertThat(pollingScheduler.nextDelay(), equalTo(100L));
+
+        // the longer the block is overdue, the less often we poll
+        now.addAndGet(100);
+        assertThat(pollingScheduler.nextDelay(), equalTo(100L));
+        now.addAndGet(100);
+        assertThat(pollingScheduler.nextDelay(), equalTo(200L));
+        now.addAndGet(200);
+        assertThat(pollingScheduler.nextDelay(), equalTo(400L));
+        now.addAndGet(60_000);
+        assertThat(pollingScheduler.nextDelay(), equalTo(8000L));
+
+        now.addAndGet(1000);
+        pollingScheduler.onBlock(BigInteger.valueOf(2));
+        assertThat(pollingScheduler.nextDelay(), equalTo(pollingScheduler.getBlockTime()));
+    }
+
+    @Test
+    public void testSchedule() throws Exception {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        AdaptivePollingScheduler pollingScheduler = new AdaptivePollingScheduler(10, 1, 10);
+        AtomicLong blockNumber = new AtomicLong();
+        CountDownLatch polled = new CountDownLatch(5);
+
+        Future<?> polling =
+                pollingScheduler.schedule(
+                        executor,
+                        () -> {
+                            pollingScheduler.onBlock(
+                                    BigInteger.valueOf(blockNumber.incrementAndGet()));
+                            polled.countDown();
+                        });
+
+        assertTrue(polled.await(1, TimeUnit.SECONDS));
+        polling.cancel(false);
+        Thread.sleep(50);
+        long polls = blockNumber.get();
+        Thread.sleep(50);
+        assertThat(blockNumber.get(), equalTo(polls));
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.utils;
+
+import org.junit.Test;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.core.methods.response.Transaction;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class Address20Test {
+
+    private static final String ADDRESS = "0x407d73d8a49eeb85d32cf465507dd71d507100c1";
+
+    @Test
+    public void testFromString() {
+        Address20 address = Address20.fromString(ADDRESS);
+        assertThat(address.toString(), equalTo(ADDRESS));
+        assertThat(Address20.fromString(ADDRESS.substring(2)), equalTo(address));
+        assertThat(
+                Address20.fromString("0x407D73d8a49eeb85D32Cf465507dd71d507100c1"),
+                equalTo(address));
+    }
+
+    @Test
+    public void testBytes() {
+        byte[] bytes = Numeric.hexStringToByteArray(ADDRESS);
+        Address20 address = Address20.wrap(bytes);
+        assertThat(address, equalTo(Address20.fromString(ADDRESS)));
+        assertThat(address.toBytes(), equalTo(bytes));
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        Address20 address = Address20.fromString(ADDRESS);
+        Address20 other = Address20.fromString("0x407d73d8a49eeb85d32cf465507dd71d507100c2");
+        assertThat(address, not(equalTo(other)));
+        assertThat(address.hashCode(), equalTo(Address20.fromString(ADDRESS).hashCode()));
+        assertTrue(address.compareTo(other) < 0);
+    }
+
+    @Test
+    public void testIntern() {
+        Address20 address = Address20.fromString(ADDRESS).intern();
+        assertThat(Address20.fromString(ADDRESS).intern(), sameInstance(address));
+        assertThat(Address20.internOrNull(ADDRESS), sameInstance(address));
+        assertThat(Address20.internOrNull(null), nullValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLength() {
+        Address20.fromString("0x407d73d8a49eeb85d32cf465507dd71d507100");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCharacter() {
+        Address20.fromString("0x407d73d8a49eeb85d32cf465507dd71d507100cg");
+    }
+
+    @Test
+    public void testJson() throws Exception {
+        Address20 address =
+                ObjectMapperFactory.getObjectMapper()
+                        .readValue("\"" + ADDRESS + "\"", Address20.class);
+        assertThat(address, sameInstance(Address20.internOrNull(ADDRESS)));
+        assertThat(
+                ObjectMapperFactory.getObjectMapper().writeValueAsString(address),
+                equalTo("\"" + ADDRESS + "\""));
+    }
+
+    @Test
+    public void testTransactionAddresses() {
+        Transaction transaction = new Transaction();
+        transaction.setFrom(ADDRESS);
+        assertThat(transaction.getFromValue(), equalTo(Address20.fromString(ADDRESS)));
+        assertThat(transaction.getToValue(), nullValue());
+    }
+
+    @Test
+    public void testTransactionHoldsInternedAddresses() throws Exception {
+        String checksummed = "0x52908400098527886E0F7030069857D2E4169EE7";
+        Transaction transaction =
+                ObjectMapperFactory.getObjectMapper()
+                        .readValue(
+                                "{\"from\":\"" + ADDRESS + "\",\"to\":\"" + checksummed + "\"}",
+                                Transaction.class);
+
+        // the address is deserialized once, rather than on each access
+        assertThat(transaction.getFromValue(), sameInstance(Address20.internOrNull(ADDRESS)));
+        assertThat(transaction.getFromValue(), sameInstance(transaction.getFromValue()));
+        assertThat(transaction.getFrom(), equalTo(ADDRESS));
+        assertThat(transaction.getFrom(), sameInstance(transaction.getFrom()));
+
+        // the string form received is kept where it differs from the canonical form
+        assertThat(transaction.getTo(), equalTo(checksummed));
+        assertThat(transaction.getToValue(), equalTo(Address20.fromString(checksummed)));
+    }
+
+    @Test
+    public void testTransactionJsonUnchanged() throws Exception {
+        Transaction transaction = new Transaction();
+        transaction.setNonce("0x1");
+        transaction.setBlockNumber("0x1");
+        transaction.setTransactionIndex("0x0");
+        transaction.setValue("0x0");
+        transaction.setGasPrice("0x1");
+        transaction.setGas("0x5208");
+        transaction.setFrom(ADDRESS);
+        String json = ObjectMapperFactory.getObjectMapper().writeValueAsString(transaction);
+        assertTrue(json.contains("\"from\":\"" + ADDRESS + "\""));
+        assertFalse(json.contains("fromValue"));
+        assertFalse(json.contains("toValue"));
+    }
+}
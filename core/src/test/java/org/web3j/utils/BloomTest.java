@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.utils;
+
+import org.junit.Test;
+
+import org.web3j.crypto.Hash;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class BloomTest {
+
+    @Test
+    public void testBloom() {
+        // test vector from go-ethereum
+        Bloom bloom = new Bloom();
+        for (int i = 0; i < 100; i++) {
+            bloom.add(("xxxxxxxxxx data " + i + " yyyyyyyyyyyyyy").getBytes());
+        }
+
+        assertThat(
+                Numeric.toHexString(Hash.sha3(bloom.toBytes())),
+                equalTo("0xc8d3ca65cdb4874300a9e39475508f23ed6da09fdbc487f89a2dcf50b09eb263"));
+    }
+
+    @Test
+    public void testMightContain() {
+        Bloom bloom = new Bloom();
+        for (String value : new String[] {"testtest", "test", "hallo", "other"}) {
+            bloom.add(value.getBytes());
+        }
+
+        assertTrue(bloom.mightContain("testtest".getBytes()));
+        assertTrue(bloom.mightContain("hallo".getBytes()));
+        assertFalse(bloom.mightContain("tes".getBytes()));
+        assertFalse(bloom.mightContain("lo".getBytes()));
+    }
+
+    @Test
+    public void testFromString() {
+        String address = "0x407d73d8a49eeb85d32cf465507dd71d507100c1";
+        Bloom bloom = new Bloom().addHex(address);
+
+        Bloom parsed = Bloom.fromString(bloom.toString());
+        assertThat(parsed, equalTo(bloom));
+        assertTrue(parsed.mightContainHex(address));
+        assertFalse(new Bloom().mightContainHex(address));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromStringInvalidLength() {
+        Bloom.fromString("0x00");
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 Web3 Labs LTD.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.utils;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.core.methods.response.Log;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class Hash32Test {
+
+    private static final String HASH =
+            "0xa6297ab5b0e1c0a1a96d4f0e4a6ac7ea9e4ba4b5d9d2e38cb8d27b6b5fd6e0a6";
+
+    @Test
+    public void testFromString() {
+        Hash32 hash = Hash32.fromString(HASH);
+        assertThat(hash.toString(), equalTo(HASH));
+        assertThat(Hash32.fromString(HASH.toUpperCase().replace("0X", "0x")), equalTo(hash));
+    }
+
+    @Test
+    public void testBytes() {
+        byte[] bytes = Numeric.hexStringToByteArray(HASH);
+        Hash32 hash = Hash32.wrap(bytes);
+        assertThat(hash, equalTo(Hash32.fromString(HASH)));
+        assertThat(hash.toBytes(), equalTo(bytes));
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        Hash32 hash = Hash32.fromString(HASH);
+        Hash32 other = Hash32.fromString(HASH.replace("a6297", "a6298"));
+        assertThat(hash, not(equalTo(other)));
+        assertThat(hash.hashCode(), equalTo(Hash32.fromString(HASH).hashCode()));
+    }
+
+    @Test
+    public void testIntern() {
+        Hash32 hash = Hash32.fromString(HASH).intern();
+        assertThat(Hash32.internOrNull(HASH), sameInstance(hash));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLength() {
+        Hash32.fromString(HASH + "00");
+    }
+
+    @Test
+    public void testJson() throws Exception {
+        Hash32 hash =
+                ObjectMapperFactory.getObjectMapper().readValue("\"" + HASH + "\"", Hash32.class);
+        assertThat(hash, sameInstance(Hash32.internOrNull(HASH)));
+        assertThat(
+                ObjectMapperFactory.getObjectMapper().writeValueAsString(hash),
+                equalTo("\"" + HASH + "\""));
+    }
+
+    @Test
+    public void testLogTopicHashes() {
+        Log log = new Log();
+        log.setTopics(Arrays.asList(HASH, HASH));
+        assertThat(log.getTopicValues().get(0), sameInstance(log.getTopicValues().get(1)));
+    }
+
+    @Test
+    public void testLogTopicsBuiltOnce() {
+        Log log = new Log();
+        log.setTopics(Arrays.asList(HASH));
+        assertThat(log.getTopics(), sameInstance(log.getTopics()));
+
+        log.getTopics().add(HASH);
+        assertThat(log.getTopics().size(), equalTo(2));
+    }
+
+    @Test
+    public void testLogJsonUnchanged() throws Exception {
+        Log log = new Log();
+        log.setTopics(Arrays.asList(HASH));
+        String json = ObjectMapperFactory.getObjectMapper().writeValueAsString(log);
+        assertTrue(json.contains("\"topics\":[\"" + HASH + "\"]"));
+        assertFalse(json.contains("topicValues"));
+    }
+}
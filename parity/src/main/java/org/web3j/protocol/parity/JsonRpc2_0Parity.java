@@ -30,6 +30,7 @@ import org.web3j.protocol.admin.methods.response.PersonalSign;
 import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthBlockReceipts;
 import org.web3j.protocol.parity.methods.request.Derivation;
 import org.web3j.protocol.parity.methods.request.TraceFilter;
 import org.web3j.protocol.parity.methods.response.ParityAddressesResponse;
@@ -105,6 +106,22 @@ public class JsonRpc2_0Parity extends JsonRpc2_0Admin implements Parity {
                 ParityExportAccount.class);
     }
 
+    @Override
+    public Request<?, EthBlockReceipts> parityGetBlockReceipts(
+            DefaultBlockParameter defaultBlockParameter) {
+        return new Request<>(
+                "parity_getBlockReceipts",
+                Arrays.asList(defaultBlockParameter.getValue()),
+                web3jService,
+                EthBlockReceipts.class);
+    }
+
+    @Override
+    protected Request<?, EthBlockReceipts> blockReceiptsRequest(
+            DefaultBlockParameter defaultBlockParameter) {
+        return parityGetBlockReceipts(defaultBlockParameter);
+    }
+
     @Override
     public Request<?, ParityAddressesResponse> parityGetDappAddresses(String dAppId) {
         return new Request<>(
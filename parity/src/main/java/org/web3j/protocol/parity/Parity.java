@@ -26,6 +26,7 @@ import org.web3j.protocol.admin.methods.response.NewAccountIdentifier;
 import org.web3j.protocol.admin.methods.response.PersonalSign;
 import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthBlockReceipts;
 import org.web3j.protocol.parity.methods.request.Derivation;
 import org.web3j.protocol.parity.methods.response.ParityAddressesResponse;
 import org.web3j.protocol.parity.methods.response.ParityAllAccountsInfo;
@@ -78,6 +79,9 @@ public interface Parity extends Admin, Trace {
 
     Request<?, ParityAddressesResponse> parityGetDappAddresses(String dAppId);
 
+    Request<?, EthBlockReceipts> parityGetBlockReceipts(
+            DefaultBlockParameter defaultBlockParameter);
+
     Request<?, ParityDefaultAddressResponse> parityGetDappDefaultAddress(String dAppId);
 
     Request<?, ParityAddressesResponse> parityGetNewDappsAddresses();
@@ -105,6 +105,15 @@ public class RequestTest extends RequestTester {
                         + "\"params\":[\"0x407d73d8a49eeb85d32cf465507dd71d507100c1\",\"hunter2\"],\"id\":1}");
     }
 
+    @Test
+    public void testParityGetBlockReceipts() throws Exception {
+        web3j.parityGetBlockReceipts(DefaultBlockParameter.valueOf(BigInteger.valueOf(436))).send();
+
+        verifyResult(
+                "{\"jsonrpc\":\"2.0\",\"method\":\"parity_getBlockReceipts\","
+                        + "\"params\":[\"0x1b4\"],\"id\":1}");
+    }
+
     @Test
     public void testParityGetDappAddresses() throws Exception {
         web3j.parityGetDappAddresses("web").send();